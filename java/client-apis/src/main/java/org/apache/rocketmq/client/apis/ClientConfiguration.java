@@ -28,17 +28,22 @@ public class ClientConfiguration {
     private final SessionCredentialsProvider sessionCredentialsProvider;
     private final Duration requestTimeout;
     private final boolean sslEnabled;
+    private final ClientResources clientResources;
+    private final int connectionPoolSize;
 
     /**
      * The caller is supposed to have validated the arguments and handled throwing exceptions or
      * logging warnings already, so we avoid repeating args check here.
      */
     ClientConfiguration(String endpoints, SessionCredentialsProvider sessionCredentialsProvider,
-        Duration requestTimeout, boolean sslEnabled) {
+        Duration requestTimeout, boolean sslEnabled, ClientResources clientResources,
+        int connectionPoolSize) {
         this.endpoints = endpoints;
         this.sessionCredentialsProvider = sessionCredentialsProvider;
         this.requestTimeout = requestTimeout;
         this.sslEnabled = sslEnabled;
+        this.clientResources = clientResources;
+        this.connectionPoolSize = connectionPoolSize;
     }
 
     public static ClientConfigurationBuilder newBuilder() {
@@ -60,4 +65,12 @@ public class ClientConfiguration {
     public boolean isSslEnabled() {
         return sslEnabled;
     }
+
+    public Optional<ClientResources> getClientResources() {
+        return Optional.ofNullable(clientResources);
+    }
+
+    public int getConnectionPoolSize() {
+        return connectionPoolSize;
+    }
 }
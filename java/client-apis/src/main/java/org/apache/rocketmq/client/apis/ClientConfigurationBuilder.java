@@ -17,6 +17,7 @@
 
 package org.apache.rocketmq.client.apis;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import java.time.Duration;
@@ -31,6 +32,8 @@ public class ClientConfigurationBuilder {
     private SessionCredentialsProvider sessionCredentialsProvider = null;
     private Duration requestTimeout = Duration.ofSeconds(3);
     private boolean sslEnabled = true;
+    private ClientResources clientResources = null;
+    private int connectionPoolSize = 1;
 
     /**
      * Configure the access point with which the SDK should communicate.
@@ -82,6 +85,34 @@ public class ClientConfigurationBuilder {
         return this;
     }
 
+    /**
+     * Share the thread pools of {@link ClientResources} with other clients, instead of creating the thread pools
+     * for each client.
+     *
+     * @param clientResources the resources to share, which are not closed by the client.
+     * @return the client configuration builder instance.
+     */
+    public ClientConfigurationBuilder setClientResources(ClientResources clientResources) {
+        this.clientResources = checkNotNull(clientResources, "clientResources should not be null");
+        return this;
+    }
+
+    /**
+     * Set the count of connections to each endpoint, RPCs are dispatched to the connection with the least outstanding
+     * RPCs.
+     *
+     * <p>There is one connection for each endpoint by default, increase it if the throughput is limited by a single
+     * connection, such as high-throughput producers.
+     *
+     * @param connectionPoolSize count of connections to each endpoint.
+     * @return the client configuration builder instance.
+     */
+    public ClientConfigurationBuilder setConnectionPoolSize(int connectionPoolSize) {
+        checkArgument(connectionPoolSize > 0, "connectionPoolSize should be positive");
+        this.connectionPoolSize = connectionPoolSize;
+        return this;
+    }
+
     /**
      * Finalize the build of {@link ClientConfiguration}.
      *
@@ -90,6 +121,7 @@ public class ClientConfigurationBuilder {
     public ClientConfiguration build() {
         checkNotNull(endpoints, "endpoints should not be null");
         checkNotNull(requestTimeout, "requestTimeout should not be null");
-        return new ClientConfiguration(endpoints, sessionCredentialsProvider, requestTimeout, sslEnabled);
+        return new ClientConfiguration(endpoints, sessionCredentialsProvider, requestTimeout, sslEnabled,
+            clientResources, connectionPoolSize);
     }
 }
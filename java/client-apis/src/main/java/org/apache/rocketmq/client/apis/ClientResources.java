@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.apis;
+
+import java.io.Closeable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Thread pools which are shared by multiple clients, so that the count of threads does not grow with the count of
+ * clients.
+ *
+ * <p>Clients configured with the same {@link ClientResources} submit their tasks to the same executors, and the
+ * shutdown of a client never shuts down the shared executors. Close the resources once all clients using them are
+ * closed.
+ */
+public class ClientResources implements Closeable {
+    private final ExecutorService callbackExecutor;
+    private final ExecutorService asyncWorker;
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * The caller is supposed to have validated the arguments and handled throwing exceptions or
+     * logging warnings already, so we avoid repeating args check here.
+     */
+    ClientResources(ExecutorService callbackExecutor, ExecutorService asyncWorker,
+        ScheduledExecutorService scheduler) {
+        this.callbackExecutor = callbackExecutor;
+        this.asyncWorker = asyncWorker;
+        this.scheduler = scheduler;
+    }
+
+    public static ClientResourcesBuilder newBuilder() {
+        return new ClientResourcesBuilder();
+    }
+
+    /**
+     * Executor to complete the futures returned to users and execute the commands from the server.
+     */
+    public ExecutorService getCallbackExecutor() {
+        return callbackExecutor;
+    }
+
+    /**
+     * Executor to handle the responses of RPC, which should never execute heavy tasks.
+     */
+    public ExecutorService getAsyncWorker() {
+        return asyncWorker;
+    }
+
+    /**
+     * Scheduler in charge of all scheduled tasks, such as heartbeat, route update and retries.
+     */
+    public ScheduledExecutorService getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Shut down all executors of the resources.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        asyncWorker.shutdown();
+        callbackExecutor.shutdown();
+    }
+}
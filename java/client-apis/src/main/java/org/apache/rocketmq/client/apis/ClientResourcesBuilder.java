@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.apis;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builder to set {@link ClientResources}, the executor which is not set is created with the count of available
+ * processors as its thread count.
+ */
+public class ClientResourcesBuilder {
+    private ExecutorService callbackExecutor = null;
+    private ExecutorService asyncWorker = null;
+    private ScheduledExecutorService scheduler = null;
+
+    /**
+     * Set the executor to complete the futures returned to users and execute the commands from the server.
+     *
+     * @param callbackExecutor callback executor.
+     * @return the client resources builder instance.
+     */
+    public ClientResourcesBuilder setCallbackExecutor(ExecutorService callbackExecutor) {
+        this.callbackExecutor = checkNotNull(callbackExecutor, "callbackExecutor should not be null");
+        return this;
+    }
+
+    /**
+     * Set the executor to handle the responses of RPC, which should never execute heavy tasks.
+     *
+     * @param asyncWorker async worker.
+     * @return the client resources builder instance.
+     */
+    public ClientResourcesBuilder setAsyncWorker(ExecutorService asyncWorker) {
+        this.asyncWorker = checkNotNull(asyncWorker, "asyncWorker should not be null");
+        return this;
+    }
+
+    /**
+     * Set the scheduler in charge of all scheduled tasks.
+     *
+     * @param scheduler scheduler.
+     * @return the client resources builder instance.
+     */
+    public ClientResourcesBuilder setScheduler(ScheduledExecutorService scheduler) {
+        this.scheduler = checkNotNull(scheduler, "scheduler should not be null");
+        return this;
+    }
+
+    /**
+     * Finalize the build of {@link ClientResources}.
+     *
+     * @return the client resources instance.
+     */
+    public ClientResources build() {
+        final int processors = Runtime.getRuntime().availableProcessors();
+        final ExecutorService callbackExecutor0 = null != callbackExecutor ? callbackExecutor :
+            newThreadPoolExecutor(processors, "RocketmqSharedCallbackWorker-%d");
+        final ExecutorService asyncWorker0 = null != asyncWorker ? asyncWorker :
+            newThreadPoolExecutor(processors, "RocketmqSharedAsyncWorker-%d");
+        ScheduledExecutorService scheduler0 = scheduler;
+        if (null == scheduler0) {
+            final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(processors,
+                newThreadFactory("RocketmqSharedScheduler-%d"));
+            // Tasks are cancelled frequently by clients, such as the linger of batches.
+            executor.setRemoveOnCancelPolicy(true);
+            scheduler0 = executor;
+        }
+        return new ClientResources(callbackExecutor0, asyncWorker0, scheduler0);
+    }
+
+    private static ExecutorService newThreadPoolExecutor(int threadCount, String nameFormat) {
+        return new ThreadPoolExecutor(threadCount, threadCount, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+            newThreadFactory(nameFormat));
+    }
+
+    private static ThreadFactory newThreadFactory(String nameFormat) {
+        return new ThreadFactoryBuilder().setNameFormat(nameFormat).setDaemon(true).build();
+    }
+}
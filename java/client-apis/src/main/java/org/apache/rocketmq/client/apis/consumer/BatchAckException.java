@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.apis.consumer;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.rocketmq.client.apis.ClientException;
+import org.apache.rocketmq.client.apis.message.MessageView;
+
+/**
+ * Exception raised when any message fails to be acknowledged by {@link SimpleConsumer#ack(java.util.List)} or
+ * {@link SimpleConsumer#ackAsync(java.util.List)}.
+ *
+ * <p>The messages which are absent in the failures are acknowledged successfully, the cause of each failure could
+ * be fetched by its index in the original message list.
+ */
+public class BatchAckException extends ClientException {
+    private final Map<Integer, ClientException> failures;
+
+    public BatchAckException(int messageCount, Map<Integer, ClientException> failures) {
+        super("Failed to ack " + failures.size() + " of " + messageCount + " message(s) in batch",
+            failures.values().stream().findFirst().orElse(null));
+        this.failures = Collections.unmodifiableMap(new HashMap<>(failures));
+    }
+
+    /**
+     * Get the failures of the batch.
+     *
+     * @return map of the index in the original {@link MessageView} list to the cause of failure.
+     */
+    public Map<Integer, ClientException> getFailures() {
+        return failures;
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.apis.consumer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Result of {@link BatchMessageListener}, which is the result of the whole batch, or the result of each message.
+ */
+public final class BatchConsumeResult {
+    private static final BatchConsumeResult SUCCESS = new BatchConsumeResult(ConsumeResult.SUCCESS, null);
+    private static final BatchConsumeResult FAILURE = new BatchConsumeResult(ConsumeResult.FAILURE, null);
+
+    private final ConsumeResult result;
+    private final List<ConsumeResult> results;
+
+    private BatchConsumeResult(ConsumeResult result, List<ConsumeResult> results) {
+        this.result = result;
+        this.results = results;
+    }
+
+    /**
+     * All messages of the batch are consumed successfully.
+     */
+    public static BatchConsumeResult success() {
+        return SUCCESS;
+    }
+
+    /**
+     * All messages of the batch are failed to consume.
+     */
+    public static BatchConsumeResult failure() {
+        return FAILURE;
+    }
+
+    /**
+     * Result of each message, which is in the same order as the messages of the batch.
+     *
+     * <p>The message whose result is absent or null is regarded as consumption failure.
+     *
+     * @param results result of each message.
+     * @return the batch consume result.
+     */
+    public static BatchConsumeResult of(List<ConsumeResult> results) {
+        Objects.requireNonNull(results, "results should not be null");
+        return new BatchConsumeResult(null, Collections.unmodifiableList(new ArrayList<>(results)));
+    }
+
+    /**
+     * Get the consume result of the message of the given index in the batch.
+     *
+     * @param index index of the message in the batch.
+     * @return consume result of the message.
+     */
+    public ConsumeResult getResult(int index) {
+        if (null != result) {
+            return result;
+        }
+        if (index < 0 || index >= results.size()) {
+            return ConsumeResult.FAILURE;
+        }
+        final ConsumeResult consumeResult = results.get(index);
+        return null == consumeResult ? ConsumeResult.FAILURE : consumeResult;
+    }
+
+    @Override
+    public String toString() {
+        return null != result ? result.toString() : results.toString();
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.apis.consumer;
+
+import java.util.List;
+import org.apache.rocketmq.client.apis.message.MessageView;
+
+/**
+ * BatchMessageListener is used only for the push consumer to process a batch of messages synchronously, which is an
+ * alternative to {@link MessageListener}.
+ *
+ * <p>Messages of one batch come from the same message queue, refer to
+ * {@link PushConsumerBuilder#setBatchMessageListener(BatchMessageListener, int, java.time.Duration)} for the bounds
+ * of the batch. For FIFO consumption, the listener is invoked with one message each time to keep the order.
+ */
+public interface BatchMessageListener {
+    /**
+     * The callback interface to consume a batch of messages.
+     *
+     * <p>You should process the {@link MessageView}s and return the corresponding {@link BatchConsumeResult}, which
+     * could be the result of the whole batch or the result of each message. Null pointer is returned or exception is
+     * thrown would cause consumption failure of the whole batch.
+     *
+     * @param messageViews messages to consume, which are not empty and are read-only.
+     * @return consume result of the batch.
+     */
+    BatchConsumeResult consume(List<MessageView> messageViews);
+}
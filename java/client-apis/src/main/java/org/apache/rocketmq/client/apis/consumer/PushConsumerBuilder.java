@@ -17,6 +17,7 @@
 
 package org.apache.rocketmq.client.apis.consumer;
 
+import java.time.Duration;
 import java.util.Map;
 import org.apache.rocketmq.client.apis.ClientConfiguration;
 import org.apache.rocketmq.client.apis.ClientException;
@@ -57,6 +58,21 @@ public interface PushConsumerBuilder {
      */
     PushConsumerBuilder setMessageListener(MessageListener listener);
 
+    /**
+     * Register batch message listener instead of {@link MessageListener}, which consumes messages in batches.
+     *
+     * <p>Messages received from the same message queue are accumulated into one batch until the batch size reaches
+     * the max batch size or the max await duration elapses since the first message of the batch is received. Messages
+     * received at once are consumed as soon as possible if the max await duration is zero.
+     *
+     * @param listener         batch message listener.
+     * @param maxBatchSize     max count of messages in one batch.
+     * @param maxAwaitDuration max duration to await for more messages to accumulate a batch.
+     * @return the consumer builder instance.
+     */
+    PushConsumerBuilder setBatchMessageListener(BatchMessageListener listener, int maxBatchSize,
+        Duration maxAwaitDuration);
+
     /**
      * Set the maximum number of messages cached locally.
      *
@@ -73,6 +89,19 @@ public interface PushConsumerBuilder {
      */
     PushConsumerBuilder setMaxCacheMessageSizeInBytes(int bytes);
 
+    /**
+     * Set the max offset span of messages cached locally per message queue, which is 0 by default.
+     *
+     * <p>The offset span of a message queue is from the min offset of messages not consumed yet to the max offset
+     * received. A message stuck in consumption keeps the span growing even if the cached message count and bytes
+     * are under their thresholds, once the span reaches the max, reception from the message queue is paused until
+     * the stuck message is consumed.
+     *
+     * @param span max offset span per message queue, 0 means no limit.
+     * @return the consumer builder instance.
+     */
+    PushConsumerBuilder setMaxCacheOffsetSpan(int span);
+
     /**
      * Set the consumption thread count in parallel.
      *
@@ -81,6 +110,69 @@ public interface PushConsumerBuilder {
      */
     PushConsumerBuilder setConsumptionThreadCount(int count);
 
+    /**
+     * Consume each message on a new virtual thread instead of the fixed consumption thread pool, which suits the
+     * I/O bound message listener.
+     *
+     * <p>The virtual thread is only supported since JDK 21, which is detected at runtime. The fixed consumption
+     * thread pool with {@code maxConcurrency} threads is used instead on the earlier JDK.
+     *
+     * @param maxConcurrency max count of messages to consume concurrently, which overrides the consumption thread
+     *                       count.
+     * @return the consumer builder instance.
+     */
+    PushConsumerBuilder setVirtualThreadConsumption(int maxConcurrency);
+
+    /**
+     * Set the parallelism to decode the received messages, which is 1 by default.
+     *
+     * <p>Decoding includes the checksum verification and decompression of message body. Once the parallelism is
+     * greater than 1, messages received in one batch are decoded in parallel on a dedicated pool with the given
+     * parallelism, and their order is preserved.
+     *
+     * @param parallelism parallelism of message decoding, decoding is serial if it is 1.
+     * @return the consumer builder instance.
+     */
+    PushConsumerBuilder setDecodingParallelism(int parallelism);
+
+    /**
+     * Set the ratio of received messages whose MD5/SHA-1 body digest is verified, which is 1 by default.
+     *
+     * <p>The CRC32 body digest is always verified because it is cheap, while MD5/SHA-1 verification could be
+     * sampled or skipped in trusted deployments to save CPU.
+     *
+     * @param samplingRate ratio in [0, 1], 0 means never verify and 1 means always verify.
+     * @return the consumer builder instance.
+     */
+    PushConsumerBuilder setDigestVerifySamplingRate(double samplingRate);
+
+    /**
+     * Set the max count of in-flight receive streams per endpoints, which is 0 by default.
+     *
+     * <p>By default, each assigned message queue keeps its own receive stream in flight, which means a large amount
+     * of streams for hundreds of queues. Once the max count is positive, the receive demand of all queues served by
+     * the same endpoints is multiplexed over at most the given count of streams, and the queues beyond take turns
+     * in order.
+     *
+     * @param maxStreams max count of in-flight receive streams per endpoints, 0 means no limit.
+     * @return the consumer builder instance.
+     */
+    PushConsumerBuilder setMaxReceiveStreamsPerEndpoints(int maxStreams);
+
+    /**
+     * Enable the batching of message acknowledgements, which is disabled by default.
+     *
+     * <p>Once enabled, acknowledgements of messages from the same endpoints and topic are accumulated and sent in one
+     * request, until {@code maxBatchSize} acknowledgements are accumulated or {@code maxDelay} elapses since the first
+     * one arrives. Acknowledgements of FIFO consumption are always sent at once, so that the next message of the
+     * same message group is not delayed.
+     *
+     * @param maxBatchSize max number of acknowledgements in one request, batching is disabled if it is 1.
+     * @param maxDelay     max duration for an acknowledgement to wait for others in the batch.
+     * @return the consumer builder instance.
+     */
+    PushConsumerBuilder setAckBatchingPolicy(int maxBatchSize, Duration maxDelay);
+
     /**
      * Finalize the build of {@link PushConsumer} and start.
      *
@@ -140,6 +140,28 @@ public interface SimpleConsumer extends Closeable {
      */
     CompletableFuture<Void> ackAsync(MessageView messageView);
 
+    /**
+     * Ack a batch of messages to the server synchronously.
+     *
+     * <p>Messages of the same topic received from the same endpoints are acknowledged by one request. If any message
+     * fails to be acknowledged, {@link BatchAckException} is thrown to report the cause of each failure.
+     *
+     * @param messageViews special message views with handle want to ack.
+     */
+    void ack(List<MessageView> messageViews) throws ClientException;
+
+    /**
+     * Ack a batch of messages to the server asynchronously.
+     *
+     * <p>The {@link CompletableFuture} is completed exceptionally with {@link BatchAckException} if any message fails
+     * to be acknowledged.
+     *
+     * @param messageViews special message views with handle want to ack.
+     * @return CompletableFuture of this request.
+     * @see #ack(List)
+     */
+    CompletableFuture<Void> ackAsync(List<MessageView> messageViews);
+
     /**
      * Changes the invisible duration of a specified message synchronously.
      *
@@ -65,6 +65,29 @@ public interface SimpleConsumerBuilder {
      */
     SimpleConsumerBuilder setAwaitDuration(Duration awaitDuration);
 
+    /**
+     * Set the parallelism to decode the received messages, which is 1 by default.
+     *
+     * <p>Decoding includes the checksum verification and decompression of message body. Once the parallelism is
+     * greater than 1, messages received in one batch are decoded in parallel on a dedicated pool with the given
+     * parallelism, and their order is preserved.
+     *
+     * @param parallelism parallelism of message decoding, decoding is serial if it is 1.
+     * @return the consumer builder instance.
+     */
+    SimpleConsumerBuilder setDecodingParallelism(int parallelism);
+
+    /**
+     * Set the ratio of received messages whose MD5/SHA-1 body digest is verified, which is 1 by default.
+     *
+     * <p>The CRC32 body digest is always verified because it is cheap, while MD5/SHA-1 verification could be
+     * sampled or skipped in trusted deployments to save CPU.
+     *
+     * @param samplingRate ratio in [0, 1], 0 means never verify and 1 means always verify.
+     * @return the consumer builder instance.
+     */
+    SimpleConsumerBuilder setDigestVerifySamplingRate(double samplingRate);
+
     /**
      * Finalize the build of the {@link SimpleConsumer} instance and start.
      *
@@ -17,6 +17,8 @@
 
 package org.apache.rocketmq.client.apis.message;
 
+import java.nio.ByteBuffer;
+
 /**
  * Builder to config {@link Message}.
  */
@@ -40,6 +42,29 @@ public interface MessageBuilder {
      */
     MessageBuilder setBody(byte[] body);
 
+    /**
+     * Set the body for the message without copy, which is an alternative of {@link #setBody(byte[])}.
+     *
+     * <p>{@link Message} takes the body as its payload directly, which saves the memory copy for large bodies. The
+     * caller <strong>must not</strong> modify the body once it is set, otherwise the behavior is undefined.
+     *
+     * @param body the body for the message.
+     * @return the message builder instance.
+     */
+    MessageBuilder wrapBody(byte[] body);
+
+    /**
+     * Set the body for the message without copy, which is an alternative of {@link #setBody(byte[])}.
+     *
+     * <p>Both heap and direct buffer are supported, bytes between the position and the limit of the buffer are taken
+     * as the payload directly, and the position and the limit of the original buffer are not changed. The caller
+     * <strong>must not</strong> modify the content of the buffer once it is set, otherwise the behavior is undefined.
+     *
+     * @param body the body for the message.
+     * @return the message builder instance.
+     */
+    MessageBuilder wrapBody(ByteBuffer body);
+
     /**
      * Set the tag for the message, which is optional.
      *
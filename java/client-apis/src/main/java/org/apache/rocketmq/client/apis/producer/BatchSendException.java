@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.apis.producer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.rocketmq.client.apis.ClientException;
+import org.apache.rocketmq.client.apis.message.Message;
+
+/**
+ * Exception raised when only a part of messages are sent successfully by {@link Producer#send(List)} or
+ * {@link Producer#sendAsync(List)}.
+ *
+ * <p>The messages which are sent successfully would not be sent again, the result of each message could be
+ * fetched by its index in the original message list.
+ */
+public class BatchSendException extends ClientException {
+    private final List<SendReceipt> sendReceipts;
+    private final Map<Integer, ClientException> failures;
+
+    public BatchSendException(List<SendReceipt> sendReceipts, Map<Integer, ClientException> failures) {
+        super("Failed to send " + failures.size() + " of " + sendReceipts.size() + " message(s) in batch",
+            failures.values().stream().findFirst().orElse(null));
+        this.sendReceipts = Collections.unmodifiableList(new ArrayList<>(sendReceipts));
+        this.failures = Collections.unmodifiableMap(new HashMap<>(failures));
+    }
+
+    /**
+     * Get the send receipts of the batch, which are aligned with the original message list.
+     *
+     * @return send receipts of the batch, the receipt is {@code null} if the corresponding {@link Message} failed to
+     * send.
+     */
+    public List<SendReceipt> getSendReceipts() {
+        return sendReceipts;
+    }
+
+    /**
+     * Get the failures of the batch.
+     *
+     * @return map of the index in the original message list to the cause of failure.
+     */
+    public Map<Integer, ClientException> getFailures() {
+        return failures;
+    }
+}
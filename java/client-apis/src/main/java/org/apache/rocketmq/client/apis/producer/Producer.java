@@ -19,6 +19,7 @@ package org.apache.rocketmq.client.apis.producer;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import org.apache.rocketmq.client.apis.ClientException;
 import org.apache.rocketmq.client.apis.message.Message;
@@ -60,6 +61,33 @@ public interface Producer extends Closeable {
      */
     CompletableFuture<SendReceipt> sendAsync(Message message);
 
+    /**
+     * Sends a batch of messages synchronously.
+     *
+     * <p>All messages in the batch are published in one request, so they should have the same topic and message type,
+     * and the same message group if they are FIFO messages. This method does not return until it gets the definitive
+     * result.
+     *
+     * <p>If only a part of messages are sent successfully, {@link BatchSendException} is thrown to report the result
+     * of each message.
+     *
+     * @param messages the messages to send.
+     * @return the returned receipts, which are in the same order as the messages.
+     */
+    List<SendReceipt> send(List<Message> messages) throws ClientException;
+
+    /**
+     * Sends a batch of messages asynchronously.
+     *
+     * <p>This method returns immediately, the result is included in the {@link CompletableFuture}, which is completed
+     * exceptionally with {@link BatchSendException} if only a part of messages are sent successfully.
+     *
+     * @param messages the messages to send.
+     * @return a future that indicates the send receipts, which are in the same order as the messages.
+     * @see #send(List)
+     */
+    CompletableFuture<List<SendReceipt>> sendAsync(List<Message> messages);
+
     /**
      * Begins a transaction.
      *
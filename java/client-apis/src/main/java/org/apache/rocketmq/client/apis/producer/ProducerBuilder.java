@@ -17,6 +17,7 @@
 
 package org.apache.rocketmq.client.apis.producer;
 
+import java.time.Duration;
 import org.apache.rocketmq.client.apis.ClientConfiguration;
 import org.apache.rocketmq.client.apis.ClientException;
 import org.apache.rocketmq.client.apis.message.Message;
@@ -74,6 +75,31 @@ public interface ProducerBuilder {
      */
     ProducerBuilder setTransactionChecker(TransactionChecker checker);
 
+    /**
+     * Enable the client-side batching for {@link Producer#sendAsync(Message)}, which is disabled by default.
+     *
+     * <p>Once enabled, messages with the same topic, message type and message group are accumulated and published in
+     * one request, until {@code maxBatchSize} messages are accumulated or {@code linger} elapses since the first
+     * message of the batch arrives. Each message still gets its own send receipt.
+     *
+     * @param maxBatchSize max number of messages in one batch, batching is disabled if it is 1.
+     * @param linger       max duration for a message to wait for others in the batch.
+     * @return the producer builder instance.
+     */
+    ProducerBuilder setBatchingPolicy(int maxBatchSize, Duration linger);
+
+    /**
+     * Enable the compression of message body, which is disabled by default.
+     *
+     * <p>Once enabled, message body whose size exceeds {@code thresholdBytes} is compressed before sending, and the
+     * consumer decompresses it transparently. The original body is sent if compression does not make it smaller.
+     *
+     * @param thresholdBytes message body larger than the threshold is compressed.
+     * @param level          compression level, from 1 (best speed) to 9 (best compression).
+     * @return the producer builder instance.
+     */
+    ProducerBuilder setCompressionPolicy(int thresholdBytes, int level);
+
     /**
      * Finalize the build of {@link Producer} instance and start.
      *
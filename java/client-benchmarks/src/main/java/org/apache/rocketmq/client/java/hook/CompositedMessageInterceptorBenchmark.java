@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.hook;
+
+import com.google.protobuf.ByteString;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.rocketmq.client.java.message.GeneralMessage;
+import org.apache.rocketmq.client.java.message.GeneralMessageImpl;
+import org.apache.rocketmq.client.java.message.MessageIdCodec;
+import org.apache.rocketmq.client.java.message.MessageViewImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of the overhead of {@link CompositedMessageInterceptor} around one hook point, with no-op interceptors.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompositedMessageInterceptorBenchmark {
+    @Param({"1", "4"})
+    private int interceptorCount;
+
+    @Param({"1", "32"})
+    private int messageCount;
+
+    private CompositedMessageInterceptor interceptor;
+    private List<GeneralMessage> messages;
+
+    @Setup
+    public void setup() {
+        final List<MessageInterceptor> interceptors = new ArrayList<>();
+        for (int i = 0; i < interceptorCount; i++) {
+            interceptors.add(new MessageInterceptor() {
+                @Override
+                public void doBefore(MessageInterceptorContext context, List<GeneralMessage> messages) {
+                }
+
+                @Override
+                public void doAfter(MessageInterceptorContext context, List<GeneralMessage> messages) {
+                }
+            });
+        }
+        interceptor = new CompositedMessageInterceptor(interceptors);
+        messages = new ArrayList<>(messageCount);
+        final ByteString body = ByteString.copyFromUtf8("benchmark");
+        for (int i = 0; i < messageCount; i++) {
+            final MessageViewImpl messageView = new MessageViewImpl(MessageIdCodec.getInstance().nextMessageId(),
+                "benchmark-topic", body, null, null, null, Collections.emptyList(), Collections.emptyMap(),
+                "127.0.0.1", System.currentTimeMillis(), 1, null, "benchmark-receipt-handle", i, false, null);
+            messages.add(new GeneralMessageImpl(messageView));
+        }
+    }
+
+    @Benchmark
+    public MessageInterceptorContext interceptConsumption() {
+        final MessageInterceptorContextImpl context = new MessageInterceptorContextImpl(MessageHookPoints.CONSUME);
+        interceptor.doBefore(context, messages);
+        final MessageInterceptorContextImpl context0 = new MessageInterceptorContextImpl(context,
+            MessageHookPointsStatus.OK);
+        interceptor.doAfter(context0, messages);
+        return context0;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.impl.consumer;
+
+import apache.rocketmq.v2.Broker;
+import apache.rocketmq.v2.Permission;
+import apache.rocketmq.v2.Resource;
+import com.google.protobuf.ByteString;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.rocketmq.client.apis.ClientConfiguration;
+import org.apache.rocketmq.client.apis.consumer.ConsumeResult;
+import org.apache.rocketmq.client.apis.consumer.FilterExpression;
+import org.apache.rocketmq.client.java.message.MessageIdCodec;
+import org.apache.rocketmq.client.java.message.MessageViewImpl;
+import org.apache.rocketmq.client.java.misc.Utilities;
+import org.apache.rocketmq.client.java.route.Endpoints;
+import org.apache.rocketmq.client.java.route.MessageQueueImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of caching a batch of received messages into the process queue and evicting them one by one after
+ * consumption, while there are some other messages cached already.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProcessQueueBenchmark {
+    private static final String TOPIC = "benchmark-topic";
+
+    @Param({"32"})
+    private int batchSize;
+
+    /**
+     * Count of messages which stay in the cache.
+     */
+    @Param({"0", "1024"})
+    private int cachedMessageCount;
+
+    private PushConsumerImpl consumer;
+    private ProcessQueueImpl processQueue;
+    private List<MessageViewImpl> batch;
+
+    @Setup
+    public void setup() {
+        final ClientConfiguration clientConfiguration = ClientConfiguration.newBuilder()
+            .setEndpoints("127.0.0.1:8081").build();
+        final FilterExpression filterExpression = FilterExpression.SUB_ALL;
+        consumer = new PushConsumerImpl(clientConfiguration, "benchmark-group",
+            Collections.singletonMap(TOPIC, filterExpression), messageView -> ConsumeResult.SUCCESS,
+            Integer.MAX_VALUE, Integer.MAX_VALUE, 1);
+        final Endpoints endpoints = new Endpoints("127.0.0.1:8081");
+        final Broker broker = Broker.newBuilder().setName("broker-0").setId(Utilities.MASTER_BROKER_ID)
+            .setEndpoints(endpoints.toProtobuf()).build();
+        final MessageQueueImpl mq = new MessageQueueImpl(apache.rocketmq.v2.MessageQueue.newBuilder()
+            .setTopic(Resource.newBuilder().setName(TOPIC)).setBroker(broker)
+            .setPermission(Permission.READ_WRITE).build());
+        processQueue = new ProcessQueueImpl(consumer, mq, filterExpression);
+        processQueue.cacheMessages(fakeMessageViews(mq, cachedMessageCount, 0));
+        batch = fakeMessageViews(mq, batchSize, cachedMessageCount);
+    }
+
+    private static List<MessageViewImpl> fakeMessageViews(MessageQueueImpl mq, int count, long startOffset) {
+        final List<MessageViewImpl> messageViews = new ArrayList<>(count);
+        final ByteString body = ByteString.copyFromUtf8("benchmark");
+        for (int i = 0; i < count; i++) {
+            messageViews.add(new MessageViewImpl(MessageIdCodec.getInstance().nextMessageId(), TOPIC, body, null,
+                null, null, Collections.emptyList(), Collections.emptyMap(), "127.0.0.1",
+                System.currentTimeMillis(), 1, mq, "benchmark-receipt-handle", startOffset + i, false, null));
+        }
+        return messageViews;
+    }
+
+    @TearDown
+    public void tearDown() {
+        consumer.getConsumptionExecutor().shutdownNow();
+    }
+
+    @Benchmark
+    public long cacheAndEvict() {
+        processQueue.cacheMessages(batch);
+        for (MessageViewImpl messageView : batch) {
+            processQueue.evictCache(messageView);
+        }
+        return processQueue.cachedMessageBytes();
+    }
+}
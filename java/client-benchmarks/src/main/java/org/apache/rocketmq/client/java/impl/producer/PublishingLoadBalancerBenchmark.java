@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.impl.producer;
+
+import apache.rocketmq.v2.Address;
+import apache.rocketmq.v2.AddressScheme;
+import apache.rocketmq.v2.Broker;
+import apache.rocketmq.v2.MessageQueue;
+import apache.rocketmq.v2.Permission;
+import apache.rocketmq.v2.Resource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.apache.rocketmq.client.java.misc.Utilities;
+import org.apache.rocketmq.client.java.route.Endpoints;
+import org.apache.rocketmq.client.java.route.MessageQueueImpl;
+import org.apache.rocketmq.client.java.route.TopicRouteData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of the selection of message queues to publish, with or without isolated endpoints.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PublishingLoadBalancerBenchmark {
+    private static final String TOPIC = "benchmark-topic";
+
+    @Param({"4", "16"})
+    private int brokerCount;
+
+    @Param({"8"})
+    private int queueCountPerBroker;
+
+    /**
+     * Max attempts of sending, which is the count of message queues to take.
+     */
+    @Param({"1", "3"})
+    private int maxAttempts;
+
+    private PublishingLoadBalancer loadBalancer;
+    private Set<Endpoints> isolated;
+
+    @Setup
+    public void setup() {
+        final List<MessageQueue> messageQueues = new ArrayList<>();
+        isolated = new HashSet<>();
+        for (int i = 0; i < brokerCount; i++) {
+            final apache.rocketmq.v2.Endpoints endpoints = apache.rocketmq.v2.Endpoints.newBuilder()
+                .setScheme(AddressScheme.IPv4)
+                .addAddresses(Address.newBuilder().setHost("127.0.0.1").setPort(8081 + i)).build();
+            final Broker broker = Broker.newBuilder().setName("broker-" + i).setId(Utilities.MASTER_BROKER_ID)
+                .setEndpoints(endpoints).build();
+            for (int j = 0; j < queueCountPerBroker; j++) {
+                messageQueues.add(MessageQueue.newBuilder().setTopic(Resource.newBuilder().setName(TOPIC))
+                    .setBroker(broker).setId(j).setPermission(Permission.READ_WRITE).build());
+            }
+            // Isolate the half of brokers.
+            if (i % 2 == 0) {
+                isolated.add(new Endpoints(endpoints));
+            }
+        }
+        loadBalancer = new PublishingLoadBalancer(new TopicRouteData(messageQueues));
+    }
+
+    @Benchmark
+    public List<MessageQueueImpl> takeMessageQueues() {
+        return loadBalancer.takeMessageQueues(Collections.emptySet(), maxAttempts);
+    }
+
+    @Benchmark
+    public List<MessageQueueImpl> takeMessageQueuesWithIsolated() {
+        return loadBalancer.takeMessageQueues(isolated, maxAttempts);
+    }
+
+    @Benchmark
+    public MessageQueueImpl takeMessageQueueByMessageGroup() {
+        return loadBalancer.takeMessageQueueByMessageGroup("benchmark-message-group");
+    }
+}
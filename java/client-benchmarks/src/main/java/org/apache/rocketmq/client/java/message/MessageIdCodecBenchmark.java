@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.message;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.rocketmq.client.apis.message.MessageId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of the generation and decoding of message id, run it with {@code -prof gc} to see the allocation per id.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageIdCodecBenchmark {
+    private final MessageIdCodec codec = MessageIdCodec.getInstance();
+    private final String messageId = codec.nextMessageId().toString();
+
+    @Benchmark
+    public MessageId nextMessageId() {
+        return codec.nextMessageId();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public MessageId nextMessageIdContended() {
+        return codec.nextMessageId();
+    }
+
+    @Benchmark
+    public String nextMessageIdString() {
+        return codec.nextMessageId().toString();
+    }
+
+    @Benchmark
+    public MessageId decode() {
+        return codec.decode(messageId);
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.message;
+
+import apache.rocketmq.v2.Broker;
+import apache.rocketmq.v2.Digest;
+import apache.rocketmq.v2.DigestType;
+import apache.rocketmq.v2.Encoding;
+import apache.rocketmq.v2.Message;
+import apache.rocketmq.v2.MessageType;
+import apache.rocketmq.v2.Permission;
+import apache.rocketmq.v2.Resource;
+import apache.rocketmq.v2.SystemProperties;
+import com.google.protobuf.ByteString;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.rocketmq.client.java.misc.Utilities;
+import org.apache.rocketmq.client.java.route.Endpoints;
+import org.apache.rocketmq.client.java.route.MessageQueueImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of the conversion from the received message in protocol buffer, including the body digest
+ * verification and decompression.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageViewBenchmark {
+    private static final String TOPIC = "benchmark-topic";
+
+    @Param({"1024", "65536"})
+    private int bodySize;
+
+    @Param({"IDENTITY", "GZIP"})
+    private Encoding encoding;
+
+    @Param({"CRC32", "MD5", "SHA1"})
+    private DigestType digestType;
+
+    private Message message;
+    private MessageQueueImpl mq;
+
+    @Setup
+    public void setup() throws IOException, NoSuchAlgorithmException {
+        // Text body so that it is compressible.
+        byte[] body = StringUtils.repeat("benchmark", bodySize / 9 + 1).substring(0, bodySize)
+            .getBytes(StandardCharsets.UTF_8);
+        if (Encoding.GZIP.equals(encoding)) {
+            body = Utilities.compressBytesGzip(body, 6);
+        }
+        final String checksum;
+        switch (digestType) {
+            case MD5:
+                checksum = Utilities.md5CheckSum(body);
+                break;
+            case SHA1:
+                checksum = Utilities.sha1CheckSum(body);
+                break;
+            case CRC32:
+            default:
+                checksum = Utilities.crc32CheckSum(body);
+        }
+        final SystemProperties systemProperties = SystemProperties.newBuilder()
+            .setMessageType(MessageType.NORMAL)
+            .setMessageId(MessageIdCodec.getInstance().nextMessageId().toString())
+            .setBornHost("127.0.0.1")
+            .setBodyEncoding(encoding)
+            .setBodyDigest(Digest.newBuilder().setType(digestType).setChecksum(checksum))
+            .setReceiptHandle("benchmark-receipt-handle")
+            .build();
+        message = Message.newBuilder().setTopic(Resource.newBuilder().setName(TOPIC))
+            .setSystemProperties(systemProperties).putUserProperties("foo", "bar")
+            .setBody(ByteString.copyFrom(body)).build();
+        final Endpoints endpoints = new Endpoints("127.0.0.1:8081");
+        final Broker broker = Broker.newBuilder().setName("broker-0").setId(Utilities.MASTER_BROKER_ID)
+            .setEndpoints(endpoints.toProtobuf()).build();
+        mq = new MessageQueueImpl(apache.rocketmq.v2.MessageQueue.newBuilder()
+            .setTopic(Resource.newBuilder().setName(TOPIC)).setBroker(broker)
+            .setPermission(Permission.READ_WRITE).build());
+    }
+
+    @Benchmark
+    public MessageViewImpl fromProtobuf() {
+        return MessageViewImpl.fromProtobuf(message, mq, null);
+    }
+
+    @Benchmark
+    public MessageViewImpl fromProtobufWithoutStrongDigest() {
+        return MessageViewImpl.fromProtobuf(message, mq, null, false);
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.message;
+
+import apache.rocketmq.v2.Broker;
+import apache.rocketmq.v2.Permission;
+import apache.rocketmq.v2.Resource;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.rocketmq.client.apis.message.Message;
+import org.apache.rocketmq.client.java.impl.producer.PublishingSettings;
+import org.apache.rocketmq.client.java.misc.ClientId;
+import org.apache.rocketmq.client.java.misc.Utilities;
+import org.apache.rocketmq.client.java.retry.ExponentialBackoffRetryPolicy;
+import org.apache.rocketmq.client.java.route.Endpoints;
+import org.apache.rocketmq.client.java.route.MessageQueueImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of the conversion from the message to publish into protocol buffer, with or without body compression.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PublishingMessageBenchmark {
+    private static final String TOPIC = "benchmark-topic";
+
+    @Param({"1024", "65536"})
+    private int bodySize;
+
+    /**
+     * Compression threshold in bytes, {@link Integer#MAX_VALUE} means compression is disabled.
+     */
+    @Param({"2147483647", "0"})
+    private int compressionThresholdBytes;
+
+    private Message message;
+    private PublishingSettings publishingSettings;
+    private PublishingMessageImpl publishingMessage;
+    private MessageQueueImpl mq;
+
+    @Setup
+    public void setup() throws IOException {
+        // Text body so that it is compressible.
+        final byte[] body = StringUtils.repeat("benchmark", bodySize / 9 + 1).substring(0, bodySize)
+            .getBytes(StandardCharsets.UTF_8);
+        message = new MessageBuilderImpl().setTopic(TOPIC).setTag("tag").setKeys("key")
+            .addProperty("foo", "bar").setBody(body).build();
+        final Endpoints endpoints = new Endpoints("127.0.0.1:8081");
+        publishingSettings = new PublishingSettings(new ClientId(), endpoints,
+            ExponentialBackoffRetryPolicy.immediatelyRetryPolicy(3), Duration.ofSeconds(3),
+            Collections.singleton(TOPIC), compressionThresholdBytes, 6);
+        publishingMessage = new PublishingMessageImpl(message, publishingSettings, false);
+        final Broker broker = Broker.newBuilder().setName("broker-0").setId(Utilities.MASTER_BROKER_ID)
+            .setEndpoints(endpoints.toProtobuf()).build();
+        mq = new MessageQueueImpl(apache.rocketmq.v2.MessageQueue.newBuilder()
+            .setTopic(Resource.newBuilder().setName(TOPIC)).setBroker(broker)
+            .setPermission(Permission.READ_WRITE).build());
+    }
+
+    @Benchmark
+    public PublishingMessageImpl newPublishingMessage() throws IOException {
+        return new PublishingMessageImpl(message, publishingSettings, false);
+    }
+
+    @Benchmark
+    public apache.rocketmq.v2.Message toProtobuf() {
+        return publishingMessage.toProtobuf(mq);
+    }
+}
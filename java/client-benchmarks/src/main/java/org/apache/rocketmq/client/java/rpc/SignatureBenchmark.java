@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.rpc;
+
+import io.grpc.Metadata;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+import org.apache.rocketmq.client.apis.ClientConfiguration;
+import org.apache.rocketmq.client.apis.StaticSessionCredentialsProvider;
+import org.apache.rocketmq.client.java.misc.ClientId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of the metadata signature, which is done for each request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SignatureBenchmark {
+    private ClientConfiguration anonymousConfiguration;
+    private ClientConfiguration credentialsConfiguration;
+    private ClientId clientId;
+
+    @Setup
+    public void setup() {
+        anonymousConfiguration = ClientConfiguration.newBuilder().setEndpoints("127.0.0.1:8081").build();
+        credentialsConfiguration = ClientConfiguration.newBuilder().setEndpoints("127.0.0.1:8081")
+            .setCredentialProvider(new StaticSessionCredentialsProvider("accessKey", "secretKey")).build();
+        clientId = new ClientId();
+    }
+
+    @Benchmark
+    public Metadata signWithoutCredentials() throws NoSuchAlgorithmException, InvalidKeyException {
+        return Signature.sign(anonymousConfiguration, clientId);
+    }
+
+    @Benchmark
+    public Metadata signWithCredentials() throws NoSuchAlgorithmException, InvalidKeyException {
+        return Signature.sign(credentialsConfiguration, clientId);
+    }
+}
@@ -0,0 +1,4 @@
+package org.apache.rocketmq.client.java.hook.jmh_generated;
+public class CompositedMessageInterceptorBenchmark_jmhType extends CompositedMessageInterceptorBenchmark_jmhType_B3 {
+}
+
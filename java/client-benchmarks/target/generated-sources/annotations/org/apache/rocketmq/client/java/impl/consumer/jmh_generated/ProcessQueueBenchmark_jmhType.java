@@ -0,0 +1,4 @@
+package org.apache.rocketmq.client.java.impl.consumer.jmh_generated;
+public class ProcessQueueBenchmark_jmhType extends ProcessQueueBenchmark_jmhType_B3 {
+}
+
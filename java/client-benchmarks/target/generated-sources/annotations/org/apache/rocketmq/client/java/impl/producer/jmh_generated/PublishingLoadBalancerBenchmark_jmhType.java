@@ -0,0 +1,4 @@
+package org.apache.rocketmq.client.java.impl.producer.jmh_generated;
+public class PublishingLoadBalancerBenchmark_jmhType extends PublishingLoadBalancerBenchmark_jmhType_B3 {
+}
+
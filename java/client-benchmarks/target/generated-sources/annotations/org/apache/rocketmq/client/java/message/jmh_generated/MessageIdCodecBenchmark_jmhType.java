@@ -0,0 +1,4 @@
+package org.apache.rocketmq.client.java.message.jmh_generated;
+public class MessageIdCodecBenchmark_jmhType extends MessageIdCodecBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package org.apache.rocketmq.client.java.message.jmh_generated;
+public class MessageViewBenchmark_jmhType extends MessageViewBenchmark_jmhType_B3 {
+}
+
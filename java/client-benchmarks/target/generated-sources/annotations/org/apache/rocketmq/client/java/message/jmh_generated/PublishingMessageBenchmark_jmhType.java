@@ -0,0 +1,4 @@
+package org.apache.rocketmq.client.java.message.jmh_generated;
+public class PublishingMessageBenchmark_jmhType extends PublishingMessageBenchmark_jmhType_B3 {
+}
+
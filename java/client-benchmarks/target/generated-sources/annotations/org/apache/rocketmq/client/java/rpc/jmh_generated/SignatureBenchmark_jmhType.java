@@ -0,0 +1,4 @@
+package org.apache.rocketmq.client.java.rpc.jmh_generated;
+public class SignatureBenchmark_jmhType extends SignatureBenchmark_jmhType_B3 {
+}
+
@@ -55,6 +55,15 @@ public interface Client {
      */
     boolean isSslEnabled();
 
+    /**
+     * Get Connection Pool Size
+     *
+     * <p>Get the count of connections to each endpoint.
+     *
+     * @return the count of connections to each endpoint.
+     */
+    int getConnectionPoolSize();
+
     /**
      * Send Heartbeat
      *
@@ -71,6 +71,7 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
 import org.apache.rocketmq.client.apis.ClientConfiguration;
 import org.apache.rocketmq.client.apis.ClientException;
+import org.apache.rocketmq.client.apis.ClientResources;
 import org.apache.rocketmq.client.java.exception.InternalErrorException;
 import org.apache.rocketmq.client.java.exception.StatusChecker;
 import org.apache.rocketmq.client.java.hook.CompositedMessageInterceptor;
@@ -83,6 +84,7 @@ import org.apache.rocketmq.client.java.metrics.MessageMeterInterceptor;
 import org.apache.rocketmq.client.java.metrics.Metric;
 import org.apache.rocketmq.client.java.misc.ClientId;
 import org.apache.rocketmq.client.java.misc.ExecutorServices;
+import org.apache.rocketmq.client.java.misc.ScopedExecutorService;
 import org.apache.rocketmq.client.java.misc.ThreadFactoryImpl;
 import org.apache.rocketmq.client.java.misc.Utilities;
 import org.apache.rocketmq.client.java.route.Endpoints;
@@ -112,7 +114,7 @@ public abstract class ClientImpl extends AbstractIdleService implements Client,
     /**
      * Telemetry command executor, which aims to execute commands from the remote.
      */
-    protected final ThreadPoolExecutor telemetryCommandExecutor;
+    protected final ExecutorService telemetryCommandExecutor;
     protected final ClientId clientId;
 
     private final ClientManager clientManager;
@@ -146,30 +148,37 @@ public abstract class ClientImpl extends AbstractIdleService implements Client,
 
         this.isolated = Collections.newSetFromMap(new ConcurrentHashMap<>());
 
-        this.clientManager = new ClientManagerImpl(this);
+        final ClientResources clientResources = clientConfiguration.getClientResources().orElse(null);
+        this.clientManager = new ClientManagerImpl(this, clientResources);
 
         final long clientIdIndex = clientId.getIndex();
-        this.clientCallbackExecutor = new ThreadPoolExecutor(
-            Runtime.getRuntime().availableProcessors(),
-            Runtime.getRuntime().availableProcessors(),
-            60,
-            TimeUnit.SECONDS,
-            new LinkedBlockingQueue<>(),
-            new ThreadFactoryImpl("ClientCallbackWorker", clientIdIndex));
+        if (null != clientResources) {
+            this.clientCallbackExecutor = new ScopedExecutorService(clientResources.getCallbackExecutor());
+            // Commands from the remote must be executed in order, even on the shared executor.
+            this.telemetryCommandExecutor = new ScopedExecutorService(
+                MoreExecutors.newSequentialExecutor(clientResources.getCallbackExecutor()));
+        } else {
+            this.clientCallbackExecutor = new ThreadPoolExecutor(
+                Runtime.getRuntime().availableProcessors(),
+                Runtime.getRuntime().availableProcessors(),
+                60,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                new ThreadFactoryImpl("ClientCallbackWorker", clientIdIndex));
+            this.telemetryCommandExecutor = new ThreadPoolExecutor(
+                1,
+                1,
+                60,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                new ThreadFactoryImpl("CommandExecutor", clientIdIndex));
+        }
 
         this.clientMeterManager = new ClientMeterManager(clientId, clientConfiguration);
 
         this.compositedMessageInterceptor =
             new CompositedMessageInterceptor(Collections.singletonList(new MessageMeterInterceptor(this,
                 clientMeterManager)));
-
-        this.telemetryCommandExecutor = new ThreadPoolExecutor(
-            1,
-            1,
-            60,
-            TimeUnit.SECONDS,
-            new LinkedBlockingQueue<>(),
-            new ThreadFactoryImpl("CommandExecutor", clientIdIndex));
     }
 
 
@@ -536,6 +545,11 @@ public abstract class ClientImpl extends AbstractIdleService implements Client,
         return clientConfiguration.isSslEnabled();
     }
 
+    @Override
+    public int getConnectionPoolSize() {
+        return clientConfiguration.getConnectionPoolSize();
+    }
+
     /**
      * Send heartbeat data to the appointed endpoint
      *
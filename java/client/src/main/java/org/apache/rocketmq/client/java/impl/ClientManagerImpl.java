@@ -39,29 +39,32 @@ import apache.rocketmq.v2.SendMessageRequest;
 import apache.rocketmq.v2.SendMessageResponse;
 import apache.rocketmq.v2.TelemetryCommand;
 import com.google.common.util.concurrent.ListenableFuture;
-import com.google.errorprone.annotations.concurrent.GuardedBy;
+import com.google.common.util.concurrent.SettableFuture;
 import io.grpc.Metadata;
 import io.grpc.stub.StreamObserver;
 import java.io.IOException;
 import java.time.Duration;
-import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
 import javax.net.ssl.SSLException;
 import org.apache.rocketmq.client.apis.ClientException;
+import org.apache.rocketmq.client.apis.ClientResources;
 import org.apache.rocketmq.client.java.exception.InternalErrorException;
 import org.apache.rocketmq.client.java.misc.ClientId;
 import org.apache.rocketmq.client.java.misc.ExecutorServices;
 import org.apache.rocketmq.client.java.misc.MetadataUtils;
+import org.apache.rocketmq.client.java.misc.ScopedExecutorService;
+import org.apache.rocketmq.client.java.misc.ScopedScheduledExecutorService;
 import org.apache.rocketmq.client.java.misc.ThreadFactoryImpl;
 import org.apache.rocketmq.client.java.misc.Utilities;
 import org.apache.rocketmq.client.java.route.Endpoints;
@@ -94,9 +97,7 @@ public class ClientManagerImpl extends ClientManager {
 
     private final Client client;
 
-    @GuardedBy("rpcClientTableLock")
-    private final Map<Endpoints, RpcClient> rpcClientTable;
-    private final ReadWriteLock rpcClientTableLock;
+    private final ConcurrentMap<Endpoints, RpcClient> rpcClientTable;
 
     /**
      * In charge of all scheduled tasks.
@@ -109,9 +110,21 @@ public class ClientManagerImpl extends ClientManager {
     private final ExecutorService asyncWorker;
 
     public ClientManagerImpl(Client client) {
+        this(client, null);
+    }
+
+    /**
+     * @param clientResources resources shared with other clients, the executors are created for the client
+     *                        exclusively if it is null.
+     */
+    public ClientManagerImpl(Client client, ClientResources clientResources) {
         this.client = client;
-        this.rpcClientTable = new HashMap<>();
-        this.rpcClientTableLock = new ReentrantReadWriteLock();
+        this.rpcClientTable = new ConcurrentHashMap<>();
+        if (null != clientResources) {
+            this.scheduler = new ScopedScheduledExecutorService(clientResources.getScheduler());
+            this.asyncWorker = new ScopedExecutorService(clientResources.getAsyncWorker());
+            return;
+        }
         final long clientIndex = client.getClientId().getIndex();
         this.scheduler = new ScheduledThreadPoolExecutor(
             Runtime.getRuntime().availableProcessors(),
@@ -133,25 +146,45 @@ public class ClientManagerImpl extends ClientManager {
      * @throws InterruptedException if the thread has been interrupted
      */
     private void clearIdleRpcClients() throws InterruptedException {
-        rpcClientTableLock.writeLock().lock();
+        for (Map.Entry<Endpoints, RpcClient> entry : rpcClientTable.entrySet()) {
+            final Endpoints endpoints = entry.getKey();
+            final RpcClient rpcClient = entry.getValue();
+
+            final Duration idleDuration = rpcClient.idleDuration();
+            if (idleDuration.compareTo(RPC_CLIENT_MAX_IDLE_DURATION) <= 0) {
+                continue;
+            }
+            // Remove it conditionally in case it has been replaced concurrently.
+            if (!rpcClientTable.remove(endpoints, rpcClient)) {
+                continue;
+            }
+            log.info("Rpc client has been idle for a long time, endpoints={}, idleDuration={}, " +
+                    "rpcClientMaxIdleDuration={}, clientId={}", endpoints, idleDuration,
+                RPC_CLIENT_MAX_IDLE_DURATION, client.getClientId());
+            shutdownIdleRpcClient(endpoints, rpcClient);
+        }
+    }
+
+    /**
+     * Shutdown of the RPC client waits for the termination of channels, so it is handed off to the async worker to
+     * avoid blocking the scheduler, which may be shared by other clients.
+     */
+    private void shutdownIdleRpcClient(Endpoints endpoints, RpcClient rpcClient) throws InterruptedException {
+        final ClientId clientId = client.getClientId();
         try {
-            final Iterator<Map.Entry<Endpoints, RpcClient>> it = rpcClientTable.entrySet().iterator();
-            while (it.hasNext()) {
-                final Map.Entry<Endpoints, RpcClient> entry = it.next();
-                final Endpoints endpoints = entry.getKey();
-                final RpcClient rpcClient = entry.getValue();
-
-                final Duration idleDuration = rpcClient.idleDuration();
-                if (idleDuration.compareTo(RPC_CLIENT_MAX_IDLE_DURATION) > 0) {
-                    it.remove();
+            asyncWorker.execute(() -> {
+                try {
                     rpcClient.shutdown();
-                    log.info("Rpc client has been idle for a long time, endpoints={}, idleDuration={}, " +
-                            "rpcClientMaxIdleDuration={}, clientId={}", endpoints, idleDuration,
-                        RPC_CLIENT_MAX_IDLE_DURATION, client.getClientId());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (Throwable t) {
+                    log.error("Failed to shutdown the idle rpc client, endpoints={}, clientId={}", endpoints,
+                        clientId, t);
                 }
-            }
-        } finally {
-            rpcClientTableLock.writeLock().unlock();
+            });
+        } catch (RejectedExecutionException e) {
+            // The async worker is being shutdown, the rpc client has been removed so shut it down here.
+            rpcClient.shutdown();
         }
     }
 
@@ -163,33 +196,29 @@ public class ClientManagerImpl extends ClientManager {
      * @return RPC client.
      */
     private RpcClient getRpcClient(Endpoints endpoints) throws ClientException {
-        RpcClient rpcClient;
-        rpcClientTableLock.readLock().lock();
+        final RpcClient rpcClient = rpcClientTable.get(endpoints);
+        if (null != rpcClient) {
+            return rpcClient;
+        }
+        final RpcClient created;
         try {
-            rpcClient = rpcClientTable.get(endpoints);
-            if (null != rpcClient) {
-                return rpcClient;
-            }
-        } finally {
-            rpcClientTableLock.readLock().unlock();
+            created = new RpcClientImpl(endpoints, client.isSslEnabled(), client.getConnectionPoolSize());
+        } catch (SSLException e) {
+            log.error("Failed to get RPC client, endpoints={}, clientId={}", endpoints, client.getClientId(), e);
+            throw new ClientException("Failed to generate RPC client", e);
+        }
+        final RpcClient existing = rpcClientTable.putIfAbsent(endpoints, created);
+        if (null == existing) {
+            return created;
         }
-        rpcClientTableLock.writeLock().lock();
+        // Lost the race of creation, the redundant client only holds a reference of the shared channels, whose
+        // release never waits for the channel termination.
         try {
-            rpcClient = rpcClientTable.get(endpoints);
-            if (null != rpcClient) {
-                return rpcClient;
-            }
-            try {
-                rpcClient = new RpcClientImpl(endpoints, client.isSslEnabled());
-            } catch (SSLException e) {
-                log.error("Failed to get RPC client, endpoints={}, clientId={}", endpoints, client.getClientId(), e);
-                throw new ClientException("Failed to generate RPC client", e);
-            }
-            rpcClientTable.put(endpoints, rpcClient);
-            return rpcClient;
-        } finally {
-            rpcClientTableLock.writeLock().unlock();
+            created.shutdown();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
+        return existing;
     }
 
     @Override
@@ -266,6 +295,37 @@ public class ClientManagerImpl extends ClientManager {
         }
     }
 
+    @Override
+    public RpcFuture<ReceiveMessageRequest, Void> receiveMessage(Endpoints endpoints, ReceiveMessageRequest request,
+        Duration duration, Consumer<ReceiveMessageResponse> responseConsumer) {
+        try {
+            final Metadata metadata = client.sign();
+            final Context context = new Context(endpoints, metadata);
+            final RpcClient rpcClient = getRpcClient(endpoints);
+            final SettableFuture<Void> future = SettableFuture.create();
+            rpcClient.receiveMessage(metadata, request, asyncWorker, duration,
+                new StreamObserver<ReceiveMessageResponse>() {
+                    @Override
+                    public void onNext(ReceiveMessageResponse response) {
+                        responseConsumer.accept(response);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        future.setException(t);
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        future.set(null);
+                    }
+                });
+            return new RpcFuture<>(context, request, future);
+        } catch (Throwable t) {
+            return new RpcFuture<>(t);
+        }
+    }
+
     @Override
     public RpcFuture<AckMessageRequest, AckMessageResponse> ackMessage(Endpoints endpoints, AckMessageRequest request,
         Duration duration) {
@@ -434,17 +494,11 @@ public class ClientManagerImpl extends ClientManager {
             } else {
                 log.info("Shutdown the client scheduler successfully, clientId={}", clientId);
             }
-            rpcClientTableLock.writeLock().lock();
-            try {
-                final Iterator<Map.Entry<Endpoints, RpcClient>> it = rpcClientTable.entrySet().iterator();
-                while (it.hasNext()) {
-                    final Map.Entry<Endpoints, RpcClient> entry = it.next();
-                    final RpcClient rpcClient = entry.getValue();
-                    it.remove();
+            for (Endpoints endpoints : rpcClientTable.keySet()) {
+                final RpcClient rpcClient = rpcClientTable.remove(endpoints);
+                if (null != rpcClient) {
                     rpcClient.shutdown();
                 }
-            } finally {
-                rpcClientTableLock.writeLock().unlock();
             }
             log.info("Shutdown all rpc client(s) successfully, clientId={}", clientId);
             asyncWorker.shutdown();
@@ -0,0 +1,238 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.impl.consumer;
+
+import apache.rocketmq.v2.AckMessageRequest;
+import apache.rocketmq.v2.AckMessageResponse;
+import apache.rocketmq.v2.AckMessageResultEntry;
+import apache.rocketmq.v2.Status;
+import com.google.common.base.Objects;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.apache.rocketmq.client.java.message.MessageViewImpl;
+import org.apache.rocketmq.client.java.route.Endpoints;
+import org.apache.rocketmq.client.java.rpc.RpcFuture;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Aggregates message acknowledgements of the same endpoints and topic into one {@link AckMessageRequest}, the
+ * consumer group is always the group of the consumer.
+ *
+ * <p>The pending acknowledgements are flushed once their count reaches the max batch size, or the max delay elapses
+ * since the first one is pending. The result of each entry in the response is dispatched to the future of the
+ * corresponding message, the status of the whole response is used if the entry is absent.
+ */
+@SuppressWarnings("NullableProblems")
+class AckMessageAggregator {
+    private static final Logger log = LoggerFactory.getLogger(AckMessageAggregator.class);
+
+    private final ConsumerImpl consumer;
+    private final int maxBatchSize;
+    private final Duration maxDelay;
+    private final ConcurrentMap<Key, Batch> batches;
+
+    AckMessageAggregator(ConsumerImpl consumer, int maxBatchSize, Duration maxDelay) {
+        this.consumer = consumer;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelay = maxDelay;
+        this.batches = new ConcurrentHashMap<>();
+    }
+
+    ListenableFuture<Result> ackMessage(MessageViewImpl messageView) {
+        final Entry entry = new Entry(messageView);
+        final Key key = new Key(messageView.getEndpoints(), messageView.getTopic());
+        final List<Batch> readyBatches = new ArrayList<>(1);
+        batches.compute(key, (k, batch) -> {
+            if (null == batch) {
+                batch = new Batch();
+                if (1 < maxBatchSize && !scheduleFlush(k, batch)) {
+                    batch.entries.add(entry);
+                    readyBatches.add(batch);
+                    return null;
+                }
+            }
+            batch.entries.add(entry);
+            if (batch.entries.size() >= maxBatchSize) {
+                if (null != batch.flushFuture) {
+                    batch.flushFuture.cancel(false);
+                }
+                readyBatches.add(batch);
+                return null;
+            }
+            return batch;
+        });
+        for (Batch batch : readyBatches) {
+            send(key, batch);
+        }
+        return entry.future;
+    }
+
+    /**
+     * Send the acknowledgement at once without waiting for others, the pending acknowledgements of the same endpoints
+     * and topic are not affected.
+     */
+    ListenableFuture<Result> ackMessageImmediately(MessageViewImpl messageView) {
+        final Entry entry = new Entry(messageView);
+        final Key key = new Key(messageView.getEndpoints(), messageView.getTopic());
+        final Batch batch = new Batch();
+        batch.entries.add(entry);
+        send(key, batch);
+        return entry.future;
+    }
+
+    /**
+     * Flush all pending acknowledgements immediately.
+     */
+    void flush() {
+        for (Key key : batches.keySet()) {
+            final Batch batch = batches.remove(key);
+            if (null != batch) {
+                if (null != batch.flushFuture) {
+                    batch.flushFuture.cancel(false);
+                }
+                send(key, batch);
+            }
+        }
+    }
+
+    /**
+     * Returns false if the delayed flush could not be scheduled, the batch should be sent at once in this case.
+     */
+    private boolean scheduleFlush(Key key, Batch batch) {
+        try {
+            batch.flushFuture = consumer.getScheduler().schedule(() -> {
+                // The batch may have been sent because it is full.
+                if (batches.remove(key, batch)) {
+                    send(key, batch);
+                }
+            }, maxDelay.toNanos(), TimeUnit.NANOSECONDS);
+            return true;
+        } catch (Throwable t) {
+            log.error("Failed to schedule the flush of message acknowledgements, endpoints={}, topic={}, "
+                + "clientId={}", key.endpoints, key.topic, consumer.getClientId(), t);
+            return false;
+        }
+    }
+
+    private void send(Key key, Batch batch) {
+        final List<MessageViewImpl> messageViews = new ArrayList<>(batch.entries.size());
+        for (Entry entry : batch.entries) {
+            messageViews.add(entry.messageView);
+        }
+        final RpcFuture<AckMessageRequest, AckMessageResponse> future =
+            consumer.ackMessages(key.endpoints, key.topic, messageViews);
+        Futures.addCallback(future, new FutureCallback<AckMessageResponse>() {
+            @Override
+            public void onSuccess(AckMessageResponse response) {
+                final String requestId = future.getContext().getRequestId();
+                final Status status = response.getStatus();
+                final Map<String, Status> statusTable = new HashMap<>(response.getEntriesCount());
+                for (AckMessageResultEntry resultEntry : response.getEntriesList()) {
+                    statusTable.put(resultEntry.getReceiptHandle(), resultEntry.getStatus());
+                }
+                for (Entry entry : batch.entries) {
+                    final Status entryStatus = statusTable.get(entry.messageView.getReceiptHandle());
+                    entry.future.set(new Result(requestId, null == entryStatus ? status : entryStatus));
+                }
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                for (Entry entry : batch.entries) {
+                    entry.future.setException(t);
+                }
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    /**
+     * Result of the acknowledgement of one message.
+     */
+    static class Result {
+        private final String requestId;
+        private final Status status;
+
+        Result(String requestId, Status status) {
+            this.requestId = requestId;
+            this.status = status;
+        }
+
+        public String getRequestId() {
+            return requestId;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+    }
+
+    private static class Key {
+        private final Endpoints endpoints;
+        private final String topic;
+
+        private Key(Endpoints endpoints, String topic) {
+            this.endpoints = endpoints;
+            this.topic = topic;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return Objects.equal(endpoints, key.endpoints) && Objects.equal(topic, key.topic);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(endpoints, topic);
+        }
+    }
+
+    private static class Entry {
+        private final MessageViewImpl messageView;
+        private final SettableFuture<Result> future;
+
+        private Entry(MessageViewImpl messageView) {
+            this.messageView = messageView;
+            this.future = SettableFuture.create();
+        }
+    }
+
+    private static class Batch {
+        private final List<Entry> entries = new ArrayList<>();
+        private volatile ScheduledFuture<?> flushFuture = null;
+    }
+}
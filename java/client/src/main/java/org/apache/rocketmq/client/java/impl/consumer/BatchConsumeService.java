@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.impl.consumer;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.apache.rocketmq.client.apis.consumer.BatchConsumeResult;
+import org.apache.rocketmq.client.apis.consumer.BatchMessageListener;
+import org.apache.rocketmq.client.apis.consumer.ConsumeResult;
+import org.apache.rocketmq.client.apis.consumer.MessageListener;
+import org.apache.rocketmq.client.java.hook.MessageInterceptor;
+import org.apache.rocketmq.client.java.message.MessageViewImpl;
+import org.apache.rocketmq.client.java.misc.ClientId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Consume service which accumulates messages of each {@link ProcessQueue} into batches and consumes each batch by
+ * one invocation of {@link BatchMessageListener}.
+ *
+ * <p>The batch is consumed once it reaches the max batch size, or the max await duration elapses since its first
+ * message was accumulated. The result of each message is fed back to {@link ProcessQueue#eraseMessage}.
+ */
+@SuppressWarnings("NullableProblems")
+public class BatchConsumeService extends ConsumeService {
+    private static final Logger log = LoggerFactory.getLogger(BatchConsumeService.class);
+
+    private final BatchMessageListener batchMessageListener;
+    private final int maxBatchSize;
+    private final Duration maxAwaitDuration;
+    private final ListeningExecutorService consumptionExecutor;
+    private final MessageInterceptor messageInterceptor;
+    private final ScheduledExecutorService scheduler;
+    private final ConcurrentMap<ProcessQueue, Batch> batches;
+
+    public BatchConsumeService(ClientId clientId, BatchMessageListener batchMessageListener, int maxBatchSize,
+        Duration maxAwaitDuration, ExecutorService consumptionExecutor, MessageInterceptor messageInterceptor,
+        ScheduledExecutorService scheduler) {
+        super(clientId, toMessageListener(batchMessageListener), consumptionExecutor, messageInterceptor, scheduler);
+        this.batchMessageListener = batchMessageListener;
+        this.maxBatchSize = maxBatchSize;
+        this.maxAwaitDuration = maxAwaitDuration;
+        this.consumptionExecutor = MoreExecutors.listeningDecorator(consumptionExecutor);
+        this.messageInterceptor = messageInterceptor;
+        this.scheduler = scheduler;
+        this.batches = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Adapt the batch message listener to consume message one by one.
+     */
+    static MessageListener toMessageListener(BatchMessageListener batchMessageListener) {
+        return messageView -> {
+            final BatchConsumeResult result = batchMessageListener.consume(Collections.singletonList(messageView));
+            return null == result ? ConsumeResult.FAILURE : result.getResult(0);
+        };
+    }
+
+    @Override
+    public void consume(ProcessQueue pq, List<MessageViewImpl> messageViews) {
+        final List<MessageViewImpl> accepted = new ArrayList<>(messageViews.size());
+        for (MessageViewImpl messageView : messageViews) {
+            // Discard corrupted message.
+            if (messageView.isCorrupted()) {
+                log.error("Message is corrupted for batch consumption, prepare to discard it, mq={}, "
+                    + "messageId={}, clientId={}", pq.getMessageQueue(), messageView.getMessageId(), clientId);
+                pq.discardMessage(messageView);
+                continue;
+            }
+            accepted.add(messageView);
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+        if (maxAwaitDuration.isZero() || maxAwaitDuration.isNegative()) {
+            // Consume messages received at once without waiting.
+            for (int from = 0; from < accepted.size(); from += maxBatchSize) {
+                consume(pq, accepted.subList(from, Math.min(from + maxBatchSize, accepted.size())), true);
+            }
+            return;
+        }
+        final List<List<MessageViewImpl>> readyBatches = new ArrayList<>();
+        batches.compute(pq, (k, batch) -> {
+            for (MessageViewImpl messageView : accepted) {
+                if (null == batch) {
+                    final Batch created = new Batch();
+                    created.awaitFuture = scheduler.schedule(() -> onAwaitExpired(k, created),
+                        maxAwaitDuration.toNanos(), TimeUnit.NANOSECONDS);
+                    batch = created;
+                }
+                batch.messageViews.add(messageView);
+                if (batch.messageViews.size() >= maxBatchSize) {
+                    batch.awaitFuture.cancel(false);
+                    readyBatches.add(batch.messageViews);
+                    batch = null;
+                }
+            }
+            return batch;
+        });
+        for (List<MessageViewImpl> readyBatch : readyBatches) {
+            consume(pq, readyBatch, false);
+        }
+    }
+
+    @Override
+    public void discard(ProcessQueue pq) {
+        final Batch batch = batches.remove(pq);
+        if (null != batch) {
+            batch.awaitFuture.cancel(false);
+            log.info("Discard the pending batch of the dropped process queue, mq={}, size={}, clientId={}",
+                pq.getMessageQueue(), batch.messageViews.size(), clientId);
+        }
+    }
+
+    @Override
+    public void discardAll() {
+        for (ProcessQueue pq : batches.keySet()) {
+            discard(pq);
+        }
+    }
+
+    private void onAwaitExpired(ProcessQueue pq, Batch batch) {
+        // The batch may have been consumed because it is full.
+        if (batches.remove(pq, batch)) {
+            consume(pq, batch.messageViews, false);
+        }
+    }
+
+    private void consume(ProcessQueue pq, List<MessageViewImpl> messageViews, boolean copy) {
+        final List<MessageViewImpl> batch = copy ? new ArrayList<>(messageViews) : messageViews;
+        final BatchConsumeTask task = new BatchConsumeTask(clientId, batchMessageListener, batch,
+            messageInterceptor);
+        ListenableFuture<BatchConsumeResult> future;
+        try {
+            future = consumptionExecutor.submit(task);
+        } catch (Throwable t) {
+            log.error("Failed to submit batch consumption task, mq={}, clientId={}", pq.getMessageQueue(),
+                clientId, t);
+            future = Futures.immediateFuture(BatchConsumeResult.failure());
+        }
+        Futures.addCallback(future, new FutureCallback<BatchConsumeResult>() {
+            @Override
+            public void onSuccess(BatchConsumeResult batchConsumeResult) {
+                for (int i = 0; i < batch.size(); i++) {
+                    pq.eraseMessage(batch.get(i), batchConsumeResult.getResult(i));
+                }
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                // Should never reach here.
+                log.error("[Bug] Exception raised in batch consumption callback, clientId={}", clientId, t);
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    private static class Batch {
+        private final List<MessageViewImpl> messageViews = new ArrayList<>();
+        private volatile ScheduledFuture<?> awaitFuture = null;
+    }
+}
@@ -25,8 +25,8 @@ import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.SettableFuture;
 import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import org.apache.rocketmq.client.apis.consumer.ConsumeResult;
 import org.apache.rocketmq.client.apis.consumer.MessageListener;
@@ -42,11 +42,11 @@ public abstract class ConsumeService {
 
     protected final ClientId clientId;
     private final MessageListener messageListener;
-    private final ThreadPoolExecutor consumptionExecutor;
+    private final ExecutorService consumptionExecutor;
     private final MessageInterceptor messageInterceptor;
     private final ScheduledExecutorService scheduler;
 
-    public ConsumeService(ClientId clientId, MessageListener messageListener, ThreadPoolExecutor consumptionExecutor,
+    public ConsumeService(ClientId clientId, MessageListener messageListener, ExecutorService consumptionExecutor,
         MessageInterceptor messageInterceptor, ScheduledExecutorService scheduler) {
         this.clientId = clientId;
         this.messageListener = messageListener;
@@ -57,6 +57,20 @@ public abstract class ConsumeService {
 
     public abstract void consume(ProcessQueue pq, List<MessageViewImpl> messageViews);
 
+    /**
+     * Discard the messages of the dropped process queue which are accepted but not dispatched for consumption yet.
+     *
+     * @param pq the dropped process queue.
+     */
+    public void discard(ProcessQueue pq) {
+    }
+
+    /**
+     * Discard the messages of all process queues which are accepted but not dispatched for consumption yet.
+     */
+    public void discardAll() {
+    }
+
     public ListenableFuture<ConsumeResult> consume(MessageViewImpl messageView) {
         return consume(messageView, Duration.ZERO);
     }
@@ -42,6 +42,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.regex.Pattern;
 import org.apache.rocketmq.client.apis.ClientConfiguration;
 import org.apache.rocketmq.client.apis.consumer.FilterExpression;
@@ -66,16 +67,28 @@ abstract class ConsumerImpl extends ClientImpl {
     static final Pattern CONSUMER_GROUP_PATTERN = Pattern.compile("^[%a-zA-Z0-9_-]+$");
     private static final Logger log = LoggerFactory.getLogger(ConsumerImpl.class);
     private final String consumerGroup;
+    private final ReceivedMessageDecoder decoder;
 
     ConsumerImpl(ClientConfiguration clientConfiguration, String consumerGroup, Set<String> topics) {
+        this(clientConfiguration, consumerGroup, topics, 1, 1);
+    }
+
+    ConsumerImpl(ClientConfiguration clientConfiguration, String consumerGroup, Set<String> topics,
+        int decodingParallelism, double digestVerifySamplingRate) {
         super(clientConfiguration, topics);
         this.consumerGroup = consumerGroup;
+        this.decoder = new ReceivedMessageDecoder(clientId, decodingParallelism, digestVerifySamplingRate);
+    }
+
+    @Override
+    protected void shutDown() throws InterruptedException {
+        super.shutDown();
+        decoder.shutdown();
     }
 
     @SuppressWarnings("SameParameterValue")
     protected ListenableFuture<ReceiveMessageResult> receiveMessage(ReceiveMessageRequest request,
         MessageQueueImpl mq, Duration awaitDuration) {
-        List<MessageViewImpl> messages = new ArrayList<>();
         try {
             final Endpoints endpoints = mq.getBroker().getEndpoints();
             final Duration tolerance = clientConfiguration.getRequestTimeout();
@@ -106,13 +119,9 @@ abstract class ConsumerImpl extends ClientImpl {
                                 "clientId={}, response={}", mq, clientId, response);
                     }
                 }
-                for (Message message : messageList) {
-                    final MessageViewImpl view = MessageViewImpl.fromProtobuf(message, mq, transportDeliveryTimestamp);
-                    messages.add(view);
-                }
                 StatusChecker.check(status, future);
-                final ReceiveMessageResult receiveMessageResult = new ReceiveMessageResult(endpoints, messages);
-                return Futures.immediateFuture(receiveMessageResult);
+                return Futures.transform(decoder.decode(messageList, mq, transportDeliveryTimestamp),
+                    messages -> new ReceiveMessageResult(endpoints, messages), MoreExecutors.directExecutor());
             }, MoreExecutors.directExecutor());
         } catch (Throwable t) {
             // Should never reach here.
@@ -121,14 +130,48 @@ abstract class ConsumerImpl extends ClientImpl {
         }
     }
 
-    private AckMessageRequest wrapAckMessageRequest(MessageViewImpl messageView) {
-        final Resource topicResource = Resource.newBuilder().setName(messageView.getTopic()).build();
-        final AckMessageEntry entry = AckMessageEntry.newBuilder()
-            .setMessageId(messageView.getMessageId().toString())
-            .setReceiptHandle(messageView.getReceiptHandle())
-            .build();
-        return AckMessageRequest.newBuilder().setGroup(getProtobufGroup()).setTopic(topicResource)
-            .setGroup(getProtobufGroup()).addEntries(entry).build();
+    /**
+     * Receive messages in streaming, messages are handed to the consumer one by one in arrival order once decoded
+     * rather than after the end of stream, which cuts the latency of the first message.
+     *
+     * <p>The returned future is completed after all messages are handed over, and fails if the final status is not
+     * OK, the messages which have been handed over are still valid in that case.
+     */
+    protected ListenableFuture<ReceiveMessageResult> receiveMessage(ReceiveMessageRequest request,
+        MessageQueueImpl mq, Duration awaitDuration, Consumer<MessageViewImpl> messageConsumer) {
+        try {
+            final Endpoints endpoints = mq.getBroker().getEndpoints();
+            final Duration tolerance = clientConfiguration.getRequestTimeout();
+            final Duration timeout = awaitDuration.plus(tolerance);
+            final ClientManager clientManager = this.getClientManager();
+            final ReceiveMessageStreamHandler handler = new ReceiveMessageStreamHandler(mq, messageConsumer);
+            final RpcFuture<ReceiveMessageRequest, Void> future =
+                clientManager.receiveMessage(endpoints, request, timeout, handler::onResponse);
+            return Futures.transformAsync(future, ignore -> {
+                handler.flushPendingMessages();
+                StatusChecker.check(handler.status, future);
+                return Futures.transform(Futures.allAsList(handler.messageFutures),
+                    messages -> new ReceiveMessageResult(endpoints, messages), MoreExecutors.directExecutor());
+            }, MoreExecutors.directExecutor());
+        } catch (Throwable t) {
+            // Should never reach here.
+            log.error("[Bug] Exception raised during message receiving, mq={}, clientId={}", mq, clientId, t);
+            return Futures.immediateFailedFuture(t);
+        }
+    }
+
+    private AckMessageRequest wrapAckMessageRequest(String topic, List<MessageViewImpl> messageViews) {
+        final Resource topicResource = Resource.newBuilder().setName(topic).build();
+        final AckMessageRequest.Builder builder = AckMessageRequest.newBuilder().setGroup(getProtobufGroup())
+            .setTopic(topicResource);
+        for (MessageViewImpl messageView : messageViews) {
+            final AckMessageEntry entry = AckMessageEntry.newBuilder()
+                .setMessageId(messageView.getMessageId().toString())
+                .setReceiptHandle(messageView.getReceiptHandle())
+                .build();
+            builder.addEntries(entry);
+        }
+        return builder.build();
     }
 
     private ChangeInvisibleDurationRequest wrapChangeInvisibleDuration(MessageViewImpl messageView,
@@ -142,13 +185,24 @@ abstract class ConsumerImpl extends ClientImpl {
     }
 
     protected RpcFuture<AckMessageRequest, AckMessageResponse> ackMessage(MessageViewImpl messageView) {
-        final Endpoints endpoints = messageView.getEndpoints();
+        return ackMessages(messageView.getEndpoints(), messageView.getTopic(),
+            Collections.singletonList(messageView));
+    }
+
+    /**
+     * Acknowledge messages of the same topic from the same endpoints by one request.
+     */
+    RpcFuture<AckMessageRequest, AckMessageResponse> ackMessages(Endpoints endpoints, String topic,
+        List<MessageViewImpl> messageViews) {
         RpcFuture<AckMessageRequest, AckMessageResponse> future;
-        final List<GeneralMessage> generalMessages = Collections.singletonList(new GeneralMessageImpl(messageView));
+        final List<GeneralMessage> generalMessages = new ArrayList<>(messageViews.size());
+        for (MessageViewImpl messageView : messageViews) {
+            generalMessages.add(new GeneralMessageImpl(messageView));
+        }
         final MessageInterceptorContextImpl context = new MessageInterceptorContextImpl(MessageHookPoints.ACK);
         doBefore(context, generalMessages);
         try {
-            final AckMessageRequest request = wrapAckMessageRequest(messageView);
+            final AckMessageRequest request = wrapAckMessageRequest(topic, messageViews);
             final Duration requestTimeout = clientConfiguration.getRequestTimeout();
             future = this.getClientManager().ackMessage(endpoints, request, requestTimeout);
         } catch (Throwable t) {
@@ -257,4 +311,80 @@ abstract class ConsumerImpl extends ClientImpl {
             .setLongPollingTimeout(Durations.fromNanos(longPollingTimeout.toNanos()))
             .setBatchSize(batchSize).setAutoRenew(false).setInvisibleDuration(duration).build();
     }
+
+    /**
+     * Handler of the responses of one streaming reception, whose responses are delivered sequentially.
+     *
+     * <p>Messages are decoded concurrently but handed to the consumer one by one in arrival order, each hand-over
+     * waits for the previous one. The server sends the delivery timestamp ahead of messages, messages arriving
+     * before it are held until it arrives or the stream ends, so that they are not decoded without it.
+     */
+    private class ReceiveMessageStreamHandler {
+        private final MessageQueueImpl mq;
+        private final Consumer<MessageViewImpl> messageConsumer;
+        private final List<ListenableFuture<MessageViewImpl>> messageFutures;
+        private final List<Message> pendingMessages;
+        private ListenableFuture<?> lastDelivery;
+        private Status status;
+        private Long transportDeliveryTimestamp;
+
+        private ReceiveMessageStreamHandler(MessageQueueImpl mq, Consumer<MessageViewImpl> messageConsumer) {
+            this.mq = mq;
+            this.messageConsumer = messageConsumer;
+            this.messageFutures = new ArrayList<>();
+            this.pendingMessages = new ArrayList<>();
+            this.lastDelivery = Futures.immediateFuture(null);
+            this.status = Status.newBuilder().setCode(Code.INTERNAL_SERVER_ERROR)
+                .setMessage("status was not set by server")
+                .build();
+            this.transportDeliveryTimestamp = null;
+        }
+
+        private void onResponse(ReceiveMessageResponse response) {
+            switch (response.getContentCase()) {
+                case STATUS:
+                    status = response.getStatus();
+                    break;
+                case MESSAGE:
+                    if (null == transportDeliveryTimestamp) {
+                        pendingMessages.add(response.getMessage());
+                        break;
+                    }
+                    deliver(response.getMessage());
+                    break;
+                case DELIVERY_TIMESTAMP:
+                    final Timestamp deliveryTimestamp = response.getDeliveryTimestamp();
+                    transportDeliveryTimestamp = Timestamps.toMillis(deliveryTimestamp);
+                    flushPendingMessages();
+                    break;
+                default:
+                    log.warn("[Bug] Not recognized content for receive message response, mq={}, clientId={}, "
+                        + "response={}", mq, clientId, response);
+            }
+        }
+
+        /**
+         * Deliver the held messages, invoked once the delivery timestamp arrives or the stream ends.
+         */
+        private void flushPendingMessages() {
+            for (Message message : pendingMessages) {
+                deliver(message);
+            }
+            pendingMessages.clear();
+        }
+
+        private void deliver(Message message) {
+            final ListenableFuture<MessageViewImpl> decodeFuture = decoder.decode(message, mq,
+                transportDeliveryTimestamp);
+            // Hand over the message after the previous one, whether the previous one succeeded or not.
+            final ListenableFuture<MessageViewImpl> future = Futures.whenAllComplete(lastDelivery, decodeFuture)
+                .call(() -> {
+                    final MessageViewImpl messageView = Futures.getDone(decodeFuture);
+                    messageConsumer.accept(messageView);
+                    return messageView;
+                }, MoreExecutors.directExecutor());
+            lastDelivery = future;
+            messageFutures.add(future);
+        }
+    }
 }
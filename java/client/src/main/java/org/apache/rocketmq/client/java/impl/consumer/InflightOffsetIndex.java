@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.impl.consumer;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Index of the offsets of in-flight messages in one {@link ProcessQueue}, which are the messages received but not
+ * erased yet.
+ *
+ * <p>Offsets are kept in order along with the count of messages of each offset, because the same message could be
+ * received again before its former delivery is erased.
+ */
+class InflightOffsetIndex {
+    private static final long OFFSET_NOT_SET = -1;
+
+    private final ConcurrentSkipListMap<Long, Integer> offsets;
+    private final AtomicLong maxReceivedOffset;
+
+    InflightOffsetIndex() {
+        this.offsets = new ConcurrentSkipListMap<>();
+        this.maxReceivedOffset = new AtomicLong(OFFSET_NOT_SET);
+    }
+
+    void add(long offset) {
+        offsets.merge(offset, 1, Integer::sum);
+        maxReceivedOffset.accumulateAndGet(offset, Math::max);
+    }
+
+    void remove(long offset) {
+        offsets.computeIfPresent(offset, (k, count) -> count > 1 ? count - 1 : null);
+    }
+
+    Optional<Long> getMinOffset() {
+        final Map.Entry<Long, Integer> entry = offsets.firstEntry();
+        return null == entry ? Optional.empty() : Optional.of(entry.getKey());
+    }
+
+    Optional<Long> getMaxOffset() {
+        final Map.Entry<Long, Integer> entry = offsets.lastEntry();
+        return null == entry ? Optional.empty() : Optional.of(entry.getKey());
+    }
+
+    /**
+     * Get the span between the min in-flight offset and the max offset received so far, both inclusive.
+     *
+     * @return the span, or 0 if there is no in-flight message.
+     */
+    long getLag() {
+        final Map.Entry<Long, Integer> entry = offsets.firstEntry();
+        if (null == entry) {
+            return 0;
+        }
+        return Math.max(maxReceivedOffset.get() - entry.getKey() + 1, 0);
+    }
+}
@@ -18,6 +18,7 @@
 package org.apache.rocketmq.client.java.impl.consumer;
 
 import com.google.common.util.concurrent.ListenableFuture;
+import java.util.Optional;
 import org.apache.rocketmq.client.apis.consumer.ConsumeResult;
 import org.apache.rocketmq.client.apis.consumer.PushConsumer;
 import org.apache.rocketmq.client.java.message.MessageViewImpl;
@@ -136,6 +137,27 @@ public interface ProcessQueue {
      */
     long getCachedMessageBytes();
 
+    /**
+     * Get the min offset of in-flight messages, which are received but not erased yet.
+     *
+     * @return min offset of in-flight messages, or empty if there is no in-flight message.
+     */
+    Optional<Long> getMinInflightOffset();
+
+    /**
+     * Get the max offset of in-flight messages, which are received but not erased yet.
+     *
+     * @return max offset of in-flight messages, or empty if there is no in-flight message.
+     */
+    Optional<Long> getMaxInflightOffset();
+
+    /**
+     * Get the consumption lag, which is the offset span from the min in-flight offset to the max received offset.
+     *
+     * @return consumption lag, 0 if there is no in-flight message.
+     */
+    long getConsumptionLag();
+
     /**
      * Do some stats work.
      */
@@ -43,6 +43,8 @@ public class ProcessQueueGaugeObserver implements GaugeObserver {
         this.gauges = new ArrayList<>();
         gauges.add(GaugeEnum.CONSUMER_CACHED_MESSAGES);
         gauges.add(GaugeEnum.CONSUMER_CACHED_BYTES);
+        gauges.add(GaugeEnum.CONSUMER_CONSUMPTION_LAG);
+        gauges.add(GaugeEnum.CONSUMER_MAX_CONSUMPTION_LAG);
     }
 
     @Override
@@ -83,6 +85,32 @@ public class ProcessQueueGaugeObserver implements GaugeObserver {
                     cachedMessageBytesMap.put(attributes, bytes);
                 }
                 return cachedMessageBytesMap;
+            case CONSUMER_CONSUMPTION_LAG:
+                Map<Attributes, Double> consumptionLagMap = new HashMap<>();
+                for (ProcessQueue pq : processQueueTable.values()) {
+                    final String topic = pq.getMessageQueue().getTopic();
+                    Attributes attributes = Attributes.builder()
+                        .put(MetricLabels.TOPIC, topic)
+                        .put(MetricLabels.CONSUMER_GROUP, consumerGroup)
+                        .put(MetricLabels.CLIENT_ID, clientId.toString())
+                        .build();
+                    double lag = consumptionLagMap.containsKey(attributes) ? consumptionLagMap.get(attributes) : 0;
+                    lag += pq.getConsumptionLag();
+                    consumptionLagMap.put(attributes, lag);
+                }
+                return consumptionLagMap;
+            case CONSUMER_MAX_CONSUMPTION_LAG:
+                Map<Attributes, Double> maxConsumptionLagMap = new HashMap<>();
+                for (ProcessQueue pq : processQueueTable.values()) {
+                    final String topic = pq.getMessageQueue().getTopic();
+                    Attributes attributes = Attributes.builder()
+                        .put(MetricLabels.TOPIC, topic)
+                        .put(MetricLabels.CONSUMER_GROUP, consumerGroup)
+                        .put(MetricLabels.CLIENT_ID, clientId.toString())
+                        .build();
+                    maxConsumptionLagMap.merge(attributes, (double) pq.getConsumptionLag(), Math::max);
+                }
+                return maxConsumptionLagMap;
             default:
                 return new HashMap<>();
         }
@@ -17,8 +17,6 @@
 
 package org.apache.rocketmq.client.java.impl.consumer;
 
-import apache.rocketmq.v2.AckMessageRequest;
-import apache.rocketmq.v2.AckMessageResponse;
 import apache.rocketmq.v2.ChangeInvisibleDurationRequest;
 import apache.rocketmq.v2.ChangeInvisibleDurationResponse;
 import apache.rocketmq.v2.Code;
@@ -31,16 +29,16 @@ import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.SettableFuture;
-import com.google.errorprone.annotations.concurrent.GuardedBy;
 import java.time.Duration;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.apache.rocketmq.client.apis.consumer.ConsumeResult;
@@ -94,17 +92,24 @@ class ProcessQueueImpl implements ProcessQueue {
 
     /**
      * Messages which is pending means have been cached, but are not taken by consumer dispatcher yet.
+     *
+     * <p>{@link MessageViewImpl} does not override {@link Object#equals(Object)}, so the set is keyed by identity
+     * and the eviction of each message costs constant time.
      */
-    @GuardedBy("cachedMessageLock")
-    private final List<MessageViewImpl> cachedMessages;
-    private final ReadWriteLock cachedMessageLock;
+    private final Set<MessageViewImpl> cachedMessages;
 
+    private final AtomicInteger cachedMessagesCount;
     private final AtomicLong cachedMessagesBytes;
+    private final InflightOffsetIndex inflightOffsetIndex;
 
     private final AtomicLong receptionTimes;
     private final AtomicLong receivedMessagesQuantity;
 
     private volatile long activityNanoTime = System.nanoTime();
+    /**
+     * Indicates the reception is pending in the {@link ReceiveSession}, which is waiting for its turn rather than idle.
+     */
+    private volatile boolean receptionPending = false;
     private volatile long cacheFullNanoTime = Long.MIN_VALUE;
 
     public ProcessQueueImpl(PushConsumerImpl consumer, MessageQueueImpl mq, FilterExpression filterExpression) {
@@ -112,9 +117,10 @@ class ProcessQueueImpl implements ProcessQueue {
         this.dropped = false;
         this.mq = mq;
         this.filterExpression = filterExpression;
-        this.cachedMessages = new ArrayList<>();
-        this.cachedMessageLock = new ReentrantReadWriteLock();
+        this.cachedMessages = ConcurrentHashMap.newKeySet();
+        this.cachedMessagesCount = new AtomicInteger();
         this.cachedMessagesBytes = new AtomicLong();
+        this.inflightOffsetIndex = new InflightOffsetIndex();
         this.receptionTimes = new AtomicLong(0);
         this.receivedMessagesQuantity = new AtomicLong(0);
     }
@@ -131,6 +137,10 @@ class ProcessQueueImpl implements ProcessQueue {
 
     @Override
     public boolean expired() {
+        // Waiting for the turn in the receive session does not count as idle.
+        if (receptionPending) {
+            return false;
+        }
         final Duration longPollingTimeout = consumer.getPushConsumerSettings().getLongPollingTimeout();
         final Duration requestTimeout = consumer.getClientConfiguration().getRequestTimeout();
         final Duration maxIdleDuration = longPollingTimeout.plus(requestTimeout).multipliedBy(3);
@@ -148,14 +158,12 @@ class ProcessQueueImpl implements ProcessQueue {
     }
 
     void cacheMessages(List<MessageViewImpl> messageList) {
-        cachedMessageLock.writeLock().lock();
-        try {
-            for (MessageViewImpl messageView : messageList) {
-                cachedMessages.add(messageView);
-                cachedMessagesBytes.addAndGet(messageView.getBody().remaining());
+        for (MessageViewImpl messageView : messageList) {
+            if (cachedMessages.add(messageView)) {
+                cachedMessagesCount.incrementAndGet();
+                cachedMessagesBytes.addAndGet(messageView.getRetainedSize());
+                inflightOffsetIndex.add(messageView.getOffset());
             }
-        } finally {
-            cachedMessageLock.writeLock().unlock();
         }
     }
 
@@ -217,8 +225,33 @@ class ProcessQueueImpl implements ProcessQueue {
             log.info("Stop to receive message because consumer is not running, mq={}, clientId={}", mq, clientId);
             return;
         }
+        final Endpoints endpoints = mq.getBroker().getEndpoints();
+        final Optional<ReceiveSession> session = consumer.getReceiveSession(endpoints);
+        if (session.isPresent()) {
+            receptionPending = true;
+            session.get().submit(this::receiveMessageInSession);
+            return;
+        }
+        receiveMessage0(endpoints);
+    }
+
+    /**
+     * Reception started by the receive session, which may have been pending for a while since submission.
+     */
+    private ListenableFuture<ReceiveMessageResult> receiveMessageInSession() {
+        final ClientId clientId = consumer.getClientId();
+        receptionPending = false;
+        if (dropped || !consumer.isRunning()) {
+            log.info("Process queue has been dropped or consumer is not running, abort the pending reception, mq={}, "
+                + "clientId={}", mq, clientId);
+            return Futures.immediateCancelledFuture();
+        }
+        return receiveMessage0(mq.getBroker().getEndpoints());
+    }
+
+    private ListenableFuture<ReceiveMessageResult> receiveMessage0(Endpoints endpoints) {
+        final ClientId clientId = consumer.getClientId();
         try {
-            final Endpoints endpoints = mq.getBroker().getEndpoints();
             final int batchSize = this.getReceptionBatchSize();
             final Duration longPollingTimeout = consumer.getPushConsumerSettings().getLongPollingTimeout();
             final ReceiveMessageRequest request = consumer.wrapReceiveMessageRequest(batchSize, mq, filterExpression,
@@ -229,8 +262,10 @@ class ProcessQueueImpl implements ProcessQueue {
             final MessageInterceptorContextImpl context = new MessageInterceptorContextImpl(MessageHookPoints.RECEIVE);
             consumer.doBefore(context, Collections.emptyList());
 
-            final ListenableFuture<ReceiveMessageResult> future = consumer.receiveMessage(request, mq,
-                longPollingTimeout);
+            final boolean streaming = consumer.isStreamingReception();
+            final ListenableFuture<ReceiveMessageResult> future = streaming ?
+                consumer.receiveMessage(request, mq, longPollingTimeout, this::onMessageReceived) :
+                consumer.receiveMessage(request, mq, longPollingTimeout);
             Futures.addCallback(future, new FutureCallback<ReceiveMessageResult>() {
                 @Override
                 public void onSuccess(ReceiveMessageResult result) {
@@ -243,7 +278,12 @@ class ProcessQueueImpl implements ProcessQueue {
                     consumer.doAfter(context0, generalMessages);
 
                     try {
-                        onReceiveMessageResult(result);
+                        if (streaming) {
+                            // Messages have been handed over during the reception.
+                            receiveMessage();
+                        } else {
+                            onReceiveMessageResult(result);
+                        }
                     } catch (Throwable t) {
                         // Should never reach here.
                         log.error("[Bug] Exception raised while handling receive result, mq={}, endpoints={}, "
@@ -266,9 +306,11 @@ class ProcessQueueImpl implements ProcessQueue {
             }, MoreExecutors.directExecutor());
             receptionTimes.getAndIncrement();
             consumer.getReceptionTimes().getAndIncrement();
+            return future;
         } catch (Throwable t) {
             log.error("Exception raised during message reception, mq={}, clientId={}", mq, clientId, t);
             onReceiveMessageException(t);
+            return Futures.immediateFailedFuture(t);
         }
     }
 
@@ -291,6 +333,16 @@ class ProcessQueueImpl implements ProcessQueue {
             cacheFullNanoTime = System.nanoTime();
             return true;
         }
+        // A stuck message keeps the offset span growing even if the cached messages are consumed quickly.
+        final int cacheOffsetSpanThresholdPerQueue = consumer.cacheOffsetSpanThresholdPerQueue();
+        final long actualOffsetSpan = inflightOffsetIndex.getLag();
+        if (cacheOffsetSpanThresholdPerQueue > 0 && cacheOffsetSpanThresholdPerQueue <= actualOffsetSpan) {
+            log.warn("Process queue cached messages offset span exceeds the threshold, threshold={}, actual={}, "
+                    + "minInflightOffset={}, mq={}, clientId={}", cacheOffsetSpanThresholdPerQueue, actualOffsetSpan,
+                inflightOffsetIndex.getMinOffset().orElse(null), mq, clientId);
+            cacheFullNanoTime = System.nanoTime();
+            return true;
+        }
         return false;
     }
 
@@ -311,18 +363,24 @@ class ProcessQueueImpl implements ProcessQueue {
     }
 
     public int cachedMessagesCount() {
-        cachedMessageLock.readLock().lock();
-        try {
-            return cachedMessages.size();
-        } finally {
-            cachedMessageLock.readLock().unlock();
-        }
+        return cachedMessagesCount.get();
     }
 
     public long cachedMessageBytes() {
         return cachedMessagesBytes.get();
     }
 
+    /**
+     * Handle the message received in streaming, which is cached and consumed once it arrives.
+     */
+    private void onMessageReceived(MessageViewImpl messageView) {
+        final List<MessageViewImpl> messages = Collections.singletonList(messageView);
+        cacheMessages(messages);
+        receivedMessagesQuantity.getAndIncrement();
+        consumer.getReceivedMessagesQuantity().getAndIncrement();
+        consumer.getConsumeService().consume(this, messages);
+    }
+
     private void onReceiveMessageResult(ReceiveMessageResult result) {
         final List<MessageViewImpl> messages = result.getMessageViewImpls();
         if (!messages.isEmpty()) {
@@ -334,14 +392,11 @@ class ProcessQueueImpl implements ProcessQueue {
         receiveMessage();
     }
 
-    private void evictCache(MessageViewImpl messageView) {
-        cachedMessageLock.writeLock().lock();
-        try {
-            if (cachedMessages.remove(messageView)) {
-                cachedMessagesBytes.addAndGet(-messageView.getBody().remaining());
-            }
-        } finally {
-            cachedMessageLock.writeLock().unlock();
+    void evictCache(MessageViewImpl messageView) {
+        if (cachedMessages.remove(messageView)) {
+            cachedMessagesCount.decrementAndGet();
+            cachedMessagesBytes.addAndGet(-messageView.getRetainedSize());
+            inflightOffsetIndex.remove(messageView.getOffset());
         }
     }
 
@@ -556,13 +611,12 @@ class ProcessQueueImpl implements ProcessQueue {
         final String consumerGroup = consumer.getConsumerGroup();
         final MessageId messageId = messageView.getMessageId();
         final Endpoints endpoints = messageView.getEndpoints();
-        final RpcFuture<AckMessageRequest, AckMessageResponse> future =
-            consumer.ackMessage(messageView);
-        Futures.addCallback(future, new FutureCallback<AckMessageResponse>() {
+        final ListenableFuture<AckMessageAggregator.Result> future = consumer.batchAckMessage(messageView);
+        Futures.addCallback(future, new FutureCallback<AckMessageAggregator.Result>() {
             @Override
-            public void onSuccess(AckMessageResponse response) {
-                final String requestId = future.getContext().getRequestId();
-                final Status status = response.getStatus();
+            public void onSuccess(AckMessageAggregator.Result result) {
+                final String requestId = result.getRequestId();
+                final Status status = result.getStatus();
                 final Code code = status.getCode();
                 if (Code.INVALID_RECEIPT_HANDLE.equals(code)) {
                     log.error("Failed to ack message due to the invalid receipt handle, forgive to retry, "
@@ -625,12 +679,7 @@ class ProcessQueueImpl implements ProcessQueue {
 
     @Override
     public long getCachedMessageCount() {
-        cachedMessageLock.readLock().lock();
-        try {
-            return cachedMessages.size();
-        } finally {
-            cachedMessageLock.readLock().unlock();
-        }
+        return cachedMessagesCount.get();
     }
 
     @Override
@@ -638,12 +687,28 @@ class ProcessQueueImpl implements ProcessQueue {
         return cachedMessagesBytes.get();
     }
 
+    @Override
+    public Optional<Long> getMinInflightOffset() {
+        return inflightOffsetIndex.getMinOffset();
+    }
+
+    @Override
+    public Optional<Long> getMaxInflightOffset() {
+        return inflightOffsetIndex.getMaxOffset();
+    }
+
+    @Override
+    public long getConsumptionLag() {
+        return inflightOffsetIndex.getLag();
+    }
+
     @ExcludeFromJacocoGeneratedReport
     public void doStats() {
         final long receptionTimes = this.receptionTimes.getAndSet(0);
         final long receivedMessagesQuantity = this.receivedMessagesQuantity.getAndSet(0);
         log.info("Process queue stats: clientId={}, mq={}, receptionTimes={}, receivedMessageQuantity={}, "
-            + "cachedMessageCount={}, cachedMessageBytes={}", consumer.getClientId(), mq, receptionTimes,
-            receivedMessagesQuantity, this.getCachedMessageCount(), this.getCachedMessageBytes());
+            + "cachedMessageCount={}, cachedMessageBytes={}, minInflightOffset={}, consumptionLag={}",
+            consumer.getClientId(), mq, receptionTimes, receivedMessagesQuantity, this.getCachedMessageCount(),
+            this.getCachedMessageBytes(), this.getMinInflightOffset().orElse(null), this.getConsumptionLag());
     }
 }
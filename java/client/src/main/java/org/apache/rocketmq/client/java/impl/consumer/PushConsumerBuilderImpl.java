@@ -21,10 +21,12 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static org.apache.rocketmq.client.java.impl.consumer.ConsumerImpl.CONSUMER_GROUP_PATTERN;
 
+import java.time.Duration;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import org.apache.rocketmq.client.apis.ClientConfiguration;
 import org.apache.rocketmq.client.apis.ClientException;
+import org.apache.rocketmq.client.apis.consumer.BatchMessageListener;
 import org.apache.rocketmq.client.apis.consumer.FilterExpression;
 import org.apache.rocketmq.client.apis.consumer.MessageListener;
 import org.apache.rocketmq.client.apis.consumer.PushConsumer;
@@ -38,9 +40,20 @@ public class PushConsumerBuilderImpl implements PushConsumerBuilder {
     private String consumerGroup = null;
     private Map<String, FilterExpression> subscriptionExpressions = new ConcurrentHashMap<>();
     private MessageListener messageListener = null;
+    private BatchMessageListener batchMessageListener = null;
+    private int maxBatchSize = 1;
+    private Duration maxBatchAwaitDuration = Duration.ZERO;
     private int maxCacheMessageCount = 1024;
     private int maxCacheMessageSizeInBytes = 64 * 1024 * 1024;
+    private int maxCacheOffsetSpan = 0;
     private int consumptionThreadCount = 20;
+    private boolean virtualThreadConsumption = false;
+    private int virtualThreadConsumptionConcurrency = 0;
+    private int decodingParallelism = 1;
+    private double digestVerifySamplingRate = 1;
+    private int maxReceiveStreamsPerEndpoints = 0;
+    private int maxAckBatchSize = 1;
+    private Duration maxAckBatchDelay = Duration.ZERO;
 
     /**
      * @see PushConsumerBuilder#setClientConfiguration(ClientConfiguration)
@@ -83,6 +96,22 @@ public class PushConsumerBuilderImpl implements PushConsumerBuilder {
         return this;
     }
 
+    /**
+     * @see PushConsumerBuilder#setBatchMessageListener(BatchMessageListener, int, Duration)
+     */
+    @Override
+    public PushConsumerBuilder setBatchMessageListener(BatchMessageListener listener, int maxBatchSize,
+        Duration maxAwaitDuration) {
+        checkNotNull(listener, "batchMessageListener should not be null");
+        checkArgument(maxBatchSize > 0, "maxBatchSize should be positive");
+        checkNotNull(maxAwaitDuration, "maxAwaitDuration should not be null");
+        checkArgument(!maxAwaitDuration.isNegative(), "maxAwaitDuration should not be negative");
+        this.batchMessageListener = listener;
+        this.maxBatchSize = maxBatchSize;
+        this.maxBatchAwaitDuration = maxAwaitDuration;
+        return this;
+    }
+
     /**
      * @see PushConsumerBuilder#setMaxCacheMessageCount(int)
      */
@@ -103,6 +132,16 @@ public class PushConsumerBuilderImpl implements PushConsumerBuilder {
         return this;
     }
 
+    /**
+     * @see PushConsumerBuilder#setMaxCacheOffsetSpan(int)
+     */
+    @Override
+    public PushConsumerBuilder setMaxCacheOffsetSpan(int span) {
+        checkArgument(span >= 0, "span should not be negative");
+        this.maxCacheOffsetSpan = span;
+        return this;
+    }
+
     /**
      * @see PushConsumerBuilder#setConsumptionThreadCount(int)
      */
@@ -113,6 +152,60 @@ public class PushConsumerBuilderImpl implements PushConsumerBuilder {
         return this;
     }
 
+    /**
+     * @see PushConsumerBuilder#setVirtualThreadConsumption(int)
+     */
+    @Override
+    public PushConsumerBuilder setVirtualThreadConsumption(int maxConcurrency) {
+        checkArgument(maxConcurrency > 0, "maxConcurrency should be positive");
+        this.virtualThreadConsumption = true;
+        this.virtualThreadConsumptionConcurrency = maxConcurrency;
+        return this;
+    }
+
+    /**
+     * @see PushConsumerBuilder#setDecodingParallelism(int)
+     */
+    @Override
+    public PushConsumerBuilder setDecodingParallelism(int decodingParallelism) {
+        checkArgument(decodingParallelism > 0, "decodingParallelism should be positive");
+        this.decodingParallelism = decodingParallelism;
+        return this;
+    }
+
+    /**
+     * @see PushConsumerBuilder#setDigestVerifySamplingRate(double)
+     */
+    @Override
+    public PushConsumerBuilder setDigestVerifySamplingRate(double samplingRate) {
+        checkArgument(samplingRate >= 0 && samplingRate <= 1, "samplingRate should be in [0, 1]");
+        this.digestVerifySamplingRate = samplingRate;
+        return this;
+    }
+
+    /**
+     * @see PushConsumerBuilder#setMaxReceiveStreamsPerEndpoints(int)
+     */
+    @Override
+    public PushConsumerBuilder setMaxReceiveStreamsPerEndpoints(int maxStreams) {
+        checkArgument(maxStreams >= 0, "maxStreams should not be negative");
+        this.maxReceiveStreamsPerEndpoints = maxStreams;
+        return this;
+    }
+
+    /**
+     * @see PushConsumerBuilder#setAckBatchingPolicy(int, Duration)
+     */
+    @Override
+    public PushConsumerBuilder setAckBatchingPolicy(int maxBatchSize, Duration maxDelay) {
+        checkArgument(maxBatchSize > 0, "maxBatchSize should be positive");
+        checkNotNull(maxDelay, "maxDelay should not be null");
+        checkArgument(!maxDelay.isNegative(), "maxDelay should not be negative");
+        this.maxAckBatchSize = maxBatchSize;
+        this.maxAckBatchDelay = maxDelay;
+        return this;
+    }
+
     /**
      * @see PushConsumerBuilder#build()
      */
@@ -120,11 +213,25 @@ public class PushConsumerBuilderImpl implements PushConsumerBuilder {
     public PushConsumer build() throws ClientException {
         checkNotNull(clientConfiguration, "clientConfiguration has not been set yet");
         checkNotNull(consumerGroup, "consumerGroup has not been set yet");
-        checkNotNull(messageListener, "messageListener has not been set yet");
         checkArgument(!subscriptionExpressions.isEmpty(), "subscriptionExpressions have not been set yet");
-        final PushConsumerImpl pushConsumer = new PushConsumerImpl(clientConfiguration, consumerGroup,
-            subscriptionExpressions, messageListener, maxCacheMessageCount, maxCacheMessageSizeInBytes,
-            consumptionThreadCount);
+        final int consumptionConcurrency = virtualThreadConsumption ? virtualThreadConsumptionConcurrency :
+            consumptionThreadCount;
+        final PushConsumerImpl pushConsumer;
+        if (null != batchMessageListener) {
+            checkArgument(null == messageListener, "messageListener and batchMessageListener are mutually "
+                + "exclusive");
+            pushConsumer = new PushConsumerImpl(clientConfiguration, consumerGroup, subscriptionExpressions,
+                batchMessageListener, maxBatchSize, maxBatchAwaitDuration, maxCacheMessageCount,
+                maxCacheMessageSizeInBytes, consumptionConcurrency, virtualThreadConsumption, decodingParallelism,
+                digestVerifySamplingRate, maxReceiveStreamsPerEndpoints, maxAckBatchSize, maxAckBatchDelay,
+                maxCacheOffsetSpan);
+        } else {
+            checkNotNull(messageListener, "messageListener has not been set yet");
+            pushConsumer = new PushConsumerImpl(clientConfiguration, consumerGroup, subscriptionExpressions,
+                messageListener, maxCacheMessageCount, maxCacheMessageSizeInBytes, consumptionConcurrency,
+                virtualThreadConsumption, decodingParallelism, digestVerifySamplingRate,
+                maxReceiveStreamsPerEndpoints, maxAckBatchSize, maxAckBatchDelay, maxCacheOffsetSpan);
+        }
         pushConsumer.startAsync().awaitRunning();
         return pushConsumer;
     }
@@ -43,6 +43,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
@@ -52,6 +53,7 @@ import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import org.apache.rocketmq.client.apis.ClientConfiguration;
 import org.apache.rocketmq.client.apis.ClientException;
+import org.apache.rocketmq.client.apis.consumer.BatchMessageListener;
 import org.apache.rocketmq.client.apis.consumer.ConsumeResult;
 import org.apache.rocketmq.client.apis.consumer.FilterExpression;
 import org.apache.rocketmq.client.apis.consumer.MessageListener;
@@ -71,6 +73,7 @@ import org.apache.rocketmq.client.java.metrics.GaugeObserver;
 import org.apache.rocketmq.client.java.misc.ExcludeFromJacocoGeneratedReport;
 import org.apache.rocketmq.client.java.misc.ExecutorServices;
 import org.apache.rocketmq.client.java.misc.ThreadFactoryImpl;
+import org.apache.rocketmq.client.java.misc.VirtualThreads;
 import org.apache.rocketmq.client.java.retry.RetryPolicy;
 import org.apache.rocketmq.client.java.route.Endpoints;
 import org.apache.rocketmq.client.java.route.MessageQueueImpl;
@@ -100,8 +103,22 @@ class PushConsumerImpl extends ConsumerImpl implements PushConsumer {
     private final Map<String /* topic */, FilterExpression> subscriptionExpressions;
     private final ConcurrentMap<String /* topic */, Assignments> cacheAssignments;
     private final MessageListener messageListener;
+    /**
+     * Batch message listener, which is null if messages are consumed one by one.
+     */
+    private final BatchMessageListener batchMessageListener;
+    private final int maxBatchSize;
+    private final Duration maxBatchAwaitDuration;
     private final int maxCacheMessageCount;
     private final int maxCacheMessageSizeInBytes;
+    /**
+     * Max offset span of cached messages per message queue, which is not limited if it is 0.
+     */
+    private final int maxCacheOffsetSpan;
+    /**
+     * Max count of in-flight receive streams per endpoints, which is not limited if it is 0.
+     */
+    private final int maxReceiveStreamsPerEndpoints;
 
     /**
      * Indicates the times of message reception.
@@ -112,8 +129,10 @@ class PushConsumerImpl extends ConsumerImpl implements PushConsumer {
      */
     private final AtomicLong receivedMessagesQuantity;
 
-    private final ThreadPoolExecutor consumptionExecutor;
+    private final ExecutorService consumptionExecutor;
     private final ConcurrentMap<MessageQueueImpl, ProcessQueue> processQueueTable;
+    private final ConcurrentMap<Endpoints, ReceiveSession> receiveSessionTable;
+    private final AckMessageAggregator ackMessageAggregator;
     private ConsumeService consumeService;
 
     private volatile ScheduledFuture<?> scanAssignmentsFuture;
@@ -125,7 +144,56 @@ class PushConsumerImpl extends ConsumerImpl implements PushConsumer {
     public PushConsumerImpl(ClientConfiguration clientConfiguration, String consumerGroup,
         Map<String, FilterExpression> subscriptionExpressions, MessageListener messageListener,
         int maxCacheMessageCount, int maxCacheMessageSizeInBytes, int consumptionThreadCount) {
-        super(clientConfiguration, consumerGroup, subscriptionExpressions.keySet());
+        this(clientConfiguration, consumerGroup, subscriptionExpressions, messageListener, maxCacheMessageCount,
+            maxCacheMessageSizeInBytes, consumptionThreadCount, false, 1, 1, 0, 1, Duration.ZERO, 0);
+    }
+
+    /**
+     * The caller is supposed to have validated the arguments and handled throwing exception or
+     * logging warnings already, so we avoid repeating args check here.
+     *
+     * <p>If virtual thread consumption is enabled, the consumption thread count is the max count of messages to
+     * consume concurrently. The count of in-flight receive streams per endpoints is not limited if
+     * {@code maxReceiveStreamsPerEndpoints} is 0, and message acknowledgements are not batched if
+     * {@code maxAckBatchSize} is 1. The offset span of cached messages per message queue is not limited if
+     * {@code maxCacheOffsetSpan} is 0.
+     */
+    public PushConsumerImpl(ClientConfiguration clientConfiguration, String consumerGroup,
+        Map<String, FilterExpression> subscriptionExpressions, MessageListener messageListener,
+        int maxCacheMessageCount, int maxCacheMessageSizeInBytes, int consumptionThreadCount,
+        boolean virtualThreadConsumption, int decodingParallelism, double digestVerifySamplingRate,
+        int maxReceiveStreamsPerEndpoints, int maxAckBatchSize, Duration maxAckBatchDelay, int maxCacheOffsetSpan) {
+        this(clientConfiguration, consumerGroup, subscriptionExpressions, messageListener, null, 1, Duration.ZERO,
+            maxCacheMessageCount, maxCacheMessageSizeInBytes, consumptionThreadCount, virtualThreadConsumption,
+            decodingParallelism, digestVerifySamplingRate, maxReceiveStreamsPerEndpoints, maxAckBatchSize,
+            maxAckBatchDelay, maxCacheOffsetSpan);
+    }
+
+    /**
+     * The caller is supposed to have validated the arguments and handled throwing exception or
+     * logging warnings already, so we avoid repeating args check here.
+     */
+    public PushConsumerImpl(ClientConfiguration clientConfiguration, String consumerGroup,
+        Map<String, FilterExpression> subscriptionExpressions, BatchMessageListener batchMessageListener,
+        int maxBatchSize, Duration maxBatchAwaitDuration, int maxCacheMessageCount, int maxCacheMessageSizeInBytes,
+        int consumptionThreadCount, boolean virtualThreadConsumption, int decodingParallelism,
+        double digestVerifySamplingRate, int maxReceiveStreamsPerEndpoints, int maxAckBatchSize,
+        Duration maxAckBatchDelay, int maxCacheOffsetSpan) {
+        this(clientConfiguration, consumerGroup, subscriptionExpressions,
+            BatchConsumeService.toMessageListener(batchMessageListener), batchMessageListener, maxBatchSize,
+            maxBatchAwaitDuration, maxCacheMessageCount, maxCacheMessageSizeInBytes, consumptionThreadCount,
+            virtualThreadConsumption, decodingParallelism, digestVerifySamplingRate, maxReceiveStreamsPerEndpoints,
+            maxAckBatchSize, maxAckBatchDelay, maxCacheOffsetSpan);
+    }
+
+    private PushConsumerImpl(ClientConfiguration clientConfiguration, String consumerGroup,
+        Map<String, FilterExpression> subscriptionExpressions, MessageListener messageListener,
+        BatchMessageListener batchMessageListener, int maxBatchSize, Duration maxBatchAwaitDuration,
+        int maxCacheMessageCount, int maxCacheMessageSizeInBytes, int consumptionThreadCount,
+        boolean virtualThreadConsumption, int decodingParallelism, double digestVerifySamplingRate,
+        int maxReceiveStreamsPerEndpoints, int maxAckBatchSize, Duration maxAckBatchDelay, int maxCacheOffsetSpan) {
+        super(clientConfiguration, consumerGroup, subscriptionExpressions.keySet(), decodingParallelism,
+            digestVerifySamplingRate);
         this.clientConfiguration = clientConfiguration;
         Resource groupResource = new Resource(consumerGroup);
         this.pushSubscriptionSettings = new PushSubscriptionSettings(clientId, endpoints, groupResource,
@@ -134,8 +202,13 @@ class PushConsumerImpl extends ConsumerImpl implements PushConsumer {
         this.subscriptionExpressions = subscriptionExpressions;
         this.cacheAssignments = new ConcurrentHashMap<>();
         this.messageListener = messageListener;
+        this.batchMessageListener = batchMessageListener;
+        this.maxBatchSize = maxBatchSize;
+        this.maxBatchAwaitDuration = maxBatchAwaitDuration;
         this.maxCacheMessageCount = maxCacheMessageCount;
         this.maxCacheMessageSizeInBytes = maxCacheMessageSizeInBytes;
+        this.maxCacheOffsetSpan = maxCacheOffsetSpan;
+        this.maxReceiveStreamsPerEndpoints = maxReceiveStreamsPerEndpoints;
 
         this.receptionTimes = new AtomicLong(0);
         this.receivedMessagesQuantity = new AtomicLong(0);
@@ -143,8 +216,26 @@ class PushConsumerImpl extends ConsumerImpl implements PushConsumer {
         this.consumptionErrorQuantity = new AtomicLong(0);
 
         this.processQueueTable = new ConcurrentHashMap<>();
+        this.receiveSessionTable = new ConcurrentHashMap<>();
+        this.ackMessageAggregator = new AckMessageAggregator(this, maxAckBatchSize, maxAckBatchDelay);
+
+        this.consumptionExecutor = createConsumptionExecutor(consumptionThreadCount, virtualThreadConsumption);
+    }
 
-        this.consumptionExecutor = new ThreadPoolExecutor(
+    private ExecutorService createConsumptionExecutor(int consumptionThreadCount, boolean virtualThreadConsumption) {
+        if (virtualThreadConsumption) {
+            if (VirtualThreads.isSupported()) {
+                log.info("Consume messages on virtual threads, maxConcurrency={}, clientId={}",
+                    consumptionThreadCount, clientId);
+                final String namePrefix = ThreadFactoryImpl.THREAD_PREFIX + "MessageConsumption-"
+                    + this.getClientId().getIndex() + "-";
+                return VirtualThreads.newVirtualThreadPerTaskExecutor(namePrefix, consumptionThreadCount);
+            }
+            log.warn("Virtual thread is not supported by current JVM, consume messages on platform threads instead, "
+                + "javaVersion={}, consumptionThreadCount={}, clientId={}", System.getProperty("java.version"),
+                consumptionThreadCount, clientId);
+        }
+        return new ThreadPoolExecutor(
             consumptionThreadCount,
             consumptionThreadCount,
             60,
@@ -184,9 +275,15 @@ class PushConsumerImpl extends ConsumerImpl implements PushConsumer {
         if (null != scanAssignmentsFuture) {
             scanAssignmentsFuture.cancel(false);
         }
-        super.shutDown();
+        receiveSessionTable.values().forEach(ReceiveSession::clear);
+        if (null != consumeService) {
+            consumeService.discardAll();
+        }
         this.consumptionExecutor.shutdown();
         ExecutorServices.awaitTerminated(consumptionExecutor);
+        // Flush after the consumption is drained, so that no acknowledgement is left pending.
+        ackMessageAggregator.flush();
+        super.shutDown();
         log.info("Shutdown the rocketmq push consumer successfully, clientId={}", clientId);
     }
 
@@ -196,6 +293,12 @@ class PushConsumerImpl extends ConsumerImpl implements PushConsumer {
             log.info("Create FIFO consume service, consumerGroup={}, clientId={}", consumerGroup, clientId);
             return new FifoConsumeService(clientId, messageListener, consumptionExecutor, this, scheduler);
         }
+        if (null != batchMessageListener) {
+            log.info("Create batch consume service, consumerGroup={}, maxBatchSize={}, maxBatchAwaitDuration={}, "
+                + "clientId={}", consumerGroup, maxBatchSize, maxBatchAwaitDuration, clientId);
+            return new BatchConsumeService(clientId, batchMessageListener, maxBatchSize, maxBatchAwaitDuration,
+                consumptionExecutor, this, scheduler);
+        }
         log.info("Create standard consume service, consumerGroup={}, clientId={}", consumerGroup, clientId);
         return new StandardConsumeService(clientId, messageListener, consumptionExecutor, this, scheduler);
     }
@@ -212,6 +315,17 @@ class PushConsumerImpl extends ConsumerImpl implements PushConsumer {
         return pushSubscriptionSettings;
     }
 
+    /**
+     * Whether messages are handed over to the consume service one by one as soon as they arrive, rather than as the
+     * whole batch of one reception.
+     *
+     * <p>Messages of FIFO consumption must be consumed in order as a batch, and messages consumed by the batch message
+     * listener are grouped by reception, so neither of them is streamed.
+     */
+    boolean isStreamingReception() {
+        return !pushSubscriptionSettings.isFifo() && null == batchMessageListener;
+    }
+
     /**
      * @see PushConsumer#getSubscriptionExpressions()
      */
@@ -293,6 +407,29 @@ class PushConsumerImpl extends ConsumerImpl implements PushConsumer {
         final ProcessQueue pq = processQueueTable.remove(mq);
         if (null != pq) {
             pq.drop();
+            if (null != consumeService) {
+                consumeService.discard(pq);
+            }
+            removeIdleReceiveSession(mq.getBroker().getEndpoints());
+        }
+    }
+
+    /**
+     * Remove the receive session of the endpoints once no process queue is served by the endpoints anymore.
+     */
+    private void removeIdleReceiveSession(Endpoints endpoints) {
+        if (!receiveSessionTable.containsKey(endpoints)) {
+            return;
+        }
+        final boolean idle = processQueueTable.keySet().stream()
+            .noneMatch(mq -> endpoints.equals(mq.getBroker().getEndpoints()));
+        if (!idle) {
+            return;
+        }
+        final ReceiveSession session = receiveSessionTable.remove(endpoints);
+        if (null != session) {
+            session.clear();
+            log.info("Remove the idle receive session, endpoints={}, clientId={}", endpoints, clientId);
         }
     }
 
@@ -442,6 +579,13 @@ class PushConsumerImpl extends ConsumerImpl implements PushConsumer {
         return Math.max(1, maxCacheMessageSizeInBytes / size);
     }
 
+    /**
+     * Get the max offset span of cached messages per message queue, which is not limited if it is 0.
+     */
+    int cacheOffsetSpanThresholdPerQueue() {
+        return maxCacheOffsetSpan;
+    }
+
     int cacheMessageCountThresholdPerQueue() {
         final int size = this.getQueueSize();
         // All process queues are removed, no need to cache messages.
@@ -451,6 +595,18 @@ class PushConsumerImpl extends ConsumerImpl implements PushConsumer {
         return Math.max(1, maxCacheMessageCount / size);
     }
 
+    /**
+     * Get the receive session of the endpoints, return {@link Optional#empty()} if the count of in-flight receive
+     * streams per endpoints is not limited.
+     */
+    Optional<ReceiveSession> getReceiveSession(Endpoints endpoints) {
+        if (maxReceiveStreamsPerEndpoints <= 0) {
+            return Optional.empty();
+        }
+        return Optional.of(receiveSessionTable.computeIfAbsent(endpoints,
+            k -> new ReceiveSession(clientId, k, maxReceiveStreamsPerEndpoints)));
+    }
+
     public AtomicLong getReceptionTimes() {
         return receptionTimes;
     }
@@ -508,6 +664,19 @@ class PushConsumerImpl extends ConsumerImpl implements PushConsumer {
             .setMaxDeliveryAttempts(getRetryPolicy().getMaxAttempts()).build();
     }
 
+    /**
+     * Acknowledge message, which may be sent together with other acknowledgements of the same endpoints and topic.
+     *
+     * <p>FIFO messages are acknowledged at once, because the next message of the same queue is not consumed until
+     * the acknowledgement of the former one is done.
+     */
+    ListenableFuture<AckMessageAggregator.Result> batchAckMessage(final MessageViewImpl messageView) {
+        if (pushSubscriptionSettings.isFifo()) {
+            return ackMessageAggregator.ackMessageImmediately(messageView);
+        }
+        return ackMessageAggregator.ackMessage(messageView);
+    }
+
     public RpcFuture<ForwardMessageToDeadLetterQueueRequest, ForwardMessageToDeadLetterQueueResponse>
     forwardMessageToDeadLetterQueue(final MessageViewImpl messageView) {
         // Intercept before forwarding message to DLQ.
@@ -561,7 +730,7 @@ class PushConsumerImpl extends ConsumerImpl implements PushConsumer {
         return pushSubscriptionSettings.getRetryPolicy();
     }
 
-    public ThreadPoolExecutor getConsumptionExecutor() {
+    public ExecutorService getConsumptionExecutor() {
         return consumptionExecutor;
     }
 }
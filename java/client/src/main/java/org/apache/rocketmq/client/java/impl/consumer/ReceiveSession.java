@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.impl.consumer;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.errorprone.annotations.concurrent.GuardedBy;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.function.Supplier;
+import org.apache.rocketmq.client.java.misc.ClientId;
+import org.apache.rocketmq.client.java.route.Endpoints;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Receive session multiplexes the receive demand of all process queues served by the same endpoints over a bounded
+ * number of in-flight receive streams, like {@link org.apache.rocketmq.client.java.impl.ClientSessionImpl} keeps
+ * one telemetry stream per endpoints.
+ *
+ * <p>Each in-flight reception takes one credit of the session, and gives it back once its future is done. Receptions
+ * submitted while there is no credit left are pending in order, and are started as soon as any credit is given back.
+ */
+class ReceiveSession {
+    private static final Logger log = LoggerFactory.getLogger(ReceiveSession.class);
+
+    private final ClientId clientId;
+    private final Endpoints endpoints;
+    private final int maxInflightReceptions;
+
+    private final Object lock;
+    @GuardedBy("lock")
+    private final Queue<Supplier<? extends ListenableFuture<?>>> pendingReceptions;
+    @GuardedBy("lock")
+    private int inflightReceptions;
+
+    ReceiveSession(ClientId clientId, Endpoints endpoints, int maxInflightReceptions) {
+        this.clientId = clientId;
+        this.endpoints = endpoints;
+        this.maxInflightReceptions = maxInflightReceptions;
+        this.lock = new Object();
+        this.pendingReceptions = new ArrayDeque<>();
+        this.inflightReceptions = 0;
+    }
+
+    /**
+     * Submit the reception, which is started at once if there is any credit left, or started later otherwise.
+     *
+     * @param reception starts the reception and returns its future, the credit is given back once the future is done.
+     */
+    void submit(Supplier<? extends ListenableFuture<?>> reception) {
+        synchronized (lock) {
+            pendingReceptions.add(reception);
+        }
+        drain();
+    }
+
+    private void release() {
+        synchronized (lock) {
+            inflightReceptions--;
+        }
+        drain();
+    }
+
+    private void drain() {
+        while (true) {
+            final Supplier<? extends ListenableFuture<?>> reception;
+            synchronized (lock) {
+                if (inflightReceptions >= maxInflightReceptions || pendingReceptions.isEmpty()) {
+                    return;
+                }
+                reception = pendingReceptions.poll();
+                inflightReceptions++;
+            }
+            ListenableFuture<?> future = null;
+            try {
+                future = reception.get();
+            } catch (Throwable t) {
+                // Should never reach here.
+                log.error("[Bug] Exception raised while starting the reception, endpoints={}, clientId={}",
+                    endpoints, clientId, t);
+            }
+            // Give back the credit here rather than in the listener to avoid recursion.
+            if (null == future || future.isDone()) {
+                synchronized (lock) {
+                    inflightReceptions--;
+                }
+                continue;
+            }
+            future.addListener(this::release, MoreExecutors.directExecutor());
+        }
+    }
+
+    /**
+     * Discard all pending receptions, in-flight receptions are not affected.
+     */
+    void clear() {
+        synchronized (lock) {
+            pendingReceptions.clear();
+        }
+    }
+
+    int getInflightReceptions() {
+        synchronized (lock) {
+            return inflightReceptions;
+        }
+    }
+
+    int getPendingReceptions() {
+        synchronized (lock) {
+            return pendingReceptions.size();
+        }
+    }
+
+    Endpoints getEndpoints() {
+        return endpoints;
+    }
+}
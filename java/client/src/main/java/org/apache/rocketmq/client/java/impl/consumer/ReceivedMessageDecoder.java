@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.impl.consumer;
+
+import apache.rocketmq.v2.Message;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.ThreadLocalRandom;
+import org.apache.rocketmq.client.java.message.MessageViewImpl;
+import org.apache.rocketmq.client.java.misc.ClientId;
+import org.apache.rocketmq.client.java.misc.ThreadFactoryImpl;
+import org.apache.rocketmq.client.java.misc.ThreadLocalZlib;
+import org.apache.rocketmq.client.java.route.MessageQueueImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decoder of the received messages, which decodes messages of one batch in parallel on a bounded
+ * {@link ForkJoinPool} if the parallelism is greater than 1, the order of messages is preserved.
+ */
+@SuppressWarnings({"UnstableApiUsage", "NullableProblems"})
+class ReceivedMessageDecoder {
+    private static final Logger log = LoggerFactory.getLogger(ReceivedMessageDecoder.class);
+
+    private final ClientId clientId;
+    private final int parallelism;
+    /**
+     * Ratio of messages whose MD5/SHA-1 body digest is verified.
+     */
+    private final double digestVerifySamplingRate;
+    /**
+     * Pool to decode messages, which is null if decoding is serial.
+     */
+    private final ForkJoinPool pool;
+    private final ListeningExecutorService executor;
+
+    ReceivedMessageDecoder(ClientId clientId, int parallelism, double digestVerifySamplingRate) {
+        this.clientId = clientId;
+        this.parallelism = parallelism;
+        this.digestVerifySamplingRate = digestVerifySamplingRate;
+        if (parallelism > 1) {
+            final String threadNamePrefix = ThreadFactoryImpl.THREAD_PREFIX + "MessageDecoding-" + clientId.getIndex()
+                + "-";
+            this.pool = new ForkJoinPool(parallelism, p -> {
+                final ForkJoinWorkerThread thread = new DecodingWorkerThread(p);
+                thread.setName(threadNamePrefix + thread.getPoolIndex());
+                return thread;
+            }, null, true);
+            this.executor = MoreExecutors.listeningDecorator(pool);
+        } else {
+            this.pool = null;
+            this.executor = null;
+        }
+    }
+
+    ListenableFuture<List<MessageViewImpl>> decode(List<Message> messages, MessageQueueImpl mq,
+        Long transportDeliveryTimestamp) {
+        final int size = messages.size();
+        if (null == executor || size <= 1) {
+            return Futures.immediateFuture(decode0(messages, mq, transportDeliveryTimestamp));
+        }
+        // Split the messages into continuous chunks, each chunk is decoded by one task.
+        final int chunkSize = (size + parallelism - 1) / parallelism;
+        final List<ListenableFuture<List<MessageViewImpl>>> futures = new ArrayList<>();
+        try {
+            for (int from = 0; from < size; from += chunkSize) {
+                final List<Message> chunk = messages.subList(from, Math.min(from + chunkSize, size));
+                futures.add(executor.submit(() -> decode0(chunk, mq, transportDeliveryTimestamp)));
+            }
+        } catch (Throwable t) {
+            // The pool may have been shutdown, decode messages in current thread instead.
+            log.warn("Failed to decode messages in parallel, decode them serially, mq={}, clientId={}", mq,
+                clientId, t);
+            for (ListenableFuture<List<MessageViewImpl>> future : futures) {
+                future.cancel(false);
+            }
+            return Futures.immediateFuture(decode0(messages, mq, transportDeliveryTimestamp));
+        }
+        // Results of all chunks are in the same order as the submission.
+        return Futures.transform(Futures.allAsList(futures), chunks -> {
+            final List<MessageViewImpl> messageViews = new ArrayList<>(size);
+            for (List<MessageViewImpl> chunk : chunks) {
+                messageViews.addAll(chunk);
+            }
+            return messageViews;
+        }, MoreExecutors.directExecutor());
+    }
+
+    /**
+     * Decode a single message, which is decoded on the pool if the parallelism is greater than 1.
+     */
+    ListenableFuture<MessageViewImpl> decode(Message message, MessageQueueImpl mq, Long transportDeliveryTimestamp) {
+        if (null != executor) {
+            try {
+                return executor.submit(() -> MessageViewImpl.fromProtobuf(message, mq, transportDeliveryTimestamp,
+                    shouldVerifyDigest()));
+            } catch (Throwable t) {
+                // The pool may have been shutdown, decode message in current thread instead.
+                log.warn("Failed to decode message on the pool, decode it in current thread, mq={}, clientId={}", mq,
+                    clientId, t);
+            }
+        }
+        return Futures.immediateFuture(MessageViewImpl.fromProtobuf(message, mq, transportDeliveryTimestamp,
+            shouldVerifyDigest()));
+    }
+
+    private List<MessageViewImpl> decode0(List<Message> messages, MessageQueueImpl mq,
+        Long transportDeliveryTimestamp) {
+        final List<MessageViewImpl> messageViews = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            messageViews.add(MessageViewImpl.fromProtobuf(message, mq, transportDeliveryTimestamp,
+                shouldVerifyDigest()));
+        }
+        return messageViews;
+    }
+
+    private boolean shouldVerifyDigest() {
+        if (digestVerifySamplingRate >= 1) {
+            return true;
+        }
+        return digestVerifySamplingRate > 0 && ThreadLocalRandom.current().nextDouble() < digestVerifySamplingRate;
+    }
+
+    void shutdown() {
+        if (null != pool) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Worker thread of the decoding pool, which releases the zlib resources once it terminates.
+     */
+    private static class DecodingWorkerThread extends ForkJoinWorkerThread {
+        private DecodingWorkerThread(ForkJoinPool pool) {
+            super(pool);
+        }
+
+        @Override
+        protected void onTermination(Throwable exception) {
+            try {
+                ThreadLocalZlib.release();
+            } finally {
+                super.onTermination(exception);
+            }
+        }
+    }
+}
@@ -35,6 +35,8 @@ public class SimpleConsumerBuilderImpl implements SimpleConsumerBuilder {
     private String consumerGroup = null;
     private Map<String, FilterExpression> subscriptionExpressions = new ConcurrentHashMap<>();
     private Duration awaitDuration = null;
+    private int decodingParallelism = 1;
+    private double digestVerifySamplingRate = 1;
 
     /**
      * @see SimpleConsumerBuilder#setClientConfiguration(ClientConfiguration)
@@ -71,6 +73,26 @@ public class SimpleConsumerBuilderImpl implements SimpleConsumerBuilder {
         return this;
     }
 
+    /**
+     * @see SimpleConsumerBuilder#setDecodingParallelism(int)
+     */
+    @Override
+    public SimpleConsumerBuilder setDecodingParallelism(int decodingParallelism) {
+        checkArgument(decodingParallelism > 0, "decodingParallelism should be positive");
+        this.decodingParallelism = decodingParallelism;
+        return this;
+    }
+
+    /**
+     * @see SimpleConsumerBuilder#setDigestVerifySamplingRate(double)
+     */
+    @Override
+    public SimpleConsumerBuilder setDigestVerifySamplingRate(double samplingRate) {
+        checkArgument(samplingRate >= 0 && samplingRate <= 1, "samplingRate should be in [0, 1]");
+        this.digestVerifySamplingRate = samplingRate;
+        return this;
+    }
+
     @Override
     public SimpleConsumer build() throws ClientException {
         checkNotNull(clientConfiguration, "clientConfiguration has not been set yet");
@@ -78,7 +100,7 @@ public class SimpleConsumerBuilderImpl implements SimpleConsumerBuilder {
         checkArgument(!subscriptionExpressions.isEmpty(), "subscriptionExpressions have not been set yet");
         checkNotNull(awaitDuration, "awaitDuration has not been set yet");
         final SimpleConsumerImpl consumer = new SimpleConsumerImpl(clientConfiguration, consumerGroup, awaitDuration,
-            subscriptionExpressions);
+            subscriptionExpressions, decodingParallelism, digestVerifySamplingRate);
         consumer.startAsync().awaitRunning();
         return consumer;
     }
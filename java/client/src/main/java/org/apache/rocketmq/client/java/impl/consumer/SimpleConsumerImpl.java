@@ -19,6 +19,7 @@ package org.apache.rocketmq.client.java.impl.consumer;
 
 import apache.rocketmq.v2.AckMessageRequest;
 import apache.rocketmq.v2.AckMessageResponse;
+import apache.rocketmq.v2.AckMessageResultEntry;
 import apache.rocketmq.v2.ChangeInvisibleDurationRequest;
 import apache.rocketmq.v2.ChangeInvisibleDurationResponse;
 import apache.rocketmq.v2.ClientType;
@@ -32,6 +33,7 @@ import com.google.common.util.concurrent.MoreExecutors;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
@@ -42,6 +44,7 @@ import net.javacrumbs.futureconverter.java8guava.FutureConverter;
 import org.apache.commons.lang3.RandomUtils;
 import org.apache.rocketmq.client.apis.ClientConfiguration;
 import org.apache.rocketmq.client.apis.ClientException;
+import org.apache.rocketmq.client.apis.consumer.BatchAckException;
 import org.apache.rocketmq.client.apis.consumer.FilterExpression;
 import org.apache.rocketmq.client.apis.consumer.SimpleConsumer;
 import org.apache.rocketmq.client.apis.message.MessageView;
@@ -49,6 +52,7 @@ import org.apache.rocketmq.client.java.exception.StatusChecker;
 import org.apache.rocketmq.client.java.impl.Settings;
 import org.apache.rocketmq.client.java.message.MessageViewImpl;
 import org.apache.rocketmq.client.java.message.protocol.Resource;
+import org.apache.rocketmq.client.java.route.Endpoints;
 import org.apache.rocketmq.client.java.route.MessageQueueImpl;
 import org.apache.rocketmq.client.java.route.TopicRouteData;
 import org.apache.rocketmq.client.java.rpc.RpcFuture;
@@ -73,7 +77,14 @@ class SimpleConsumerImpl extends ConsumerImpl implements SimpleConsumer {
 
     public SimpleConsumerImpl(ClientConfiguration clientConfiguration, String consumerGroup, Duration awaitDuration,
         Map<String, FilterExpression> subscriptionExpressions) {
-        super(clientConfiguration, consumerGroup, subscriptionExpressions.keySet());
+        this(clientConfiguration, consumerGroup, awaitDuration, subscriptionExpressions, 1, 1);
+    }
+
+    public SimpleConsumerImpl(ClientConfiguration clientConfiguration, String consumerGroup, Duration awaitDuration,
+        Map<String, FilterExpression> subscriptionExpressions, int decodingParallelism,
+        double digestVerifySamplingRate) {
+        super(clientConfiguration, consumerGroup, subscriptionExpressions.keySet(), decodingParallelism,
+            digestVerifySamplingRate);
         Resource groupResource = new Resource(consumerGroup);
         this.simpleSubscriptionSettings = new SimpleSubscriptionSettings(clientId, endpoints,
             groupResource, clientConfiguration.getRequestTimeout(), awaitDuration, subscriptionExpressions);
@@ -249,6 +260,89 @@ class SimpleConsumerImpl extends ConsumerImpl implements SimpleConsumer {
         }, clientCallbackExecutor);
     }
 
+    /**
+     * @see SimpleConsumer#ack(List)
+     */
+    @Override
+    public void ack(List<MessageView> messageViews) throws ClientException {
+        final ListenableFuture<Void> future = ack0(messageViews);
+        handleClientFuture(future);
+    }
+
+    /**
+     * @see SimpleConsumer#ackAsync(List)
+     */
+    @Override
+    public CompletableFuture<Void> ackAsync(List<MessageView> messageViews) {
+        final ListenableFuture<Void> future = ack0(messageViews);
+        return FutureConverter.toCompletableFuture(future);
+    }
+
+    private ListenableFuture<Void> ack0(List<MessageView> messageViews) {
+        // Check consumer status.
+        if (!this.isRunning()) {
+            log.error("Unable to ack messages because simple consumer is not running, state={}, clientId={}",
+                this.state(), clientId);
+            final IllegalStateException e = new IllegalStateException("Simple consumer is not running now");
+            return Futures.immediateFailedFuture(e);
+        }
+        final List<MessageViewImpl> impls = new ArrayList<>(messageViews.size());
+        // Group the index of messages by endpoints and topic.
+        final Map<Endpoints, Map<String, List<Integer>>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < messageViews.size(); i++) {
+            final MessageView messageView = messageViews.get(i);
+            if (!(messageView instanceof MessageViewImpl)) {
+                final IllegalArgumentException exception = new IllegalArgumentException("Failed downcasting for "
+                    + "messageView");
+                return Futures.immediateFailedFuture(exception);
+            }
+            final MessageViewImpl impl = (MessageViewImpl) messageView;
+            impls.add(impl);
+            groups.computeIfAbsent(impl.getEndpoints(), endpoints -> new LinkedHashMap<>())
+                .computeIfAbsent(impl.getTopic(), topic -> new ArrayList<>()).add(i);
+        }
+        final Map<Integer, ClientException> failures = new ConcurrentHashMap<>();
+        final List<ListenableFuture<Void>> futures = new ArrayList<>();
+        for (Map.Entry<Endpoints, Map<String, List<Integer>>> entry : groups.entrySet()) {
+            final Endpoints endpoints = entry.getKey();
+            for (Map.Entry<String, List<Integer>> topicEntry : entry.getValue().entrySet()) {
+                final List<Integer> indexes = topicEntry.getValue();
+                final List<MessageViewImpl> group = new ArrayList<>(indexes.size());
+                for (int index : indexes) {
+                    group.add(impls.get(index));
+                }
+                final RpcFuture<AckMessageRequest, AckMessageResponse> future =
+                    ackMessages(endpoints, topicEntry.getKey(), group);
+                final ListenableFuture<Void> future0 = Futures.transform(future, response -> {
+                    final Map<String, Status> statusTable = new HashMap<>(response.getEntriesCount());
+                    for (AckMessageResultEntry resultEntry : response.getEntriesList()) {
+                        statusTable.put(resultEntry.getReceiptHandle(), resultEntry.getStatus());
+                    }
+                    for (int index : indexes) {
+                        final Status status = statusTable.getOrDefault(impls.get(index).getReceiptHandle(),
+                            response.getStatus());
+                        try {
+                            StatusChecker.check(status, future);
+                        } catch (ClientException e) {
+                            failures.put(index, e);
+                        }
+                    }
+                    return null;
+                }, MoreExecutors.directExecutor());
+                futures.add(Futures.catching(future0, Throwable.class, t -> {
+                    final ClientException e = t instanceof ClientException ? (ClientException) t :
+                        new ClientException(t);
+                    for (int index : indexes) {
+                        failures.put(index, e);
+                    }
+                    return null;
+                }, MoreExecutors.directExecutor()));
+            }
+        }
+        return Futures.whenAllComplete(futures).callAsync(() -> failures.isEmpty() ? Futures.immediateVoidFuture() :
+            Futures.immediateFailedFuture(new BatchAckException(impls.size(), failures)), clientCallbackExecutor);
+    }
+
     /**
      * @see SimpleConsumer#changeInvisibleDuration(MessageView, Duration)
      */
@@ -20,10 +20,12 @@ package org.apache.rocketmq.client.java.impl.producer;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.zip.Deflater;
 import org.apache.rocketmq.client.apis.ClientConfiguration;
 import org.apache.rocketmq.client.apis.producer.Producer;
 import org.apache.rocketmq.client.apis.producer.ProducerBuilder;
@@ -38,6 +40,10 @@ public class ProducerBuilderImpl implements ProducerBuilder {
     private final Set<String> topics = new HashSet<>();
     private int maxAttempts = 3;
     private TransactionChecker checker = null;
+    private int maxBatchSize = 1;
+    private Duration batchLinger = Duration.ZERO;
+    private int compressionThresholdBytes = Integer.MAX_VALUE;
+    private int compressionLevel = Deflater.DEFAULT_COMPRESSION;
 
     public ProducerBuilderImpl() {
     }
@@ -83,13 +89,40 @@ public class ProducerBuilderImpl implements ProducerBuilder {
         return this;
     }
 
+    /**
+     * @see ProducerBuilder#setBatchingPolicy(int, Duration)
+     */
+    @Override
+    public ProducerBuilder setBatchingPolicy(int maxBatchSize, Duration linger) {
+        checkArgument(maxBatchSize > 0, "maxBatchSize should be positive");
+        checkNotNull(linger, "linger should not be null");
+        checkArgument(!linger.isNegative(), "linger should not be negative");
+        this.maxBatchSize = maxBatchSize;
+        this.batchLinger = linger;
+        return this;
+    }
+
+    /**
+     * @see ProducerBuilder#setCompressionPolicy(int, int)
+     */
+    @Override
+    public ProducerBuilder setCompressionPolicy(int thresholdBytes, int level) {
+        checkArgument(thresholdBytes >= 0, "thresholdBytes should not be negative");
+        checkArgument(level >= Deflater.BEST_SPEED && level <= Deflater.BEST_COMPRESSION,
+            "level should be in the range of [1, 9]");
+        this.compressionThresholdBytes = thresholdBytes;
+        this.compressionLevel = level;
+        return this;
+    }
+
     /**
      * @see ProducerBuilder#build()
      */
     @Override
     public Producer build() {
         checkNotNull(clientConfiguration, "clientConfiguration has not been set yet");
-        final ProducerImpl producer = new ProducerImpl(clientConfiguration, topics, maxAttempts, checker);
+        final ProducerImpl producer = new ProducerImpl(clientConfiguration, topics, maxAttempts, checker,
+            maxBatchSize, batchLinger, compressionThresholdBytes, compressionLevel);
         producer.startAsync().awaitRunning();
         return producer;
     }
@@ -36,6 +36,7 @@ import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.ListeningExecutorService;
 import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.SettableFuture;
+import io.opentelemetry.api.common.Attributes;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -49,11 +50,13 @@ import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.zip.Deflater;
 import net.javacrumbs.futureconverter.java8guava.FutureConverter;
 import org.apache.rocketmq.client.apis.ClientConfiguration;
 import org.apache.rocketmq.client.apis.ClientException;
 import org.apache.rocketmq.client.apis.message.Message;
 import org.apache.rocketmq.client.apis.message.MessageId;
+import org.apache.rocketmq.client.apis.producer.BatchSendException;
 import org.apache.rocketmq.client.apis.producer.Producer;
 import org.apache.rocketmq.client.apis.producer.SendReceipt;
 import org.apache.rocketmq.client.apis.producer.Transaction;
@@ -71,6 +74,8 @@ import org.apache.rocketmq.client.java.message.GeneralMessageImpl;
 import org.apache.rocketmq.client.java.message.MessageType;
 import org.apache.rocketmq.client.java.message.MessageViewImpl;
 import org.apache.rocketmq.client.java.message.PublishingMessageImpl;
+import org.apache.rocketmq.client.java.metrics.HistogramEnum;
+import org.apache.rocketmq.client.java.metrics.MetricLabels;
 import org.apache.rocketmq.client.java.retry.ExponentialBackoffRetryPolicy;
 import org.apache.rocketmq.client.java.retry.RetryPolicy;
 import org.apache.rocketmq.client.java.route.Endpoints;
@@ -92,19 +97,32 @@ class ProducerImpl extends ClientImpl implements Producer {
     protected final PublishingSettings publishingSettings;
     final ConcurrentMap<String/* topic */, PublishingLoadBalancer> publishingRouteDataCache;
     private final TransactionChecker checker;
+    /**
+     * Accumulator for {@link #sendAsync(Message)}, which is null if batching is disabled.
+     */
+    private final SendBatchAccumulator sendBatchAccumulator;
+
+    ProducerImpl(ClientConfiguration clientConfiguration, Set<String> topics, int maxAttempts,
+        TransactionChecker checker) {
+        this(clientConfiguration, topics, maxAttempts, checker, 1, Duration.ZERO, Integer.MAX_VALUE,
+            Deflater.DEFAULT_COMPRESSION);
+    }
 
     /**
      * The caller is supposed to have validated the arguments and handled throwing exception or
      * logging warnings already, so we avoid repeating args check here.
      */
     ProducerImpl(ClientConfiguration clientConfiguration, Set<String> topics, int maxAttempts,
-        TransactionChecker checker) {
+        TransactionChecker checker, int maxBatchSize, Duration batchLinger, int compressionThresholdBytes,
+        int compressionLevel) {
         super(clientConfiguration, topics);
         ExponentialBackoffRetryPolicy retryPolicy = ExponentialBackoffRetryPolicy.immediatelyRetryPolicy(maxAttempts);
         this.publishingSettings = new PublishingSettings(clientId, endpoints, retryPolicy,
-            clientConfiguration.getRequestTimeout(), topics);
+            clientConfiguration.getRequestTimeout(), topics, compressionThresholdBytes, compressionLevel);
         this.checker = checker;
         this.publishingRouteDataCache = new ConcurrentHashMap<>();
+        this.sendBatchAccumulator = maxBatchSize > 1 ? new SendBatchAccumulator(this, publishingSettings,
+            maxBatchSize, batchLinger) : null;
     }
 
     @Override
@@ -123,6 +141,10 @@ class ProducerImpl extends ClientImpl implements Producer {
     @Override
     protected void shutDown() throws InterruptedException {
         log.info("Begin to shutdown the rocketmq producer, clientId={}", clientId);
+        if (null != sendBatchAccumulator) {
+            // Flush the pending batches before the client manager is shutdown.
+            sendBatchAccumulator.close();
+        }
         super.shutDown();
         log.info("Shutdown the rocketmq producer successfully, clientId={}", clientId);
     }
@@ -231,11 +253,43 @@ class ProducerImpl extends ClientImpl implements Producer {
      */
     @Override
     public CompletableFuture<SendReceipt> sendAsync(Message message) {
+        if (null != sendBatchAccumulator && this.isRunning()) {
+            final PublishingMessageImpl pubMessage;
+            try {
+                pubMessage = new PublishingMessageImpl(message, publishingSettings, false);
+            } catch (Throwable t) {
+                log.error("Failed to refine message to send, clientId={}, message={}", clientId, message, t);
+                final CompletableFuture<SendReceipt> future = new CompletableFuture<>();
+                future.completeExceptionally(t);
+                return future;
+            }
+            return FutureConverter.toCompletableFuture(sendBatchAccumulator.append(pubMessage));
+        }
         final ListenableFuture<SendReceipt> future = Futures.transform(send(Collections.singletonList(message), false),
             sendReceipts -> sendReceipts.iterator().next(), MoreExecutors.directExecutor());
         return FutureConverter.toCompletableFuture(future);
     }
 
+    /**
+     * @see Producer#send(List)
+     */
+    @Override
+    public List<SendReceipt> send(List<Message> messages) throws ClientException {
+        final ListenableFuture<List<SendReceipt>> future = Futures.transform(send(messages, false),
+            sendReceipts -> new ArrayList<SendReceipt>(sendReceipts), MoreExecutors.directExecutor());
+        return handleClientFuture(future);
+    }
+
+    /**
+     * @see Producer#sendAsync(List)
+     */
+    @Override
+    public CompletableFuture<List<SendReceipt>> sendAsync(List<Message> messages) {
+        final ListenableFuture<List<SendReceipt>> future = Futures.transform(send(messages, false),
+            sendReceipts -> new ArrayList<SendReceipt>(sendReceipts), MoreExecutors.directExecutor());
+        return FutureConverter.toCompletableFuture(future);
+    }
+
     /**
      * @see Producer#beginTransaction()
      */
@@ -335,6 +389,12 @@ class ProducerImpl extends ClientImpl implements Producer {
             return future;
         }
 
+        if (messages.isEmpty()) {
+            final IllegalArgumentException e = new IllegalArgumentException("Messages to send should not be empty");
+            future.setException(e);
+            return future;
+        }
+
         List<PublishingMessageImpl> pubMessages = new ArrayList<>();
         for (Message message : messages) {
             try {
@@ -348,7 +408,15 @@ class ProducerImpl extends ClientImpl implements Producer {
                 return future;
             }
         }
+        return sendPublishingMessages(pubMessages);
+    }
 
+    /**
+     * Send the refined messages, the producer state is not checked here so that the pending messages of
+     * {@link SendBatchAccumulator} could be flushed during shutdown.
+     */
+    ListenableFuture<List<SendReceiptImpl>> sendPublishingMessages(List<PublishingMessageImpl> pubMessages) {
+        SettableFuture<List<SendReceiptImpl>> future = SettableFuture.create();
         // Collect topics to send message.
         final Set<String> topics = pubMessages.stream().map(Message::getTopic).collect(Collectors.toSet());
         if (1 < topics.size()) {
@@ -397,6 +465,7 @@ class ProducerImpl extends ClientImpl implements Producer {
             messageGroup = null;
         }
 
+        recordCompression(topic, pubMessages);
         this.topics.add(topic);
         // Get publishing topic route.
         final ListenableFuture<PublishingLoadBalancer> routeFuture = getPublishingLoadBalancer(topic);
@@ -410,6 +479,24 @@ class ProducerImpl extends ClientImpl implements Producer {
         }, MoreExecutors.directExecutor());
     }
 
+    private void recordCompression(String topic, List<PublishingMessageImpl> pubMessages) {
+        Attributes attributes = null;
+        for (PublishingMessageImpl pubMessage : pubMessages) {
+            final Optional<Duration> compressionCostTime = pubMessage.getCompressionCostTime();
+            if (!compressionCostTime.isPresent()) {
+                continue;
+            }
+            if (null == attributes) {
+                attributes = Attributes.builder().put(MetricLabels.TOPIC, topic)
+                    .put(MetricLabels.CLIENT_ID, clientId.toString()).build();
+            }
+            clientMeterManager.record(HistogramEnum.COMPRESSION_COST_TIME, attributes,
+                compressionCostTime.get().toNanos() / 1e6);
+            final double ratio = (double) pubMessage.getEncodedBodySize() / pubMessage.getBody().remaining();
+            clientMeterManager.record(HistogramEnum.COMPRESSION_RATIO, attributes, ratio);
+        }
+    }
+
     /**
      * The caller is supposed to make sure different messages have the same message type and same topic.
      */
@@ -504,6 +591,13 @@ class ProducerImpl extends ClientImpl implements Producer {
                 for (PublishingMessageImpl message : messages) {
                     messageIds.add(message.getMessageId());
                 }
+                // No need more attempts because a part of messages have been sent successfully.
+                if (t instanceof BatchSendException) {
+                    future0.setException(t);
+                    log.error("Failed to send a part of messages, attempt={}, topic={}, messageId(s)={}, "
+                        + "endpoints={}, clientId={}", attempt, topic, messageIds, endpoints, clientId, t);
+                    return;
+                }
                 // Isolate endpoints because of sending failure.
                 isolate(endpoints);
                 if (attempt >= maxAttempts) {
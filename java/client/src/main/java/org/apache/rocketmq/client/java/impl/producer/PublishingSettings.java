@@ -24,6 +24,7 @@ import com.google.protobuf.util.Durations;
 import java.time.Duration;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.zip.Deflater;
 import org.apache.rocketmq.client.java.impl.ClientType;
 import org.apache.rocketmq.client.java.impl.Settings;
 import org.apache.rocketmq.client.java.impl.UserAgent;
@@ -44,17 +45,39 @@ public class PublishingSettings extends Settings {
      */
     private volatile int maxBodySizeBytes = 4 * 1024 * 1024;
     private volatile boolean validateMessageType = true;
+    /**
+     * Message body whose size exceeds the threshold would be compressed before sending.
+     */
+    private final int compressionThresholdBytes;
+    private final int compressionLevel;
 
     public PublishingSettings(ClientId clientId, Endpoints accessPoint, ExponentialBackoffRetryPolicy retryPolicy,
         Duration requestTimeout, Set<String> topics) {
+        // Compression is disabled by default.
+        this(clientId, accessPoint, retryPolicy, requestTimeout, topics, Integer.MAX_VALUE,
+            Deflater.DEFAULT_COMPRESSION);
+    }
+
+    public PublishingSettings(ClientId clientId, Endpoints accessPoint, ExponentialBackoffRetryPolicy retryPolicy,
+        Duration requestTimeout, Set<String> topics, int compressionThresholdBytes, int compressionLevel) {
         super(clientId, ClientType.PRODUCER, accessPoint, retryPolicy, requestTimeout);
         this.topics = topics;
+        this.compressionThresholdBytes = compressionThresholdBytes;
+        this.compressionLevel = compressionLevel;
     }
 
     public int getMaxBodySizeBytes() {
         return maxBodySizeBytes;
     }
 
+    public int getCompressionThresholdBytes() {
+        return compressionThresholdBytes;
+    }
+
+    public int getCompressionLevel() {
+        return compressionLevel;
+    }
+
     public boolean isValidateMessageType() {
         return validateMessageType;
     }
@@ -97,6 +120,8 @@ public class PublishingSettings extends Settings {
             .add("requestTimeout", requestTimeout)
             .add("topics", topics)
             .add("maxBodySizeBytes", maxBodySizeBytes)
+            .add("compressionThresholdBytes", compressionThresholdBytes)
+            .add("compressionLevel", compressionLevel)
             .toString();
     }
 }
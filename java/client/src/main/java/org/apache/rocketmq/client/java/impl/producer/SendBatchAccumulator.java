@@ -0,0 +1,255 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.impl.producer;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Objects;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.apache.rocketmq.client.apis.ClientException;
+import org.apache.rocketmq.client.apis.producer.BatchSendException;
+import org.apache.rocketmq.client.apis.producer.SendReceipt;
+import org.apache.rocketmq.client.java.exception.InternalErrorException;
+import org.apache.rocketmq.client.java.message.MessageType;
+import org.apache.rocketmq.client.java.message.PublishingMessageImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Accumulator which coalesces messages of {@link ProducerImpl#sendAsync} into batches.
+ *
+ * <p>Messages are grouped by topic, message type and message group, each group is published as one request once
+ * it reaches the max batch size or the max batch bytes, or the linger time elapses since its first message was
+ * appended. The send receipts are fanned out to the future of each message in order.
+ *
+ * <p>Once the accumulator is closed, the pending batches are flushed and the later appends are rejected, so that
+ * no message is left behind in the batch which would never be flushed.
+ */
+@SuppressWarnings({"UnstableApiUsage", "NullableProblems"})
+class SendBatchAccumulator {
+    private static final Logger log = LoggerFactory.getLogger(SendBatchAccumulator.class);
+
+    private final ProducerImpl producer;
+    private final PublishingSettings publishingSettings;
+    private final int maxBatchSize;
+    private final Duration linger;
+    private final ConcurrentMap<BatchKey, Batch> batches;
+    private volatile boolean closed;
+
+    SendBatchAccumulator(ProducerImpl producer, PublishingSettings publishingSettings, int maxBatchSize,
+        Duration linger) {
+        this.producer = producer;
+        this.publishingSettings = publishingSettings;
+        this.maxBatchSize = maxBatchSize;
+        this.linger = linger;
+        this.batches = new ConcurrentHashMap<>();
+        this.closed = false;
+    }
+
+    /**
+     * Append the message into the batch it belongs to.
+     *
+     * @param message message to publish.
+     * @return future of the send receipt of the message.
+     */
+    ListenableFuture<SendReceipt> append(PublishingMessageImpl message) {
+        final SettableFuture<SendReceipt> future = SettableFuture.create();
+        final BatchKey key = new BatchKey(message);
+        if (closed) {
+            log.error("Unable to append message into batch because accumulator is closed, topic={}, messageId={}, "
+                + "clientId={}", key.topic, message.getMessageId(), producer.getClientId());
+            future.setException(new IllegalStateException("Producer is not running now"));
+            return future;
+        }
+        final int bodySize = message.getEncodedBodySize();
+        // The batch is bounded by the max body size of the server as a whole.
+        final int maxBatchBytes = publishingSettings.getMaxBodySizeBytes();
+        final List<Batch> readyBatches = new ArrayList<>();
+        try {
+            batches.compute(key, (k, batch) -> {
+                if (null != batch && batch.bytes + bodySize > maxBatchBytes) {
+                    readyBatches.add(batch);
+                    batch = null;
+                }
+                if (null == batch) {
+                    final Batch created = new Batch();
+                    created.lingerFuture = producer.getScheduler().schedule(() -> onLingerExpired(k, created),
+                        linger.toNanos(), TimeUnit.NANOSECONDS);
+                    batch = created;
+                }
+                batch.add(message, future, bodySize);
+                if (batch.messages.size() >= maxBatchSize) {
+                    readyBatches.add(batch);
+                    return null;
+                }
+                return batch;
+            });
+        } catch (Throwable t) {
+            // The mapping is left unchanged, so no batch is ready actually.
+            log.error("Failed to append message into batch, topic={}, messageId={}, clientId={}", key.topic,
+                message.getMessageId(), producer.getClientId(), t);
+            future.setException(t);
+            return future;
+        }
+        for (Batch batch : readyBatches) {
+            flush(batch);
+        }
+        // The accumulator may be closed concurrently after the check above, which may miss the batch just appended.
+        if (closed) {
+            final Batch batch = batches.remove(key);
+            if (null != batch) {
+                flush(batch);
+            }
+        }
+        return future;
+    }
+
+    /**
+     * Reject the later appends and flush all pending batches immediately, used while the producer is shutting down.
+     */
+    void close() {
+        closed = true;
+        for (BatchKey key : batches.keySet()) {
+            final Batch batch = batches.remove(key);
+            if (null != batch) {
+                flush(batch);
+            }
+        }
+    }
+
+    private void onLingerExpired(BatchKey key, Batch batch) {
+        // The batch may have been flushed because it is full.
+        if (batches.remove(key, batch)) {
+            flush(batch);
+        }
+    }
+
+    private void flush(Batch batch) {
+        final ScheduledFuture<?> lingerFuture = batch.lingerFuture;
+        if (null != lingerFuture) {
+            lingerFuture.cancel(false);
+        }
+        final List<PublishingMessageImpl> messages = batch.messages;
+        final List<SettableFuture<SendReceipt>> futures = batch.futures;
+        ListenableFuture<List<SendReceiptImpl>> future;
+        try {
+            future = producer.sendPublishingMessages(messages);
+        } catch (Throwable t) {
+            future = Futures.immediateFailedFuture(t);
+        }
+        Futures.addCallback(future, new FutureCallback<List<SendReceiptImpl>>() {
+            @Override
+            public void onSuccess(List<SendReceiptImpl> sendReceipts) {
+                if (sendReceipts.size() != futures.size()) {
+                    // Should never reach here.
+                    onFailure(new InternalErrorException("[Bug] received send receipt's quantity "
+                        + sendReceipts.size() + " is not equal to sent message's quantity " + futures.size()));
+                    return;
+                }
+                for (int i = 0; i < futures.size(); i++) {
+                    futures.get(i).set(sendReceipts.get(i));
+                }
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                if (t instanceof BatchSendException) {
+                    // Report the result of each message.
+                    final BatchSendException e = (BatchSendException) t;
+                    final List<SendReceipt> sendReceipts = e.getSendReceipts();
+                    final Map<Integer, ClientException> failures = e.getFailures();
+                    for (int i = 0; i < futures.size(); i++) {
+                        final ClientException cause = failures.get(i);
+                        if (null != cause) {
+                            futures.get(i).setException(cause);
+                            continue;
+                        }
+                        futures.get(i).set(sendReceipts.get(i));
+                    }
+                    return;
+                }
+                for (SettableFuture<SendReceipt> f : futures) {
+                    f.setException(t);
+                }
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    private static class Batch {
+        private final List<PublishingMessageImpl> messages = new ArrayList<>();
+        private final List<SettableFuture<SendReceipt>> futures = new ArrayList<>();
+        private long bytes = 0;
+        private volatile ScheduledFuture<?> lingerFuture = null;
+
+        private void add(PublishingMessageImpl message, SettableFuture<SendReceipt> future, int bodySize) {
+            messages.add(message);
+            futures.add(future);
+            bytes += bodySize;
+        }
+    }
+
+    private static class BatchKey {
+        private final String topic;
+        private final MessageType messageType;
+        private final String messageGroup;
+
+        private BatchKey(PublishingMessageImpl message) {
+            this.topic = message.getTopic();
+            this.messageType = message.getMessageType();
+            this.messageGroup = message.getMessageGroup().orElse(null);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            BatchKey batchKey = (BatchKey) o;
+            return Objects.equal(topic, batchKey.topic) && messageType == batchKey.messageType &&
+                Objects.equal(messageGroup, batchKey.messageGroup);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(topic, messageType, messageGroup);
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this)
+                .add("topic", topic)
+                .add("messageType", messageType)
+                .add("messageGroup", messageGroup)
+                .toString();
+        }
+    }
+}
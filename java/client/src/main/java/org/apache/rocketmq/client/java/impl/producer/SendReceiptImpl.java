@@ -25,10 +25,13 @@ import apache.rocketmq.v2.Status;
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Predicate;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.apache.rocketmq.client.apis.ClientException;
 import org.apache.rocketmq.client.apis.message.MessageId;
+import org.apache.rocketmq.client.apis.producer.BatchSendException;
 import org.apache.rocketmq.client.apis.producer.SendReceipt;
 import org.apache.rocketmq.client.java.exception.StatusChecker;
 import org.apache.rocketmq.client.java.message.MessageIdCodec;
@@ -80,19 +83,47 @@ public class SendReceiptImpl implements SendReceipt {
         final Optional<Status> abnormalStatus = entries.stream()
             .map(SendResultEntry::getStatus).filter((Predicate<Status>) s -> !s.getCode().equals(Code.OK)).findFirst();
         if (abnormalStatus.isPresent()) {
+            final boolean partiallySent = entries.stream().map(SendResultEntry::getStatus)
+                .anyMatch(s -> Code.OK.equals(s.getCode()));
+            if (partiallySent) {
+                throw partialFailure(mq, entries, future);
+            }
             status = abnormalStatus.get();
         }
         StatusChecker.check(status, future);
         for (SendResultEntry entry : entries) {
-            final MessageId messageId = MessageIdCodec.getInstance().decode(entry.getMessageId());
-            final String transactionId = entry.getTransactionId();
-            final long offset = entry.getOffset();
-            final SendReceiptImpl impl = new SendReceiptImpl(messageId, transactionId, mq, offset);
-            sendReceipts.add(impl);
+            sendReceipts.add(fromEntry(mq, entry));
         }
         return sendReceipts;
     }
 
+    /**
+     * Report the result of each entry if a part of messages are sent successfully.
+     */
+    private static BatchSendException partialFailure(MessageQueueImpl mq, List<SendResultEntry> entries,
+        RpcFuture<SendMessageRequest, SendMessageResponse> future) {
+        List<SendReceipt> sendReceipts = new ArrayList<>(entries.size());
+        Map<Integer, ClientException> failures = new HashMap<>();
+        for (int i = 0; i < entries.size(); i++) {
+            final SendResultEntry entry = entries.get(i);
+            try {
+                StatusChecker.check(entry.getStatus(), future);
+                sendReceipts.add(fromEntry(mq, entry));
+            } catch (ClientException e) {
+                sendReceipts.add(null);
+                failures.put(i, e);
+            }
+        }
+        return new BatchSendException(sendReceipts, failures);
+    }
+
+    private static SendReceiptImpl fromEntry(MessageQueueImpl mq, SendResultEntry entry) {
+        final MessageId messageId = MessageIdCodec.getInstance().decode(entry.getMessageId());
+        final String transactionId = entry.getTransactionId();
+        final long offset = entry.getOffset();
+        return new SendReceiptImpl(messageId, transactionId, mq, offset);
+    }
+
     @Override
     public String toString() {
         return MoreObjects.toStringHelper(this)
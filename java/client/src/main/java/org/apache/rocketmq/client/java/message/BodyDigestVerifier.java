@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.message;
+
+import com.google.protobuf.ByteOutput;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.zip.CRC32;
+import org.apache.rocketmq.client.java.misc.Utilities;
+
+/**
+ * Verifier of message body digest.
+ *
+ * <p>The digest is computed over the backing arrays or buffers of the body directly, so the body is never copied
+ * and {@link CRC32} could benefit from the intrinsics of JVM. The expected checksum is decoded once and compared
+ * with the raw digest, rather than formatting the digest into hex string. Decoding is strict, only the upper case
+ * hex string formatted by {@link Utilities#crc32CheckSum(byte[])} and its siblings is accepted.
+ */
+class BodyDigestVerifier {
+    private static final ThreadLocal<MessageDigest> MD5_DIGEST = new ThreadLocal<>();
+    private static final ThreadLocal<MessageDigest> SHA1_DIGEST = new ThreadLocal<>();
+
+    private BodyDigestVerifier() {
+    }
+
+    static boolean verifyCrc32(ByteString body, String expectedChecksum) {
+        final long expected = decodeCrc32(expectedChecksum);
+        if (expected < 0) {
+            return false;
+        }
+        final CRC32 crc32 = new CRC32();
+        update(body, new DigestOutput() {
+            @Override
+            void update(byte[] value, int offset, int length) {
+                crc32.update(value, offset, length);
+            }
+
+            @Override
+            void update(ByteBuffer value) {
+                crc32.update(value);
+            }
+        });
+        return expected == crc32.getValue();
+    }
+
+    static boolean verifyMd5(ByteString body, String expectedChecksum) throws NoSuchAlgorithmException {
+        return verify(body, expectedChecksum, getDigest(MD5_DIGEST, "MD5"));
+    }
+
+    static boolean verifySha1(ByteString body, String expectedChecksum) throws NoSuchAlgorithmException {
+        return verify(body, expectedChecksum, getDigest(SHA1_DIGEST, "SHA-1"));
+    }
+
+    private static MessageDigest getDigest(ThreadLocal<MessageDigest> threadLocal, String algorithm)
+        throws NoSuchAlgorithmException {
+        MessageDigest digest = threadLocal.get();
+        if (null == digest) {
+            digest = MessageDigest.getInstance(algorithm);
+            threadLocal.set(digest);
+        }
+        digest.reset();
+        return digest;
+    }
+
+    private static boolean verify(ByteString body, String expectedChecksum, MessageDigest digest) {
+        final byte[] expected = decodeDigest(expectedChecksum, digest.getDigestLength());
+        if (0 == expected.length) {
+            return false;
+        }
+        update(body, new DigestOutput() {
+            @Override
+            void update(byte[] value, int offset, int length) {
+                digest.update(value, offset, length);
+            }
+
+            @Override
+            void update(ByteBuffer value) {
+                digest.update(value);
+            }
+        });
+        return MessageDigest.isEqual(expected, digest.digest());
+    }
+
+    /**
+     * Decode the CRC32 checksum formatted by {@link Long#toHexString(long)} in upper case, which has no leading zero.
+     *
+     * @return the decoded checksum, or -1 if the checksum is malformed.
+     */
+    private static long decodeCrc32(String checksum) {
+        final int length = checksum.length();
+        if (length < 1 || length > 8 || (length > 1 && checksum.charAt(0) == '0')) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = 0; i < length; i++) {
+            final int digit = upperCaseHexDigit(checksum.charAt(i));
+            if (digit < 0) {
+                return -1;
+            }
+            value = (value << 4) | digit;
+        }
+        return value;
+    }
+
+    /**
+     * Decode the digest formatted as upper case hex string of the given length in bytes.
+     *
+     * @return the decoded digest, or an empty array if the checksum is malformed.
+     */
+    private static byte[] decodeDigest(String checksum, int digestLength) {
+        if (checksum.length() != digestLength << 1) {
+            return new byte[0];
+        }
+        final byte[] digest = new byte[digestLength];
+        for (int i = 0, j = 0; i < digestLength; i++) {
+            final int high = upperCaseHexDigit(checksum.charAt(j++));
+            final int low = upperCaseHexDigit(checksum.charAt(j++));
+            if (high < 0 || low < 0) {
+                return new byte[0];
+            }
+            digest[i] = (byte) ((high << 4) | low);
+        }
+        return digest;
+    }
+
+    private static int upperCaseHexDigit(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+        return -1;
+    }
+
+    private static void update(ByteString body, ByteOutput output) {
+        try {
+            UnsafeByteOperations.unsafeWriteTo(body, output);
+        } catch (IOException e) {
+            // Should never reach here.
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Output which feeds the body into the digest without copy.
+     */
+    private abstract static class DigestOutput extends ByteOutput {
+        abstract void update(byte[] value, int offset, int length);
+
+        abstract void update(ByteBuffer value);
+
+        @Override
+        public void write(byte value) {
+            update(new byte[] {value}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] value, int offset, int length) {
+            update(value, offset, length);
+        }
+
+        @Override
+        public void writeLazy(byte[] value, int offset, int length) {
+            update(value, offset, length);
+        }
+
+        @Override
+        public void write(ByteBuffer value) {
+            update(value);
+        }
+
+        @Override
+        public void writeLazy(ByteBuffer value) {
+            update(value);
+        }
+    }
+}
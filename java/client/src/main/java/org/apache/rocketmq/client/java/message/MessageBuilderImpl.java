@@ -20,6 +20,9 @@ package org.apache.rocketmq.client.java.message;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -35,7 +38,7 @@ public class MessageBuilderImpl implements MessageBuilder {
     public static final Pattern TOPIC_PATTERN = Pattern.compile("^[%a-zA-Z0-9_-]+$");
 
     private String topic = null;
-    private byte[] body = null;
+    private ByteString body = null;
     private String tag = null;
     private String messageGroup = null;
     private Long deliveryTimestamp = null;
@@ -63,7 +66,38 @@ public class MessageBuilderImpl implements MessageBuilder {
     @Override
     public MessageBuilder setBody(byte[] body) {
         checkNotNull(body, "body should not be null");
-        this.body = body.clone();
+        this.body = ByteString.copyFrom(body);
+        return this;
+    }
+
+    /**
+     * See {@link MessageBuilder#wrapBody(byte[])}
+     */
+    @Override
+    public MessageBuilder wrapBody(byte[] body) {
+        checkNotNull(body, "body should not be null");
+        this.body = UnsafeByteOperations.unsafeWrap(body);
+        return this;
+    }
+
+    /**
+     * See {@link MessageBuilder#wrapBody(ByteBuffer)}
+     */
+    @Override
+    public MessageBuilder wrapBody(ByteBuffer body) {
+        checkNotNull(body, "body should not be null");
+        this.body = UnsafeByteOperations.unsafeWrap(body.slice());
+        return this;
+    }
+
+    /**
+     * Set the body for the message by {@link ByteString}, which is immutable, so no copy is needed.
+     *
+     * @param body the body for the message.
+     * @return the message builder instance.
+     */
+    public MessageBuilder setBody(ByteString body) {
+        this.body = checkNotNull(body, "body should not be null");
         return this;
     }
 
@@ -17,8 +17,6 @@
 
 package org.apache.rocketmq.client.java.message;
 
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
 import java.util.Calendar;
 import java.util.TimeZone;
 import java.util.concurrent.TimeUnit;
@@ -66,35 +64,44 @@ public class MessageIdCodec {
     public static final String MESSAGE_ID_VERSION_V0 = "00";
     public static final String MESSAGE_ID_VERSION_V1 = "01";
 
+    private static final char[] DIGITS_UPPER = "0123456789ABCDEF".toCharArray();
+    /**
+     * Length of version, process fixed part and seconds in hex, which is shared by all message ids within a second.
+     */
+    private static final int PREFIX_LENGTH_V1 = MESSAGE_ID_LENGTH_FOR_V1_OR_LATER - 8;
+
+    /**
+     * Buffer to assemble the characters of message id, which is copied by {@link String#String(char[])} afterwards.
+     */
+    private static final ThreadLocal<char[]> BUFFER =
+        ThreadLocal.withInitial(() -> new char[MESSAGE_ID_LENGTH_FOR_V1_OR_LATER]);
+
     private static final MessageIdCodec INSTANCE = new MessageIdCodec();
 
-    private final String processFixedStringV1;
+    /**
+     * Lower 6 bytes of mac address followed by lower 2 bytes of process id.
+     */
+    private final long processFixedV1;
     private final long secondsSinceCustomEpoch;
     private final long secondsStartTimestamp;
-    private long seconds;
+    /**
+     * Cached prefix of current second, which is immutable and replaced once the second elapses.
+     */
+    private volatile SecondsPrefix secondsPrefix;
     private final AtomicInteger sequence;
 
     private MessageIdCodec() {
-        ByteBuffer buffer = ByteBuffer.allocate(8);
-        buffer.order(ByteOrder.BIG_ENDIAN);
-
-        byte[] prefix0 = Utilities.macAddress();
-        buffer.put(prefix0, 0, 6);
-
-        ByteBuffer pidBuffer = ByteBuffer.allocate(4);
-        pidBuffer.order(ByteOrder.BIG_ENDIAN);
-        final int pid = Utilities.processId();
-        pidBuffer.putInt(pid);
-
+        final byte[] macAddress = Utilities.macAddress();
+        long processFixed = 0;
+        for (int i = 0; i < 6; i++) {
+            processFixed = (processFixed << 8) | (macAddress[i] & 0xFF);
+        }
         // Copy the lower 2 bytes
-        buffer.put(pidBuffer.array(), 2, 2);
-
-        buffer.flip();
-        processFixedStringV1 = Utilities.encodeHexString(buffer, false);
+        processFixedV1 = (processFixed << 16) | (Utilities.processId() & 0xFFFF);
 
         secondsSinceCustomEpoch = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis() - customEpochMillis());
         secondsStartTimestamp = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime());
-        seconds = deltaSeconds();
+        secondsPrefix = new SecondsPrefix(processFixedV1, deltaSeconds());
 
         sequence = new AtomicInteger(0);
     }
@@ -121,23 +128,33 @@ public class MessageIdCodec {
         return TimeUnit.NANOSECONDS.toSeconds(System.nanoTime()) - secondsStartTimestamp + secondsSinceCustomEpoch;
     }
 
+    /**
+     * Generate the next message id of V1.
+     *
+     * <p>It is thread-safe: the sequence is increased atomically, and the prefix of the current second is an
+     * immutable object, racing threads may replace it with the equivalent one at worst.
+     */
     public MessageId nextMessageId() {
-        ByteBuffer buffer = ByteBuffer.allocate(8);
-        buffer.order(ByteOrder.BIG_ENDIAN);
-
-        final ByteBuffer deltaSecondsBuffer = ByteBuffer.allocate(8);
-        deltaSecondsBuffer.order(ByteOrder.BIG_ENDIAN);
         final long deltaSeconds = deltaSeconds();
-        if (seconds != deltaSeconds) {
-            seconds = deltaSeconds;
+        SecondsPrefix prefix = secondsPrefix;
+        if (prefix.seconds != deltaSeconds) {
+            prefix = new SecondsPrefix(processFixedV1, deltaSeconds);
+            secondsPrefix = prefix;
         }
-        deltaSecondsBuffer.putLong(seconds);
-        buffer.put(deltaSecondsBuffer.array(), 4, 4);
-        buffer.putInt(sequence.getAndIncrement());
+        final char[] chars = BUFFER.get();
+        System.arraycopy(prefix.chars, 0, chars, 0, PREFIX_LENGTH_V1);
+        putHex(chars, PREFIX_LENGTH_V1, sequence.getAndIncrement(), 8);
+        return new MessageIdImpl(MESSAGE_ID_VERSION_V1, chars);
+    }
 
-        buffer.flip();
-        final String suffix = processFixedStringV1 + Utilities.encodeHexString(buffer, false);
-        return new MessageIdImpl(MESSAGE_ID_VERSION_V1, suffix);
+    /**
+     * Write the lower {@code digits} hex digits of value into the destination in big endian.
+     */
+    private static void putHex(char[] dst, int offset, long value, int digits) {
+        for (int i = offset + digits - 1; i >= offset; i--) {
+            dst[i] = DIGITS_UPPER[(int) (value & 0x0F)];
+            value >>>= 4;
+        }
     }
 
     public MessageId decode(String messageId) {
@@ -146,4 +163,19 @@ public class MessageIdCodec {
         }
         return new MessageIdImpl(messageId.substring(0, 2), messageId.substring(2));
     }
+
+    private static class SecondsPrefix {
+        private final long seconds;
+        private final char[] chars;
+
+        private SecondsPrefix(long processFixed, long seconds) {
+            this.seconds = seconds;
+            this.chars = new char[PREFIX_LENGTH_V1];
+            this.chars[0] = MESSAGE_ID_VERSION_V1.charAt(0);
+            this.chars[1] = MESSAGE_ID_VERSION_V1.charAt(1);
+            putHex(chars, 2, processFixed, 16);
+            // Lower 4 bytes of seconds.
+            putHex(chars, 18, seconds, 8);
+        }
+    }
 }
@@ -22,11 +22,23 @@ import org.apache.rocketmq.client.apis.message.MessageId;
 
 public class MessageIdImpl implements MessageId {
     private final String version;
-    private final String suffix;
+    /**
+     * String form of message id, which is the suffix itself for V0, or the version followed by the suffix.
+     */
+    private final String messageId;
 
     public MessageIdImpl(String version, String suffix) {
         this.version = version;
-        this.suffix = suffix;
+        // Use suffix directly for V0
+        this.messageId = MessageIdCodec.MESSAGE_ID_VERSION_V0.equals(version) ? suffix : version + suffix;
+    }
+
+    /**
+     * Create the message id from the characters of its whole string form, which begins with the version.
+     */
+    MessageIdImpl(String version, char[] messageId) {
+        this.version = version;
+        this.messageId = new String(messageId);
     }
 
     /**
@@ -42,11 +54,7 @@ public class MessageIdImpl implements MessageId {
      */
     @Override
     public String toString() {
-        // Use suffix directly for V0
-        if (MessageIdCodec.MESSAGE_ID_VERSION_V0.equals(version)) {
-            return suffix;
-        }
-        return version + suffix;
+        return messageId;
     }
 
     @Override
@@ -57,12 +65,12 @@ public class MessageIdImpl implements MessageId {
         if (o == null || getClass() != o.getClass()) {
             return false;
         }
-        MessageIdImpl messageId = (MessageIdImpl) o;
-        return Objects.equal(version, messageId.version) && Objects.equal(suffix, messageId.suffix);
+        MessageIdImpl that = (MessageIdImpl) o;
+        return Objects.equal(version, that.version) && Objects.equal(messageId, that.messageId);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hashCode(version, suffix);
+        return Objects.hashCode(version, messageId);
     }
 }
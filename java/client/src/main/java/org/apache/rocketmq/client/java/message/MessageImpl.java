@@ -18,6 +18,7 @@
 package org.apache.rocketmq.client.java.message;
 
 import com.google.common.base.MoreObjects;
+import com.google.protobuf.ByteString;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -35,7 +36,10 @@ import org.apache.rocketmq.client.apis.message.Message;
 public class MessageImpl implements Message {
     protected final Collection<String> keys;
 
-    final byte[] body;
+    /**
+     * Message body, which may wrap the payload from the caller directly without copy.
+     */
+    final ByteString body;
     private final String topic;
 
     @Nullable
@@ -51,7 +55,7 @@ public class MessageImpl implements Message {
      * The caller is supposed to have validated the arguments and handled throwing exception or
      * logging warnings already, so we avoid repeating args check here.
      */
-    MessageImpl(String topic, byte[] body, @Nullable String tag, Collection<String> keys,
+    MessageImpl(String topic, ByteString body, @Nullable String tag, Collection<String> keys,
         @Nullable String messageGroup, @Nullable Long deliveryTimestamp,
         Map<String, String> properties) {
         this.topic = topic;
@@ -70,10 +74,7 @@ public class MessageImpl implements Message {
             this.body = impl.body;
         } else {
             // Should never reach here.
-            final ByteBuffer body = message.getBody();
-            byte[] bytes = new byte[body.remaining()];
-            body.get(bytes);
-            this.body = bytes;
+            this.body = ByteString.copyFrom(message.getBody());
         }
         this.tag = message.getTag().orElse(null);
         this.messageGroup = message.getMessageGroup().orElse(null);
@@ -95,7 +96,7 @@ public class MessageImpl implements Message {
      */
     @Override
     public ByteBuffer getBody() {
-        return ByteBuffer.wrap(body).asReadOnlyBuffer();
+        return body.asReadOnlyByteBuffer();
     }
 
     /**
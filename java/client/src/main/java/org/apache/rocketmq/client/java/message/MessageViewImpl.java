@@ -25,6 +25,7 @@ import apache.rocketmq.v2.Encoding;
 import apache.rocketmq.v2.Message;
 import apache.rocketmq.v2.SystemProperties;
 import com.google.common.base.MoreObjects;
+import com.google.protobuf.ByteString;
 import com.google.protobuf.ProtocolStringList;
 import com.google.protobuf.util.Timestamps;
 import java.io.IOException;
@@ -37,7 +38,8 @@ import java.util.Map;
 import java.util.Optional;
 import org.apache.rocketmq.client.apis.message.MessageId;
 import org.apache.rocketmq.client.apis.message.MessageView;
-import org.apache.rocketmq.client.java.misc.Utilities;
+import org.apache.rocketmq.client.java.message.protocol.BodyCodec;
+import org.apache.rocketmq.client.java.message.protocol.BodyCodecs;
 import org.apache.rocketmq.client.java.route.Endpoints;
 import org.apache.rocketmq.client.java.route.MessageQueueImpl;
 import org.slf4j.Logger;
@@ -46,7 +48,10 @@ import org.slf4j.LoggerFactory;
 public class MessageViewImpl implements MessageView {
     private static final Logger log = LoggerFactory.getLogger(MessageViewImpl.class);
 
-    final byte[] body;
+    /**
+     * Message body, which shares the payload of the received protobuf message if it is not encoded.
+     */
+    final ByteString body;
     private final MessageId messageId;
     private final String topic;
     private final String tag;
@@ -64,12 +69,24 @@ public class MessageViewImpl implements MessageView {
     private final boolean corrupted;
     private final long decodeTimestamp;
     private final Long transportDeliveryTimestamp;
+    private final long retainedSize;
 
-    public MessageViewImpl(MessageId messageId, String topic, byte[] body, String tag, String messageGroup,
+    public MessageViewImpl(MessageId messageId, String topic, ByteString body, String tag, String messageGroup,
         Long deliveryTimestamp, Collection<String> keys, Map<String, String> properties,
         String bornHost, long bornTimestamp, int deliveryAttempt, MessageQueueImpl messageQueue,
         String receiptHandle, long offset, boolean corrupted,
         Long transportDeliveryTimestamp) {
+        this(messageId, topic, body, tag, messageGroup, deliveryTimestamp, keys,
+            checkNotNull(properties, "properties should not be null"), bornHost, bornTimestamp, deliveryAttempt,
+            messageQueue, receiptHandle, offset, corrupted, transportDeliveryTimestamp,
+            checkNotNull(body, "body should not be null").size());
+    }
+
+    private MessageViewImpl(MessageId messageId, String topic, ByteString body, String tag, String messageGroup,
+        Long deliveryTimestamp, Collection<String> keys, Map<String, String> properties,
+        String bornHost, long bornTimestamp, int deliveryAttempt, MessageQueueImpl messageQueue,
+        String receiptHandle, long offset, boolean corrupted,
+        Long transportDeliveryTimestamp, long retainedSize) {
         this.messageId = checkNotNull(messageId, "messageId should not be null");
         this.topic = checkNotNull(topic, "topic should not be null");
         this.body = checkNotNull(body, "body should not be null");
@@ -77,7 +94,7 @@ public class MessageViewImpl implements MessageView {
         this.messageGroup = messageGroup;
         this.deliveryTimestamp = deliveryTimestamp;
         this.keys = checkNotNull(keys, "keys should not be null");
-        this.properties = checkNotNull(properties, "properties should not be null");
+        this.properties = properties;
         this.bornHost = checkNotNull(bornHost, "bornHost should not be null");
         this.bornTimestamp = bornTimestamp;
         this.deliveryAttempt = deliveryAttempt;
@@ -88,6 +105,7 @@ public class MessageViewImpl implements MessageView {
         this.corrupted = corrupted;
         this.decodeTimestamp = System.currentTimeMillis();
         this.transportDeliveryTimestamp = transportDeliveryTimestamp;
+        this.retainedSize = retainedSize;
     }
 
     /**
@@ -111,7 +129,7 @@ public class MessageViewImpl implements MessageView {
      */
     @Override
     public ByteBuffer getBody() {
-        return ByteBuffer.wrap(body).asReadOnlyBuffer();
+        return body.asReadOnlyByteBuffer();
     }
 
     /**
@@ -216,6 +234,16 @@ public class MessageViewImpl implements MessageView {
         return Optional.ofNullable(transportDeliveryTimestamp);
     }
 
+    /**
+     * Get the approximate size of memory retained by the message, which includes the decoded body and the rest of
+     * the received message, used to account the size of the cached messages.
+     *
+     * @return the retained size in bytes.
+     */
+    public long getRetainedSize() {
+        return retainedSize;
+    }
+
     public static MessageViewImpl fromProtobuf(Message message) {
         return MessageViewImpl.fromProtobuf(message, null);
     }
@@ -226,28 +254,40 @@ public class MessageViewImpl implements MessageView {
 
     public static MessageViewImpl fromProtobuf(Message message, MessageQueueImpl mq,
         Long transportDeliveryTimestamp) {
+        return MessageViewImpl.fromProtobuf(message, mq, transportDeliveryTimestamp, true);
+    }
+
+    /**
+     * Convert the received message in protocol buffer to {@link MessageViewImpl}.
+     *
+     * @param message                    received message in protocol buffer.
+     * @param mq                         message queue which the message is received from.
+     * @param transportDeliveryTimestamp timestamp when the message is delivered.
+     * @param verifyStrongDigest         whether to verify the MD5/SHA-1 digest of body, CRC32 digest is always
+     *                                   verified because it is cheap.
+     * @return the message view.
+     */
+    public static MessageViewImpl fromProtobuf(Message message, MessageQueueImpl mq,
+        Long transportDeliveryTimestamp, boolean verifyStrongDigest) {
         final SystemProperties systemProperties = message.getSystemProperties();
         final String topic = message.getTopic().getName();
         final MessageId messageId = MessageIdCodec.getInstance().decode(systemProperties.getMessageId());
         final Digest bodyDigest = systemProperties.getBodyDigest();
-        byte[] body = message.getBody().toByteArray();
+        // Share the payload of the protobuf message rather than copy it.
+        ByteString body = message.getBody();
         boolean corrupted = false;
         final String checksum = bodyDigest.getChecksum();
-        String expectedChecksum;
         final DigestType digestType = bodyDigest.getType();
         switch (digestType) {
             case CRC32:
-                expectedChecksum = Utilities.crc32CheckSum(body);
-                if (!expectedChecksum.equals(checksum)) {
-                    corrupted = true;
-                }
+                corrupted = !BodyDigestVerifier.verifyCrc32(body, checksum);
                 break;
             case MD5:
+                if (!verifyStrongDigest) {
+                    break;
+                }
                 try {
-                    expectedChecksum = Utilities.md5CheckSum(body);
-                    if (!expectedChecksum.equals(checksum)) {
-                        corrupted = true;
-                    }
+                    corrupted = !BodyDigestVerifier.verifyMd5(body, checksum);
                 } catch (NoSuchAlgorithmException e) {
                     corrupted = true;
                     log.error("MD5 is not supported unexpectedly, skip it, topic={}, messageId={}", topic,
@@ -255,11 +295,11 @@ public class MessageViewImpl implements MessageView {
                 }
                 break;
             case SHA1:
+                if (!verifyStrongDigest) {
+                    break;
+                }
                 try {
-                    expectedChecksum = Utilities.sha1CheckSum(body);
-                    if (!expectedChecksum.equals(checksum)) {
-                        corrupted = true;
-                    }
+                    corrupted = !BodyDigestVerifier.verifySha1(body, checksum);
                 } catch (NoSuchAlgorithmException e) {
                     corrupted = true;
                     log.error("SHA-1 is not supported unexpectedly, skip it, topic={}, messageId={}", topic,
@@ -274,7 +314,9 @@ public class MessageViewImpl implements MessageView {
         switch (bodyEncoding) {
             case GZIP:
                 try {
-                    body = Utilities.uncompressBytesGzip(body);
+                    final BodyCodec codec = BodyCodecs.fromProtobuf(bodyEncoding)
+                        .orElseThrow(() -> new IOException("Codec is not found"));
+                    body = codec.decode(body);
                 } catch (IOException e) {
                     log.error("Failed to uncompress message body, topic={}, messageId={}", topic, messageId);
                     corrupted = true;
@@ -296,10 +338,14 @@ public class MessageViewImpl implements MessageView {
         final long bornTimestamp = Timestamps.toMillis(systemProperties.getBornTimestamp());
         final int deliveryAttempt = systemProperties.getDeliveryAttempt();
         final long offset = systemProperties.getQueueOffset();
-        final Map<String, String> properties = message.getUserPropertiesMap();
+        // Copy the user properties rather than reference the message, so that the message could be collected.
+        final Map<String, String> properties = new HashMap<>(message.getUserPropertiesMap());
         final String receiptHandle = systemProperties.getReceiptHandle();
+        // Fields besides the body are copied from the received message, their size is close to the rest of it.
+        final long retainedSize = body.size() + message.getSerializedSize() - message.getBody().size();
         return new MessageViewImpl(messageId, topic, body, tag, messageGroup, deliveryTimestamp, keys, properties,
-            bornHost, bornTimestamp, deliveryAttempt, mq, receiptHandle, offset, corrupted, transportDeliveryTimestamp);
+            bornHost, bornTimestamp, deliveryAttempt, mq, receiptHandle, offset, corrupted, transportDeliveryTimestamp,
+            retainedSize);
     }
 
     @Override
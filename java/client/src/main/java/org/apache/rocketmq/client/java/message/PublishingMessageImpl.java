@@ -19,12 +19,17 @@ package org.apache.rocketmq.client.java.message;
 
 import apache.rocketmq.v2.Resource;
 import apache.rocketmq.v2.SystemProperties;
+import com.google.common.base.Stopwatch;
 import com.google.protobuf.ByteString;
 import com.google.protobuf.util.Timestamps;
 import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
 import org.apache.rocketmq.client.apis.message.Message;
 import org.apache.rocketmq.client.apis.message.MessageId;
 import org.apache.rocketmq.client.java.impl.producer.PublishingSettings;
+import org.apache.rocketmq.client.java.message.protocol.BodyCodec;
+import org.apache.rocketmq.client.java.message.protocol.BodyCodecs;
 import org.apache.rocketmq.client.java.message.protocol.Encoding;
 import org.apache.rocketmq.client.java.misc.Utilities;
 import org.apache.rocketmq.client.java.route.MessageQueueImpl;
@@ -36,15 +41,39 @@ import org.apache.rocketmq.client.java.route.MessageQueueImpl;
 public class PublishingMessageImpl extends MessageImpl {
     private final MessageId messageId;
     private final MessageType messageType;
+    private final Encoding bodyEncoding;
+    /**
+     * Message body to put on the wire, which is the same as {@link #body} if it is not compressed.
+     */
+    private final ByteString encodedBody;
+    /**
+     * Time spent on compression, which is null if compression is not attempted.
+     */
+    private final Duration compressionCostTime;
 
     public PublishingMessageImpl(Message message, PublishingSettings publishingSettings, boolean txEnabled)
         throws IOException {
         super(message);
-        final int length = message.getBody().remaining();
+        // The limit applies to the raw body, no matter whether it is compressed on the wire or not.
+        final int length = body.size();
         final int maxBodySizeBytes = publishingSettings.getMaxBodySizeBytes();
         if (length > maxBodySizeBytes) {
             throw new IOException("Message body size exceeds the threshold, max size=" + maxBodySizeBytes + " bytes");
         }
+        final Optional<BodyCodec> codec = BodyCodecs.get(Encoding.GZIP);
+        if (length > publishingSettings.getCompressionThresholdBytes() && codec.isPresent()) {
+            final Stopwatch stopwatch = Stopwatch.createStarted();
+            final ByteString compressedBody = codec.get().encode(body, publishingSettings.getCompressionLevel());
+            this.compressionCostTime = stopwatch.elapsed();
+            // Keep the original body if compression does not make it smaller.
+            final boolean compressed = compressedBody.size() < length;
+            this.bodyEncoding = compressed ? Encoding.GZIP : Encoding.IDENTITY;
+            this.encodedBody = compressed ? compressedBody : body;
+        } else {
+            this.compressionCostTime = null;
+            this.bodyEncoding = Encoding.IDENTITY;
+            this.encodedBody = body;
+        }
         // Generate message id.
         this.messageId = MessageIdCodec.getInstance().nextMessageId();
         // Normal message.
@@ -81,6 +110,21 @@ public class PublishingMessageImpl extends MessageImpl {
         return messageType;
     }
 
+    public Encoding getBodyEncoding() {
+        return bodyEncoding;
+    }
+
+    /**
+     * Get the size of message body to put on the wire, which may be compressed.
+     */
+    public int getEncodedBodySize() {
+        return encodedBody.size();
+    }
+
+    public Optional<Duration> getCompressionCostTime() {
+        return Optional.ofNullable(compressionCostTime);
+    }
+
     /**
      * Convert {@link PublishingMessageImpl} to protocol buffer.
      *
@@ -99,7 +143,7 @@ public class PublishingMessageImpl extends MessageImpl {
                 // Born host
                 .setBornHost(Utilities.hostName())
                 // Body encoding
-                .setBodyEncoding(Encoding.toProtobuf(Encoding.IDENTITY))
+                .setBodyEncoding(Encoding.toProtobuf(bodyEncoding))
                 // Queue id
                 .setQueueId(mq.getQueueId())
                 // Message type
@@ -116,8 +160,8 @@ public class PublishingMessageImpl extends MessageImpl {
         return apache.rocketmq.v2.Message.newBuilder()
             // Topic
             .setTopic(topicResource)
-            // Message body
-            .setBody(ByteString.copyFrom(getBody()))
+            // Message body, which is shared without copy
+            .setBody(encodedBody)
             // System properties
             .setSystemProperties(systemProperties)
             // User properties
@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.message.protocol;
+
+import com.google.protobuf.ByteString;
+import java.io.IOException;
+
+/**
+ * Codec of message body for the specified {@link Encoding}, see {@link BodyCodecs} for the built-in codecs.
+ */
+public interface BodyCodec {
+    /**
+     * Get the encoding which the codec is responsible for.
+     *
+     * @return encoding of the codec.
+     */
+    Encoding getEncoding();
+
+    /**
+     * Encode the message body.
+     *
+     * @param body  message body to encode.
+     * @param level compression level, the meaning depends on the codec.
+     * @return the encoded message body.
+     * @throws IOException if failed to encode.
+     */
+    ByteString encode(ByteString body, int level) throws IOException;
+
+    /**
+     * Decode the message body.
+     *
+     * @param body message body to decode.
+     * @return the decoded message body.
+     * @throws IOException if failed to decode.
+     */
+    ByteString decode(ByteString body) throws IOException;
+}
@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.message.protocol;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Registry of the built-in {@link BodyCodec}.
+ *
+ * <p>The codecs are not pluggable, because the protocol only defines {@link Encoding#IDENTITY} and
+ * {@link Encoding#GZIP}, and the consumer could not decode the body of any other encoding.
+ */
+public class BodyCodecs {
+    private static final Map<Encoding, BodyCodec> CODECS = load();
+
+    private BodyCodecs() {
+    }
+
+    private static Map<Encoding, BodyCodec> load() {
+        final Map<Encoding, BodyCodec> codecs = new EnumMap<>(Encoding.class);
+        codecs.put(Encoding.GZIP, new GzipBodyCodec());
+        return codecs;
+    }
+
+    /**
+     * Get the codec of the specified encoding.
+     *
+     * @param encoding encoding of message body.
+     * @return the codec, or {@link Optional#empty()} if the encoding needs no codec or is not supported.
+     */
+    public static Optional<BodyCodec> get(Encoding encoding) {
+        return Optional.ofNullable(CODECS.get(encoding));
+    }
+
+    /**
+     * Get the codec of the specified encoding in protocol buffer.
+     *
+     * @param encoding encoding of message body in protocol buffer.
+     * @return the codec, or {@link Optional#empty()} if the encoding needs no codec or is not supported.
+     */
+    public static Optional<BodyCodec> fromProtobuf(apache.rocketmq.v2.Encoding encoding) {
+        return get(Encoding.fromProtobuf(encoding));
+    }
+}
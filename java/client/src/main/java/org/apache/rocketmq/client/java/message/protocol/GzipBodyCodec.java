@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.message.protocol;
+
+import com.google.protobuf.ByteString;
+import java.io.IOException;
+import org.apache.rocketmq.client.java.misc.ThreadLocalZlib;
+
+/**
+ * Codec for {@link Encoding#GZIP}, which keeps compatible with
+ * {@link org.apache.rocketmq.client.java.misc.Utilities#compressBytesGzip(byte[], int)}.
+ *
+ * <p>Inflaters, deflaters and scratch buffers are reused per thread, see {@link ThreadLocalZlib}.
+ */
+public class GzipBodyCodec implements BodyCodec {
+    @Override
+    public Encoding getEncoding() {
+        return Encoding.GZIP;
+    }
+
+    @Override
+    public ByteString encode(ByteString body, int level) {
+        return ThreadLocalZlib.deflate(body, level);
+    }
+
+    @Override
+    public ByteString decode(ByteString body) throws IOException {
+        return ThreadLocalZlib.inflate(body);
+    }
+}
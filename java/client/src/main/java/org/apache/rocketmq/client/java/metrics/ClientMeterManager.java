@@ -132,6 +132,16 @@ public class ClientMeterManager {
                 .setType(InstrumentType.HISTOGRAM).setName(HistogramEnum.PROCESS_TIME.getName()).build();
             final View processTimeView = View.builder().setAggregation(HistogramEnum.PROCESS_TIME.getBucket()).build();
 
+            InstrumentSelector compressionRatioInstrumentSelector = InstrumentSelector.builder()
+                .setType(InstrumentType.HISTOGRAM).setName(HistogramEnum.COMPRESSION_RATIO.getName()).build();
+            final View compressionRatioView = View.builder()
+                .setAggregation(HistogramEnum.COMPRESSION_RATIO.getBucket()).build();
+
+            InstrumentSelector compressionCostTimeInstrumentSelector = InstrumentSelector.builder()
+                .setType(InstrumentType.HISTOGRAM).setName(HistogramEnum.COMPRESSION_COST_TIME.getName()).build();
+            final View compressionCostTimeView = View.builder()
+                .setAggregation(HistogramEnum.COMPRESSION_COST_TIME.getBucket()).build();
+
             PeriodicMetricReader reader = PeriodicMetricReader.builder(exporter)
                 .setInterval(METRIC_READER_INTERVAL).build();
 
@@ -142,6 +152,8 @@ public class ClientMeterManager {
                 .registerView(deliveryLatencyInstrumentSelector, deliveryLatencyView)
                 .registerView(awaitTimeInstrumentSelector, awaitTimeView)
                 .registerView(processTimeInstrumentSelector, processTimeView)
+                .registerView(compressionRatioInstrumentSelector, compressionRatioView)
+                .registerView(compressionCostTimeInstrumentSelector, compressionCostTimeView)
                 .build();
 
             final OpenTelemetrySdk openTelemetry = OpenTelemetrySdk.builder().setMeterProvider(provider).build();
@@ -29,7 +29,21 @@ public enum GaugeEnum {
      *
      * <p>Labels: {@link MetricLabels#TOPIC}, {@link MetricLabels#CLIENT_ID}, {@link MetricLabels#CONSUMER_GROUP}.
      */
-    CONSUMER_CACHED_BYTES("rocketmq_consumer_cached_bytes");
+    CONSUMER_CACHED_BYTES("rocketmq_consumer_cached_bytes"),
+    /**
+     * A gauge that records the consumption lag of push consumer, which is the sum of the offset span from the min
+     * in-flight offset to the max received offset of each message queue.
+     *
+     * <p>Labels: {@link MetricLabels#TOPIC}, {@link MetricLabels#CLIENT_ID}, {@link MetricLabels#CONSUMER_GROUP}.
+     */
+    CONSUMER_CONSUMPTION_LAG("rocketmq_consumer_consumption_lag"),
+    /**
+     * A gauge that records the max offset span from the min in-flight offset to the max received offset among the
+     * message queues of push consumer, which keeps growing while any message is stuck in consumption.
+     *
+     * <p>Labels: {@link MetricLabels#TOPIC}, {@link MetricLabels#CLIENT_ID}, {@link MetricLabels#CONSUMER_GROUP}.
+     */
+    CONSUMER_MAX_CONSUMPTION_LAG("rocketmq_consumer_max_consumption_lag");
 
     private final String name;
 
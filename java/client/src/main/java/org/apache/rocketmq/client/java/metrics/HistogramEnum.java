@@ -59,7 +59,25 @@ public enum HistogramEnum {
      * <p>The time unit of bucket is milliseconds.
      */
     PROCESS_TIME("rocketmq_process_time", Aggregation.explicitBucketHistogram(Arrays.asList(1.0, 5.0,
-        10.0, 100.0, 1000.0, 10 * 1000.0, 60 * 1000.0)));
+        10.0, 100.0, 1000.0, 10 * 1000.0, 60 * 1000.0))),
+
+    /**
+     * A histogram that records the ratio of compressed size to original size of message body.
+     *
+     * <p>Labels: {@link MetricLabels#TOPIC}, {@link MetricLabels#CLIENT_ID}.
+     */
+    COMPRESSION_RATIO("rocketmq_compression_ratio", Aggregation.explicitBucketHistogram(Arrays.asList(0.1, 0.2,
+        0.3, 0.5, 0.7, 0.9, 1.0))),
+
+    /**
+     * A histogram that records the cost time of message body compression.
+     *
+     * <p>Labels: {@link MetricLabels#TOPIC}, {@link MetricLabels#CLIENT_ID}.
+     *
+     * <p>The time unit of bucket is milliseconds.
+     */
+    COMPRESSION_COST_TIME("rocketmq_compression_cost_time", Aggregation.explicitBucketHistogram(Arrays.asList(0.1,
+        0.5, 1.0, 5.0, 10.0, 50.0, 100.0)));
 
     private final String name;
     private final Aggregation bucket;
@@ -18,15 +18,33 @@
 package org.apache.rocketmq.client.java.misc;
 
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Generate request id in the format of {@link UUID}, the most significant bits are random and fixed within the
+ * process, and the least significant bits are a counter started from a random value.
+ *
+ * <p>Unlike {@link UUID#randomUUID()}, it never touches {@link java.security.SecureRandom}, which may block on
+ * entropy, and costs only an atomic increment for each request.
+ */
 public class RequestIdGenerator {
     private static final RequestIdGenerator INSTANCE = new RequestIdGenerator();
 
+    private final long mostSigBits;
+    private final AtomicLong leastSigBits;
+
+    RequestIdGenerator() {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        this.mostSigBits = random.nextLong();
+        this.leastSigBits = new AtomicLong(random.nextLong());
+    }
+
     public static RequestIdGenerator getInstance() {
         return INSTANCE;
     }
 
     public String next() {
-        return UUID.randomUUID().toString();
+        return new UUID(mostSigBits, leastSigBits.getAndIncrement()).toString();
     }
 }
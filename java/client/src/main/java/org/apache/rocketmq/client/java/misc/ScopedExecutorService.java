@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.misc;
+
+import com.google.errorprone.annotations.concurrent.GuardedBy;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * View of a shared {@link Executor} owned by a single client.
+ *
+ * <p>Shutting down the view rejects subsequent tasks and waits for the tasks submitted through the view, but never
+ * shuts down the underlying executor, which may still be used by other clients.
+ *
+ * <p>Threads of the underlying executor are not created by the client, so the zlib resources of
+ * {@link ThreadLocalZlib} are released after each task rather than once the thread terminates.
+ */
+public class ScopedExecutorService extends AbstractExecutorService {
+    private final Executor delegate;
+    private final Object lock = new Object();
+
+    @GuardedBy("lock")
+    private boolean shutdown = false;
+    /**
+     * Count of tasks which are submitted but not finished yet.
+     */
+    @GuardedBy("lock")
+    private int pendingTasks = 0;
+
+    public ScopedExecutorService(Executor delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (!tryBeginTask()) {
+            throw new RejectedExecutionException("Executor has been shutdown");
+        }
+        try {
+            delegate.execute(() -> {
+                try {
+                    command.run();
+                } finally {
+                    ThreadLocalZlib.release();
+                    endTask();
+                }
+            });
+        } catch (Throwable t) {
+            endTask();
+            throw t;
+        }
+    }
+
+    /**
+     * Mark the beginning of a task.
+     *
+     * @return false if the view has been shutdown, and the task should not be executed.
+     */
+    protected boolean tryBeginTask() {
+        synchronized (lock) {
+            if (shutdown) {
+                return false;
+            }
+            pendingTasks++;
+            return true;
+        }
+    }
+
+    protected void endTask() {
+        synchronized (lock) {
+            if (--pendingTasks == 0 && shutdown) {
+                lock.notifyAll();
+            }
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        synchronized (lock) {
+            shutdown = true;
+            if (0 == pendingTasks) {
+                lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Same as {@link #shutdown()}, tasks submitted to the underlying executor could not be withdrawn.
+     */
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown();
+        return Collections.emptyList();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        synchronized (lock) {
+            return shutdown;
+        }
+    }
+
+    @Override
+    public boolean isTerminated() {
+        synchronized (lock) {
+            return shutdown && 0 == pendingTasks;
+        }
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long remainingNanos = unit.toNanos(timeout);
+        final long deadline = System.nanoTime() + remainingNanos;
+        synchronized (lock) {
+            while (!shutdown || 0 != pendingTasks) {
+                if (remainingNanos <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(lock, remainingNanos);
+                remainingNanos = deadline - System.nanoTime();
+            }
+            return true;
+        }
+    }
+}
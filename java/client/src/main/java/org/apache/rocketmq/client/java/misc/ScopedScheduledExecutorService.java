@@ -0,0 +1,225 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.misc;
+
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * View of a shared {@link ScheduledExecutorService} owned by a single client.
+ *
+ * <p>Shutting down the view cancels the delayed and periodic tasks scheduled through it, and waits for the running
+ * ones, but never shuts down the underlying scheduler.
+ */
+public class ScopedScheduledExecutorService extends ScopedExecutorService implements ScheduledExecutorService {
+    private final ScheduledExecutorService delegate;
+    private final Set<Future<?>> scheduledFutures;
+
+    public ScopedScheduledExecutorService(ScheduledExecutorService delegate) {
+        super(delegate);
+        this.delegate = delegate;
+        this.scheduledFutures = ConcurrentHashMap.newKeySet();
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        return track(new ScopedTask<>(command, null, false), task -> delegate.schedule((Runnable) task, delay, unit));
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+        return track(new ScopedTask<>(null, callable, false),
+            task -> delegate.schedule((Callable<V>) task, delay, unit));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period,
+        TimeUnit unit) {
+        return track(new ScopedTask<>(command, null, true),
+            task -> delegate.scheduleAtFixedRate(task, initialDelay, period, unit));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay,
+        TimeUnit unit) {
+        return track(new ScopedTask<>(command, null, true),
+            task -> delegate.scheduleWithFixedDelay(task, initialDelay, delay, unit));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <V> ScheduledFuture<V> track(ScopedTask<V> task, Function<ScopedTask<V>, ScheduledFuture<?>> scheduling) {
+        if (isShutdown()) {
+            throw new RejectedExecutionException("Scheduler has been shutdown");
+        }
+        final ScopedFuture<V> future = new ScopedFuture<>((ScheduledFuture<V>) scheduling.apply(task));
+        scheduledFutures.add(future);
+        task.future = future;
+        // Task may be finished before being tracked, or the scheduler may be shutdown concurrently.
+        if (future.isDone()) {
+            scheduledFutures.remove(future);
+        } else if (isShutdown()) {
+            future.cancel(false);
+        }
+        return future;
+    }
+
+    int getScheduledFutureCount() {
+        return scheduledFutures.size();
+    }
+
+    @Override
+    public void shutdown() {
+        super.shutdown();
+        for (Future<?> future : scheduledFutures) {
+            future.cancel(false);
+        }
+        scheduledFutures.clear();
+    }
+
+    private class ScopedTask<V> implements Runnable, Callable<V> {
+        private final Runnable command;
+        private final Callable<V> callable;
+        private final boolean periodic;
+        private volatile Future<?> future;
+
+        private ScopedTask(Runnable command, Callable<V> callable, boolean periodic) {
+            this.command = command;
+            this.callable = callable;
+            this.periodic = periodic;
+        }
+
+        @Override
+        public void run() {
+            try {
+                call();
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        @Override
+        public V call() throws Exception {
+            if (!tryBeginTask()) {
+                // Fail the task to suppress the subsequent executions of periodic task.
+                throw new RejectedExecutionException("Scheduler has been shutdown");
+            }
+            try {
+                if (null != callable) {
+                    return callable.call();
+                }
+                command.run();
+                return null;
+            } catch (Throwable t) {
+                // The subsequent executions of periodic task are suppressed once it fails.
+                untrack();
+                throw t;
+            } finally {
+                ThreadLocalZlib.release();
+                endTask();
+                if (!periodic) {
+                    untrack();
+                }
+            }
+        }
+
+        private void untrack() {
+            final Future<?> f = future;
+            if (null != f) {
+                scheduledFutures.remove(f);
+            }
+        }
+    }
+
+    /**
+     * Future which is no longer tracked once it is cancelled, so that the cancelled tasks are not retained.
+     */
+    private class ScopedFuture<V> implements ScheduledFuture<V> {
+        private final ScheduledFuture<V> delegate;
+
+        private ScopedFuture(ScheduledFuture<V> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return delegate.getDelay(unit);
+        }
+
+        @Override
+        public int compareTo(Delayed o) {
+            return delegate.compareTo(o);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            return delegate.equals(((ScopedFuture<?>) o).delegate);
+        }
+
+        @Override
+        public int hashCode() {
+            return delegate.hashCode();
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            try {
+                return delegate.cancel(mayInterruptIfRunning);
+            } finally {
+                scheduledFutures.remove(this);
+            }
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return delegate.isCancelled();
+        }
+
+        @Override
+        public boolean isDone() {
+            return delegate.isDone();
+        }
+
+        @Override
+        public V get() throws InterruptedException, ExecutionException {
+            return delegate.get();
+        }
+
+        @Override
+        public V get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+            return delegate.get(timeout, unit);
+        }
+    }
+}
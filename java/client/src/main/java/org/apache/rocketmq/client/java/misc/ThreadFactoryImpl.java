@@ -43,7 +43,13 @@ public class ThreadFactoryImpl implements ThreadFactory {
     @SuppressWarnings("NullableProblems")
     @Override
     public Thread newThread(Runnable r) {
-        Thread thread = new Thread(r, THREAD_PREFIX + customName + "-" + THREAD_INDEX.incrementAndGet());
+        Thread thread = new Thread(() -> {
+            try {
+                r.run();
+            } finally {
+                ThreadLocalZlib.release();
+            }
+        }, THREAD_PREFIX + customName + "-" + THREAD_INDEX.incrementAndGet());
         thread.setDaemon(daemon);
         return thread;
     }
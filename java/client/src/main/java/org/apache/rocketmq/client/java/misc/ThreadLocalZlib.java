@@ -0,0 +1,240 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.misc;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.protobuf.ByteString;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Zlib compression facility which reuses {@link Inflater}, {@link Deflater} and scratch buffers per thread.
+ *
+ * <p>The scratch buffers are sized by the hint of the data to process rather than growing from a small one, and
+ * they are released once they grow beyond {@link #MAX_RETAINED_BUFFER_SIZE}, so that a single large message does
+ * not pin the memory of the thread.
+ *
+ * <p>{@link Inflater} and {@link Deflater} hold native memory until they are ended, so {@link #release()} ends them
+ * explicitly, which is done once the thread created by {@link ThreadFactoryImpl}, the message decoding pool or
+ * {@link VirtualThreads} terminates, and after each task executed on the executors shared by clients, whose threads
+ * are not created by the client. For other threads out of the control of client, such as the caller thread of
+ * producer, the native memory is released once they are garbage collected after the thread terminates, which is
+ * bounded by one inflater and a few deflaters per thread.
+ *
+ * <p>The data format is the same as {@link java.util.zip.DeflaterOutputStream} and
+ * {@link java.util.zip.InflaterInputStream} with default settings.
+ */
+public class ThreadLocalZlib {
+    static final int MIN_BUFFER_SIZE = 1024;
+    static final int MAX_RETAINED_BUFFER_SIZE = 1024 * 1024;
+    /**
+     * Typical compression ratio of message body, used to estimate the size of the inflated data.
+     */
+    private static final int INFLATED_SIZE_HINT_RATIO = 4;
+
+    private static final ThreadLocal<Inflater> INFLATER = new ThreadLocal<>();
+    /**
+     * Deflaters indexed by compression level plus one, because the level of deflater could not be changed safely
+     * once it is reset.
+     */
+    private static final ThreadLocal<Deflater[]> DEFLATERS = new ThreadLocal<>();
+    private static final ThreadLocal<Buffers> BUFFERS = ThreadLocal.withInitial(Buffers::new);
+
+    private ThreadLocalZlib() {
+    }
+
+    /**
+     * End the inflater and deflaters of current thread and release the scratch buffers, they would be created again
+     * if current thread compresses or decompresses afterwards.
+     */
+    public static void release() {
+        final Inflater inflater = INFLATER.get();
+        if (null != inflater) {
+            inflater.end();
+        }
+        INFLATER.remove();
+        final Deflater[] deflaters = DEFLATERS.get();
+        if (null != deflaters) {
+            for (Deflater deflater : deflaters) {
+                if (null != deflater) {
+                    deflater.end();
+                }
+            }
+        }
+        DEFLATERS.remove();
+        BUFFERS.remove();
+    }
+
+    /**
+     * Check whether current thread holds the inflater or deflaters.
+     */
+    static boolean isRetained() {
+        return null != INFLATER.get() || null != DEFLATERS.get();
+    }
+
+    public static ByteString inflate(ByteString src) throws IOException {
+        final Buffers buffers = BUFFERS.get();
+        try {
+            final int srcLength = src.size();
+            final byte[] input = buffers.input(srcLength);
+            src.copyTo(input, 0);
+            final int length = inflate(buffers, input, srcLength);
+            return ByteString.copyFrom(buffers.output, 0, length);
+        } finally {
+            buffers.trim();
+        }
+    }
+
+    public static byte[] inflate(byte[] src) throws IOException {
+        final Buffers buffers = BUFFERS.get();
+        try {
+            final int length = inflate(buffers, src, src.length);
+            return Arrays.copyOf(buffers.output, length);
+        } finally {
+            buffers.trim();
+        }
+    }
+
+    public static ByteString deflate(ByteString src, int level) {
+        final Buffers buffers = BUFFERS.get();
+        try {
+            final int srcLength = src.size();
+            final byte[] input = buffers.input(srcLength);
+            src.copyTo(input, 0);
+            final int length = deflate(buffers, input, srcLength, level);
+            return ByteString.copyFrom(buffers.output, 0, length);
+        } finally {
+            buffers.trim();
+        }
+    }
+
+    public static byte[] deflate(byte[] src, int level) {
+        final Buffers buffers = BUFFERS.get();
+        try {
+            final int length = deflate(buffers, src, src.length, level);
+            return Arrays.copyOf(buffers.output, length);
+        } finally {
+            buffers.trim();
+        }
+    }
+
+    private static int inflate(Buffers buffers, byte[] input, int inputLength) throws IOException {
+        Inflater inflater = INFLATER.get();
+        if (null == inflater) {
+            inflater = new Inflater();
+            INFLATER.set(inflater);
+        }
+        inflater.reset();
+        inflater.setInput(input, 0, inputLength);
+        byte[] output = buffers.output((int) Math.min((long) inputLength * INFLATED_SIZE_HINT_RATIO,
+            Integer.MAX_VALUE - 8));
+        int length = 0;
+        try {
+            while (!inflater.finished()) {
+                if (length == output.length) {
+                    output = buffers.growOutput();
+                }
+                final int n = inflater.inflate(output, length, output.length - length);
+                if (0 == n && !inflater.finished() && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException("Unexpected end of zlib input stream");
+                }
+                length += n;
+            }
+            return length;
+        } catch (DataFormatException e) {
+            throw new IOException(e);
+        } finally {
+            // Release the reference of input as early as possible.
+            inflater.reset();
+        }
+    }
+
+    private static int deflate(Buffers buffers, byte[] input, int inputLength, int level) {
+        checkArgument(level >= Deflater.DEFAULT_COMPRESSION && level <= Deflater.BEST_COMPRESSION,
+            "invalid compression level");
+        Deflater[] deflaters = DEFLATERS.get();
+        if (null == deflaters) {
+            deflaters = new Deflater[Deflater.BEST_COMPRESSION + 2];
+            DEFLATERS.set(deflaters);
+        }
+        final int index = level + 1;
+        Deflater deflater = deflaters[index];
+        if (null == deflater) {
+            deflater = new Deflater(level);
+            deflaters[index] = deflater;
+        }
+        deflater.reset();
+        deflater.setInput(input, 0, inputLength);
+        deflater.finish();
+        // Compressed data is supposed to be smaller than the original one in most cases.
+        byte[] output = buffers.output(inputLength + 64);
+        int length = 0;
+        try {
+            while (!deflater.finished()) {
+                if (length == output.length) {
+                    output = buffers.growOutput();
+                }
+                length += deflater.deflate(output, length, output.length - length);
+            }
+            return length;
+        } finally {
+            deflater.reset();
+        }
+    }
+
+    private static class Buffers {
+        private byte[] input = new byte[MIN_BUFFER_SIZE];
+        private byte[] output = new byte[MIN_BUFFER_SIZE];
+
+        private byte[] input(int size) {
+            if (input.length < size) {
+                input = new byte[size];
+            }
+            return input;
+        }
+
+        private byte[] output(int sizeHint) {
+            if (output.length < sizeHint) {
+                output = new byte[sizeHint];
+            }
+            return output;
+        }
+
+        private byte[] growOutput() {
+            final int length = output.length;
+            if (length >= Integer.MAX_VALUE - 8) {
+                throw new OutOfMemoryError("Required array size too large");
+            }
+            output = Arrays.copyOf(output, (int) Math.min(2L * length, Integer.MAX_VALUE - 8));
+            return output;
+        }
+
+        private void trim() {
+            if (input.length > MAX_RETAINED_BUFFER_SIZE) {
+                input = new byte[MIN_BUFFER_SIZE];
+            }
+            if (output.length > MAX_RETAINED_BUFFER_SIZE) {
+                output = new byte[MIN_BUFFER_SIZE];
+            }
+        }
+    }
+}
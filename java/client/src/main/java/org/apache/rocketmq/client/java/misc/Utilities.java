@@ -18,8 +18,6 @@
 package org.apache.rocketmq.client.java.misc;
 
 import apache.rocketmq.v2.ReceiveMessageRequest;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.lang.management.ManagementFactory;
 import java.lang.management.RuntimeMXBean;
@@ -34,8 +32,6 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Random;
 import java.util.zip.CRC32;
-import java.util.zip.DeflaterOutputStream;
-import java.util.zip.InflaterInputStream;
 import org.apache.commons.lang3.StringUtils;
 
 public class Utilities {
@@ -141,58 +137,11 @@ public class Utilities {
     }
 
     public static byte[] compressBytesGzip(final byte[] src, final int level) throws IOException {
-        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(src.length);
-        java.util.zip.Deflater defeater = new java.util.zip.Deflater(level);
-        DeflaterOutputStream deflaterOutputStream =
-            new DeflaterOutputStream(byteArrayOutputStream, defeater);
-        try {
-            deflaterOutputStream.write(src);
-            deflaterOutputStream.finish();
-            deflaterOutputStream.close();
-
-            return byteArrayOutputStream.toByteArray();
-        } finally {
-            try {
-                byteArrayOutputStream.close();
-            } catch (IOException ignore) {
-                // Exception not expected here.
-            }
-            defeater.end();
-        }
+        return ThreadLocalZlib.deflate(src, level);
     }
 
     public static byte[] uncompressBytesGzip(final byte[] src) throws IOException {
-        byte[] uncompressData = new byte[src.length];
-
-        ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(src);
-        InflaterInputStream inflaterInputStream = new InflaterInputStream(byteArrayInputStream);
-        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(src.length);
-
-        try {
-            int length;
-            while ((length = inflaterInputStream.read(uncompressData, 0, uncompressData.length)) > 0) {
-                byteArrayOutputStream.write(uncompressData, 0, length);
-            }
-            byteArrayOutputStream.flush();
-
-            return byteArrayOutputStream.toByteArray();
-        } finally {
-            try {
-                byteArrayInputStream.close();
-            } catch (IOException ignore) {
-                // Exception not expected here.
-            }
-            try {
-                inflaterInputStream.close();
-            } catch (IOException ignore) {
-                // Exception not expected here.
-            }
-            try {
-                byteArrayOutputStream.close();
-            } catch (IOException ignore) {
-                // Exception not expected here.
-            }
-        }
+        return ThreadLocalZlib.inflate(src);
     }
 
     public static String encodeHexString(ByteBuffer byteBuffer, boolean toLowerCase) {
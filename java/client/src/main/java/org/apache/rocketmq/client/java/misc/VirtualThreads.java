@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.misc;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Utility to create executors on virtual threads, which are only available since JDK 21.
+ *
+ * <p>The virtual thread API is accessed by reflection so that the client still targets Java 8.
+ */
+public class VirtualThreads {
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreads.class);
+
+    /**
+     * Factory method of the builder of virtual thread, which is null if virtual thread is not supported.
+     */
+    private static final Method OF_VIRTUAL_METHOD;
+    private static final Method BUILDER_NAME_METHOD;
+    private static final Method BUILDER_FACTORY_METHOD;
+    private static final Method NEW_THREAD_PER_TASK_EXECUTOR_METHOD;
+
+    static {
+        Method ofVirtualMethod = null;
+        Method builderNameMethod = null;
+        Method builderFactoryMethod = null;
+        Method newThreadPerTaskExecutorMethod = null;
+        try {
+            ofVirtualMethod = Thread.class.getMethod("ofVirtual");
+            final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            builderNameMethod = builderClass.getMethod("name", String.class, long.class);
+            builderFactoryMethod = builderClass.getMethod("factory");
+            newThreadPerTaskExecutorMethod = Executors.class.getMethod("newThreadPerTaskExecutor",
+                ThreadFactory.class);
+            // The methods exist but throw once invoked on JDK 19/20 without preview features enabled.
+            final Object builder = ofVirtualMethod.invoke(null);
+            final ThreadFactory threadFactory = (ThreadFactory) builderFactoryMethod.invoke(builder);
+            final ExecutorService executor =
+                (ExecutorService) newThreadPerTaskExecutorMethod.invoke(null, threadFactory);
+            executor.shutdown();
+        } catch (Throwable t) {
+            ofVirtualMethod = null;
+            log.debug("Virtual thread is not supported by current JVM, javaVersion={}",
+                System.getProperty("java.version"), t);
+        }
+        OF_VIRTUAL_METHOD = ofVirtualMethod;
+        BUILDER_NAME_METHOD = builderNameMethod;
+        BUILDER_FACTORY_METHOD = builderFactoryMethod;
+        NEW_THREAD_PER_TASK_EXECUTOR_METHOD = newThreadPerTaskExecutorMethod;
+    }
+
+    private VirtualThreads() {
+    }
+
+    public static boolean isSupported() {
+        return null != OF_VIRTUAL_METHOD;
+    }
+
+    /**
+     * Create an executor which starts a new virtual thread for each task, and at most {@code maxConcurrency} tasks
+     * are executed concurrently. Tasks beyond the limit are parked on their virtual threads rather than queued.
+     *
+     * @param namePrefix     prefix of the virtual thread name.
+     * @param maxConcurrency max number of tasks to execute concurrently.
+     * @return the executor.
+     * @throws UnsupportedOperationException if virtual thread is not supported by current JVM.
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor(String namePrefix, int maxConcurrency) {
+        if (!isSupported()) {
+            throw new UnsupportedOperationException("Virtual thread is not supported by current JVM, javaVersion="
+                + System.getProperty("java.version"));
+        }
+        try {
+            Object builder = OF_VIRTUAL_METHOD.invoke(null);
+            builder = BUILDER_NAME_METHOD.invoke(builder, namePrefix, 0L);
+            final ThreadFactory virtualThreadFactory = (ThreadFactory) BUILDER_FACTORY_METHOD.invoke(builder);
+            // Each virtual thread runs only one task, release its zlib resources rather than wait for collection.
+            final ThreadFactory threadFactory = r -> virtualThreadFactory.newThread(() -> {
+                try {
+                    r.run();
+                } finally {
+                    ThreadLocalZlib.release();
+                }
+            });
+            final ExecutorService executor =
+                (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR_METHOD.invoke(null, threadFactory);
+            return limitConcurrency(executor, maxConcurrency);
+        } catch (ReflectiveOperationException e) {
+            throw new UnsupportedOperationException("Failed to create virtual thread executor", e);
+        }
+    }
+
+    static ExecutorService limitConcurrency(ExecutorService executor, int maxConcurrency) {
+        return new ConcurrencyLimitedExecutorService(executor, maxConcurrency);
+    }
+
+    /**
+     * Executor service which limits the number of tasks executed concurrently on the delegated executor service,
+     * the task waits for the permit on its own thread, so the delegated executor service is supposed to start a
+     * new thread for each task.
+     */
+    private static class ConcurrencyLimitedExecutorService extends AbstractExecutorService {
+        private final ExecutorService executor;
+        private final Semaphore permits;
+
+        private ConcurrencyLimitedExecutorService(ExecutorService executor, int maxConcurrency) {
+            this.executor = executor;
+            this.permits = new Semaphore(maxConcurrency);
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            executor.execute(() -> {
+                // Never skip the command, or the future of the submitted task would never be completed.
+                permits.acquireUninterruptibly();
+                try {
+                    command.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        }
+
+        @Override
+        public void shutdown() {
+            executor.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return executor.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return executor.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return executor.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return executor.awaitTermination(timeout, unit);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.rpc;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ClientInterceptors;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Fixed-size pool of channels to the same endpoints, each channel owns its own HTTP/2 connection.
+ *
+ * <p>RPCs are dispatched to the channel with the least outstanding RPCs, so that the throughput is not capped by
+ * the single connection, the single event loop serving it and the max concurrent streams of the server.
+ */
+class ChannelPool {
+    private final ManagedChannel[] managedChannels;
+    private final Channel[] channels;
+    private final AtomicIntegerArray outstandingRpcs;
+    /**
+     * Start position of selection, which rotates to spread RPCs among channels with the same outstanding RPCs.
+     */
+    private final AtomicInteger nextIndex;
+
+    ChannelPool(List<ManagedChannel> managedChannels) {
+        final int size = managedChannels.size();
+        this.managedChannels = managedChannels.toArray(new ManagedChannel[0]);
+        this.channels = new Channel[size];
+        this.outstandingRpcs = new AtomicIntegerArray(size);
+        for (int i = 0; i < size; i++) {
+            channels[i] = ClientInterceptors.intercept(this.managedChannels[i], new OutstandingRpcInterceptor(i));
+        }
+        this.nextIndex = new AtomicInteger(0);
+    }
+
+    int size() {
+        return channels.length;
+    }
+
+    /**
+     * Select the index of channel with the least outstanding RPCs.
+     */
+    int select() {
+        final int size = channels.length;
+        if (1 == size) {
+            return 0;
+        }
+        final int start = Math.floorMod(nextIndex.getAndIncrement(), size);
+        int selected = start;
+        int leastOutstandingRpcs = outstandingRpcs.get(start);
+        for (int i = 1; i < size && leastOutstandingRpcs > 0; i++) {
+            final int index = (start + i) % size;
+            final int outstanding = outstandingRpcs.get(index);
+            if (outstanding < leastOutstandingRpcs) {
+                selected = index;
+                leastOutstandingRpcs = outstanding;
+            }
+        }
+        return selected;
+    }
+
+    Channel getChannel(int index) {
+        return channels[index];
+    }
+
+    int getOutstandingRpcs(int index) {
+        return outstandingRpcs.get(index);
+    }
+
+    boolean isShutdown() {
+        for (ManagedChannel managedChannel : managedChannels) {
+            if (!managedChannel.isShutdown()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    void shutdown() throws InterruptedException {
+        for (ManagedChannel managedChannel : managedChannels) {
+            managedChannel.shutdown();
+        }
+        for (ManagedChannel managedChannel : managedChannels) {
+            managedChannel.awaitTermination(Long.MAX_VALUE, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Count the outstanding RPCs of the channel, from the start of the call to its close.
+     */
+    private class OutstandingRpcInterceptor implements ClientInterceptor {
+        private final int index;
+
+        private OutstandingRpcInterceptor(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public <T, E> ClientCall<T, E> interceptCall(MethodDescriptor<T, E> method, CallOptions callOptions,
+            Channel next) {
+            return new ForwardingClientCall.SimpleForwardingClientCall<T, E>(next.newCall(method, callOptions)) {
+                @Override
+                public void start(Listener<E> responseListener, Metadata headers) {
+                    outstandingRpcs.incrementAndGet(index);
+                    final Listener<E> countingListener =
+                        new ForwardingClientCallListener.SimpleForwardingClientCallListener<E>(responseListener) {
+                            @Override
+                            public void onClose(Status status, Metadata trailers) {
+                                outstandingRpcs.decrementAndGet(index);
+                                super.onClose(status, trailers);
+                            }
+                        };
+                    try {
+                        super.start(countingListener, headers);
+                    } catch (RuntimeException e) {
+                        outstandingRpcs.decrementAndGet(index);
+                        throw e;
+                    }
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.rpc;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ForwardingClientCall;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+
+/**
+ * Long-lived interceptor which attaches the headers carried by {@link CallOptions} of each call, so there is no need
+ * to build an interceptor and stub for each call.
+ */
+public class HeadersInterceptor implements ClientInterceptor {
+    public static final CallOptions.Key<Metadata> HEADERS_KEY = CallOptions.Key.create("rocketmq-headers");
+
+    private static final HeadersInterceptor INSTANCE = new HeadersInterceptor();
+
+    public static HeadersInterceptor getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public <T, E> ClientCall<T, E> interceptCall(MethodDescriptor<T, E> method, CallOptions callOptions,
+        Channel next) {
+        final Metadata extraHeaders = callOptions.getOption(HEADERS_KEY);
+        if (null == extraHeaders) {
+            return next.newCall(method, callOptions);
+        }
+        return new ForwardingClientCall.SimpleForwardingClientCall<T, E>(next.newCall(method, callOptions)) {
+            @Override
+            public void start(Listener<E> responseListener, Metadata headers) {
+                headers.merge(extraHeaders);
+                super.start(responseListener, headers);
+            }
+        };
+    }
+}
@@ -25,7 +25,7 @@ import io.grpc.ForwardingClientCall;
 import io.grpc.ForwardingClientCallListener;
 import io.grpc.Metadata;
 import io.grpc.MethodDescriptor;
-import java.util.UUID;
+import org.apache.rocketmq.client.java.misc.RequestIdGenerator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -44,8 +44,11 @@ public class LoggingInterceptor implements ClientInterceptor {
     @Override
     public <T, E> ClientCall<T, E> interceptCall(MethodDescriptor<T, E> method,
         CallOptions callOptions, Channel next) {
-
-        final String rpcId = UUID.randomUUID().toString();
+        // Avoid any allocation for each call unless trace logging is enabled.
+        if (!log.isTraceEnabled()) {
+            return next.newCall(method, callOptions);
+        }
+        final String rpcId = RequestIdGenerator.getInstance().next();
         final String authority = next.authority();
         final String serviceName = method.getServiceName();
         final String methodName = method.getBareMethodName();
@@ -126,6 +126,19 @@ public interface RpcClient {
     ListenableFuture<List<ReceiveMessageResponse>> receiveMessage(Metadata metadata,
         ReceiveMessageRequest request, ExecutorService executor, Duration duration);
 
+    /**
+     * Receiving message asynchronously from server, each response is delivered to the observer once it arrives
+     * rather than buffered until the end of stream.
+     *
+     * @param metadata         gRPC request header metadata.
+     * @param request          receiving message request.
+     * @param executor         gRPC asynchronous executor.
+     * @param duration         request max duration.
+     * @param responseObserver observer of the responses.
+     */
+    void receiveMessage(Metadata metadata, ReceiveMessageRequest request, ExecutorService executor,
+        Duration duration, StreamObserver<ReceiveMessageResponse> responseObserver);
+
     /**
      * Ack message asynchronously after success of consumption.
      *
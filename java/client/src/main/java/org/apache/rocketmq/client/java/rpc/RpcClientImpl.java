@@ -17,6 +17,8 @@
 
 package org.apache.rocketmq.client.java.rpc;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 import apache.rocketmq.v2.AckMessageRequest;
 import apache.rocketmq.v2.AckMessageResponse;
 import apache.rocketmq.v2.ChangeInvisibleDurationRequest;
@@ -41,67 +43,70 @@ import apache.rocketmq.v2.SendMessageResponse;
 import apache.rocketmq.v2.TelemetryCommand;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.SettableFuture;
-import io.grpc.ClientInterceptor;
-import io.grpc.ManagedChannel;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptors;
 import io.grpc.Metadata;
-import io.grpc.netty.shaded.io.grpc.netty.GrpcSslContexts;
-import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
-import io.grpc.netty.shaded.io.netty.channel.ChannelOption;
-import io.grpc.netty.shaded.io.netty.handler.ssl.SslContext;
-import io.grpc.netty.shaded.io.netty.handler.ssl.SslContextBuilder;
-import io.grpc.netty.shaded.io.netty.handler.ssl.util.InsecureTrustManagerFactory;
-import io.grpc.stub.MetadataUtils;
+import io.grpc.MethodDescriptor;
+import io.grpc.stub.ClientCalls;
 import io.grpc.stub.StreamObserver;
-import java.net.InetSocketAddress;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import javax.net.ssl.SSLException;
 import org.apache.rocketmq.client.java.route.Endpoints;
 
 public class RpcClientImpl implements RpcClient {
-    private static final int CONNECT_TIMEOUT_MILLIS = 3 * 1000;
-    private static final int GRPC_MAX_MESSAGE_SIZE = Integer.MAX_VALUE;
-
-    private final ManagedChannel channel;
-    private final MessagingServiceGrpc.MessagingServiceFutureStub futureStub;
-    private final MessagingServiceGrpc.MessagingServiceStub stub;
+    private final SharedChannelRegistry channelRegistry;
+    private final Endpoints endpoints;
+    private final boolean sslEnabled;
+    private final int connectionPoolSize;
+    private final ChannelPool channelPool;
+    private final Channel[] channels;
+    private final AtomicBoolean released;
 
     private long activityNanoTime;
 
-    @SuppressWarnings("deprecation")
     public RpcClientImpl(Endpoints endpoints, boolean sslEnabled) throws SSLException {
-        final NettyChannelBuilder channelBuilder =
-            NettyChannelBuilder.forTarget(endpoints.getGrpcTarget())
-                .withOption(ChannelOption.CONNECT_TIMEOUT_MILLIS, CONNECT_TIMEOUT_MILLIS)
-                .maxInboundMessageSize(GRPC_MAX_MESSAGE_SIZE)
-                .intercept(LoggingInterceptor.getInstance());
-
-        if (sslEnabled) {
-            final SslContextBuilder builder = GrpcSslContexts.forClient();
-            builder.trustManager(InsecureTrustManagerFactory.INSTANCE);
-            SslContext sslContext = builder.build();
-            channelBuilder.sslContext(sslContext);
-        } else {
-            channelBuilder.usePlaintext();
-        }
+        this(endpoints, sslEnabled, 1);
+    }
 
-        // Disable grpc's auto-retry here.
-        channelBuilder.disableRetry();
-        final List<InetSocketAddress> socketAddresses = endpoints.toSocketAddresses();
-        if (null != socketAddresses) {
-            final IpNameResolverFactory ipNameResolverFactory = new IpNameResolverFactory(socketAddresses);
-            channelBuilder.nameResolverFactory(ipNameResolverFactory);
+    public RpcClientImpl(Endpoints endpoints, boolean sslEnabled, int connectionPoolSize) throws SSLException {
+        this(SharedChannelRegistry.getInstance(), endpoints, sslEnabled, connectionPoolSize);
+    }
+
+    RpcClientImpl(SharedChannelRegistry channelRegistry, Endpoints endpoints, boolean sslEnabled,
+        int connectionPoolSize) throws SSLException {
+        checkArgument(connectionPoolSize > 0, "connectionPoolSize should be positive");
+        this.channelRegistry = channelRegistry;
+        this.endpoints = endpoints;
+        this.sslEnabled = sslEnabled;
+        this.connectionPoolSize = connectionPoolSize;
+        this.channelPool = channelRegistry.acquire(endpoints, sslEnabled, connectionPoolSize);
+        this.channels = new Channel[connectionPoolSize];
+        for (int i = 0; i < connectionPoolSize; i++) {
+            channels[i] = ClientInterceptors.intercept(channelPool.getChannel(i), HeadersInterceptor.getInstance());
         }
-        this.channel = channelBuilder.build();
-        this.futureStub = MessagingServiceGrpc.newFutureStub(channel);
-        this.stub = MessagingServiceGrpc.newStub(channel);
+        this.released = new AtomicBoolean(false);
         this.activityNanoTime = System.nanoTime();
     }
 
+    /**
+     * Create the call on the channel with the least outstanding RPCs, the headers are attached by
+     * {@link HeadersInterceptor} rather than an interceptor and stub built for each call.
+     */
+    private <T, E> ClientCall<T, E> newCall(MethodDescriptor<T, E> method, Metadata metadata, Executor executor,
+        Duration duration) {
+        final CallOptions callOptions = CallOptions.DEFAULT.withDeadlineAfter(duration.toNanos(),
+            TimeUnit.NANOSECONDS).withExecutor(executor).withOption(HeadersInterceptor.HEADERS_KEY, metadata);
+        return channels[channelPool.select()].newCall(method, callOptions);
+    }
+
     @Override
     public Duration idleDuration() {
         return Duration.ofNanos(System.nanoTime() - activityNanoTime);
@@ -109,39 +114,42 @@ public class RpcClientImpl implements RpcClient {
 
     @Override
     public void shutdown() throws InterruptedException {
-        channel.shutdown().awaitTermination(Long.MAX_VALUE, TimeUnit.SECONDS);
+        // The channel is shared with other clients, release the reference only once.
+        if (released.compareAndSet(false, true)) {
+            channelRegistry.release(endpoints, sslEnabled, connectionPoolSize, channelPool);
+        }
     }
 
     @Override
     public ListenableFuture<QueryRouteResponse> queryRoute(Metadata metadata,
         QueryRouteRequest request, Executor executor, Duration duration) {
         this.activityNanoTime = System.nanoTime();
-        return futureStub.withInterceptors(MetadataUtils.newAttachHeadersInterceptor(metadata)).withExecutor(executor)
-            .withDeadlineAfter(duration.toNanos(), TimeUnit.NANOSECONDS).queryRoute(request);
+        return ClientCalls.futureUnaryCall(
+            newCall(MessagingServiceGrpc.getQueryRouteMethod(), metadata, executor, duration), request);
     }
 
     @Override
     public ListenableFuture<HeartbeatResponse> heartbeat(Metadata metadata,
         HeartbeatRequest request, Executor executor, Duration duration) {
         this.activityNanoTime = System.nanoTime();
-        return futureStub.withInterceptors(MetadataUtils.newAttachHeadersInterceptor(metadata)).withExecutor(executor)
-            .withDeadlineAfter(duration.toNanos(), TimeUnit.NANOSECONDS).heartbeat(request);
+        return ClientCalls.futureUnaryCall(
+            newCall(MessagingServiceGrpc.getHeartbeatMethod(), metadata, executor, duration), request);
     }
 
     @Override
     public ListenableFuture<SendMessageResponse> sendMessage(Metadata metadata,
         SendMessageRequest request, Executor executor, Duration duration) {
         this.activityNanoTime = System.nanoTime();
-        return futureStub.withInterceptors(MetadataUtils.newAttachHeadersInterceptor(metadata)).withExecutor(executor)
-            .withDeadlineAfter(duration.toNanos(), TimeUnit.NANOSECONDS).sendMessage(request);
+        return ClientCalls.futureUnaryCall(
+            newCall(MessagingServiceGrpc.getSendMessageMethod(), metadata, executor, duration), request);
     }
 
     @Override
     public ListenableFuture<QueryAssignmentResponse> queryAssignment(Metadata metadata,
         QueryAssignmentRequest request, Executor executor, Duration duration) {
         this.activityNanoTime = System.nanoTime();
-        return futureStub.withInterceptors(MetadataUtils.newAttachHeadersInterceptor(metadata)).withExecutor(executor)
-            .withDeadlineAfter(duration.toNanos(), TimeUnit.NANOSECONDS).queryAssignment(request);
+        return ClientCalls.futureUnaryCall(
+            newCall(MessagingServiceGrpc.getQueryAssignmentMethod(), metadata, executor, duration), request);
     }
 
     @Override
@@ -150,9 +158,7 @@ public class RpcClientImpl implements RpcClient {
         this.activityNanoTime = System.nanoTime();
         SettableFuture<List<ReceiveMessageResponse>> future = SettableFuture.create();
         List<ReceiveMessageResponse> responses = new ArrayList<>();
-        stub.withInterceptors(MetadataUtils.newAttachHeadersInterceptor(metadata)).withExecutor(executor)
-            .withDeadlineAfter(duration.toNanos(), TimeUnit.NANOSECONDS)
-            .receiveMessage(request, new StreamObserver<ReceiveMessageResponse>() {
+        receiveMessage(metadata, request, executor, duration, new StreamObserver<ReceiveMessageResponse>() {
                 @Override
                 public void onNext(ReceiveMessageResponse response) {
                     responses.add(response);
@@ -171,12 +177,20 @@ public class RpcClientImpl implements RpcClient {
         return future;
     }
 
+    @Override
+    public void receiveMessage(Metadata metadata, ReceiveMessageRequest request, ExecutorService executor,
+        Duration duration, StreamObserver<ReceiveMessageResponse> responseObserver) {
+        this.activityNanoTime = System.nanoTime();
+        ClientCalls.asyncServerStreamingCall(newCall(MessagingServiceGrpc.getReceiveMessageMethod(), metadata,
+            executor, duration), request, responseObserver);
+    }
+
     @Override
     public ListenableFuture<AckMessageResponse> ackMessage(Metadata metadata,
         AckMessageRequest request, Executor executor, Duration duration) {
         this.activityNanoTime = System.nanoTime();
-        return futureStub.withInterceptors(MetadataUtils.newAttachHeadersInterceptor(metadata)).withExecutor(executor)
-            .withDeadlineAfter(duration.toNanos(), TimeUnit.NANOSECONDS).ackMessage(request);
+        return ClientCalls.futureUnaryCall(
+            newCall(MessagingServiceGrpc.getAckMessageMethod(), metadata, executor, duration), request);
     }
 
     @Override
@@ -184,40 +198,39 @@ public class RpcClientImpl implements RpcClient {
         ChangeInvisibleDurationRequest request, Executor executor,
         Duration duration) {
         this.activityNanoTime = System.nanoTime();
-        return futureStub.withInterceptors(MetadataUtils.newAttachHeadersInterceptor(metadata)).withExecutor(executor)
-            .withDeadlineAfter(duration.toNanos(), TimeUnit.NANOSECONDS).changeInvisibleDuration(request);
+        return ClientCalls.futureUnaryCall(
+            newCall(MessagingServiceGrpc.getChangeInvisibleDurationMethod(), metadata, executor, duration), request);
     }
 
     @Override
     public ListenableFuture<ForwardMessageToDeadLetterQueueResponse> forwardMessageToDeadLetterQueue(
         Metadata metadata, ForwardMessageToDeadLetterQueueRequest request, Executor executor, Duration duration) {
         this.activityNanoTime = System.nanoTime();
-        return futureStub.withInterceptors(MetadataUtils.newAttachHeadersInterceptor(metadata)).withExecutor(executor)
-            .withDeadlineAfter(duration.toNanos(), TimeUnit.NANOSECONDS).forwardMessageToDeadLetterQueue(request);
+        return ClientCalls.futureUnaryCall(
+            newCall(MessagingServiceGrpc.getForwardMessageToDeadLetterQueueMethod(), metadata, executor, duration),
+            request);
     }
 
     @Override
     public ListenableFuture<EndTransactionResponse> endTransaction(Metadata metadata, EndTransactionRequest request,
         Executor executor, Duration duration) {
         this.activityNanoTime = System.nanoTime();
-        return futureStub.withInterceptors(MetadataUtils.newAttachHeadersInterceptor(metadata)).withExecutor(executor)
-            .withDeadlineAfter(duration.toNanos(), TimeUnit.NANOSECONDS).endTransaction(request);
+        return ClientCalls.futureUnaryCall(
+            newCall(MessagingServiceGrpc.getEndTransactionMethod(), metadata, executor, duration), request);
     }
 
     @Override
     public ListenableFuture<NotifyClientTerminationResponse> notifyClientTermination(Metadata metadata,
         NotifyClientTerminationRequest request, Executor executor, Duration duration) {
         this.activityNanoTime = System.nanoTime();
-        return futureStub.withInterceptors(MetadataUtils.newAttachHeadersInterceptor(metadata)).withExecutor(executor)
-            .withDeadlineAfter(duration.toNanos(), TimeUnit.NANOSECONDS).notifyClientTermination(request);
+        return ClientCalls.futureUnaryCall(
+            newCall(MessagingServiceGrpc.getNotifyClientTerminationMethod(), metadata, executor, duration), request);
     }
 
     @Override
     public StreamObserver<TelemetryCommand> telemetry(Metadata metadata, Executor executor, Duration duration,
         StreamObserver<TelemetryCommand> responseObserver) {
-        final ClientInterceptor interceptor = MetadataUtils.newAttachHeadersInterceptor(metadata);
-        final MessagingServiceGrpc.MessagingServiceStub stub0 = this.stub.withInterceptors(interceptor)
-            .withExecutor(executor).withDeadlineAfter(duration.toNanos(), TimeUnit.NANOSECONDS);
-        return stub0.telemetry(responseObserver);
+        return ClientCalls.asyncBidiStreamingCall(newCall(MessagingServiceGrpc.getTelemetryMethod(), metadata,
+            executor, duration), responseObserver);
     }
 }
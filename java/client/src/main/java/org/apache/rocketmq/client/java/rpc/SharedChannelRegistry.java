@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.rpc;
+
+import com.google.common.base.Objects;
+import com.google.errorprone.annotations.concurrent.GuardedBy;
+import io.grpc.ManagedChannel;
+import io.grpc.netty.shaded.io.grpc.netty.GrpcSslContexts;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import io.grpc.netty.shaded.io.netty.channel.ChannelOption;
+import io.grpc.netty.shaded.io.netty.handler.ssl.SslContext;
+import io.grpc.netty.shaded.io.netty.handler.ssl.SslContextBuilder;
+import io.grpc.netty.shaded.io.netty.handler.ssl.util.InsecureTrustManagerFactory;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.net.ssl.SSLException;
+import org.apache.rocketmq.client.java.route.Endpoints;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Process-wide registry of gRPC channels, which makes all clients in the same JVM share the connections to the same
+ * endpoints.
+ *
+ * <p>Channels are pooled by {@link ChannelPool} and reference-counted, each {@link RpcClientImpl} holds one
+ * reference. The pool is shut down once the last reference is released, which happens when all clients have cleared
+ * their idle {@link RpcClient} or have been shut down.
+ */
+public class SharedChannelRegistry {
+    private static final Logger log = LoggerFactory.getLogger(SharedChannelRegistry.class);
+
+    private static final int CONNECT_TIMEOUT_MILLIS = 3 * 1000;
+    private static final int GRPC_MAX_MESSAGE_SIZE = Integer.MAX_VALUE;
+
+    private static final SharedChannelRegistry INSTANCE = new SharedChannelRegistry();
+
+    @GuardedBy("channelTableLock")
+    private final Map<Key, SharedChannelPool> channelTable;
+    private final Lock channelTableLock;
+
+    SharedChannelRegistry() {
+        this.channelTable = new HashMap<>();
+        this.channelTableLock = new ReentrantLock();
+    }
+
+    public static SharedChannelRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Acquire a reference of the channel pool to the endpoints, the pool is created if absent.
+     *
+     * @param endpoints  endpoints of the channels.
+     * @param sslEnabled whether to enable SSL/TLS.
+     * @param poolSize   count of channels in the pool.
+     * @return the shared channel pool, which must be released by
+     * {@link #release(Endpoints, boolean, int, ChannelPool)}.
+     * @throws SSLException if failed to build the SSL context.
+     */
+    ChannelPool acquire(Endpoints endpoints, boolean sslEnabled, int poolSize) throws SSLException {
+        final Key key = new Key(endpoints, sslEnabled, poolSize);
+        channelTableLock.lock();
+        try {
+            SharedChannelPool sharedChannelPool = channelTable.get(key);
+            if (null == sharedChannelPool) {
+                final List<ManagedChannel> channels = new ArrayList<>(poolSize);
+                try {
+                    for (int i = 0; i < poolSize; i++) {
+                        channels.add(buildChannel(endpoints, sslEnabled));
+                    }
+                } catch (Throwable t) {
+                    log.error("Failed to build channel pool, shut down the built channels, endpoints={}, "
+                        + "sslEnabled={}, poolSize={}, builtChannels={}", endpoints, sslEnabled, poolSize,
+                        channels.size(), t);
+                    for (ManagedChannel channel : channels) {
+                        channel.shutdownNow();
+                    }
+                    throw t;
+                }
+                sharedChannelPool = new SharedChannelPool(new ChannelPool(channels));
+                channelTable.put(key, sharedChannelPool);
+                log.info("Create shared channel pool, endpoints={}, sslEnabled={}, poolSize={}", endpoints,
+                    sslEnabled, poolSize);
+            }
+            sharedChannelPool.refCount++;
+            return sharedChannelPool.channelPool;
+        } finally {
+            channelTableLock.unlock();
+        }
+    }
+
+    /**
+     * Release the reference of channel pool, and shut down the pool if it is the last reference.
+     *
+     * @param endpoints   endpoints of the channels.
+     * @param sslEnabled  whether to enable SSL/TLS.
+     * @param poolSize    count of channels in the pool.
+     * @param channelPool the channel pool returned by {@link #acquire(Endpoints, boolean, int)}.
+     * @throws InterruptedException if the thread is interrupted while waiting for the channel termination.
+     */
+    void release(Endpoints endpoints, boolean sslEnabled, int poolSize, ChannelPool channelPool)
+        throws InterruptedException {
+        final Key key = new Key(endpoints, sslEnabled, poolSize);
+        channelTableLock.lock();
+        try {
+            final SharedChannelPool sharedChannelPool = channelTable.get(key);
+            if (null == sharedChannelPool || sharedChannelPool.channelPool != channelPool) {
+                log.error("[Bug] Release channel pool which is not registered, endpoints={}, sslEnabled={}, "
+                    + "poolSize={}", endpoints, sslEnabled, poolSize);
+                return;
+            }
+            if (--sharedChannelPool.refCount > 0) {
+                return;
+            }
+            channelTable.remove(key);
+        } finally {
+            channelTableLock.unlock();
+        }
+        // Wait for the termination outside the lock, which may take a while.
+        channelPool.shutdown();
+        log.info("Shutdown shared channel pool, endpoints={}, sslEnabled={}, poolSize={}", endpoints, sslEnabled,
+            poolSize);
+    }
+
+    int getRefCount(Endpoints endpoints, boolean sslEnabled, int poolSize) {
+        channelTableLock.lock();
+        try {
+            final SharedChannelPool sharedChannelPool = channelTable.get(new Key(endpoints, sslEnabled, poolSize));
+            return null == sharedChannelPool ? 0 : sharedChannelPool.refCount;
+        } finally {
+            channelTableLock.unlock();
+        }
+    }
+
+    @SuppressWarnings("deprecation")
+    ManagedChannel buildChannel(Endpoints endpoints, boolean sslEnabled) throws SSLException {
+        final NettyChannelBuilder channelBuilder =
+            NettyChannelBuilder.forTarget(endpoints.getGrpcTarget())
+                .withOption(ChannelOption.CONNECT_TIMEOUT_MILLIS, CONNECT_TIMEOUT_MILLIS)
+                .maxInboundMessageSize(GRPC_MAX_MESSAGE_SIZE)
+                .intercept(LoggingInterceptor.getInstance());
+
+        if (sslEnabled) {
+            final SslContextBuilder builder = GrpcSslContexts.forClient();
+            builder.trustManager(InsecureTrustManagerFactory.INSTANCE);
+            SslContext sslContext = builder.build();
+            channelBuilder.sslContext(sslContext);
+        } else {
+            channelBuilder.usePlaintext();
+        }
+
+        // Disable grpc's auto-retry here.
+        channelBuilder.disableRetry();
+        final List<InetSocketAddress> socketAddresses = endpoints.toSocketAddresses();
+        if (null != socketAddresses) {
+            final IpNameResolverFactory ipNameResolverFactory = new IpNameResolverFactory(socketAddresses);
+            channelBuilder.nameResolverFactory(ipNameResolverFactory);
+        }
+        return channelBuilder.build();
+    }
+
+    private static class SharedChannelPool {
+        private final ChannelPool channelPool;
+        private int refCount;
+
+        private SharedChannelPool(ChannelPool channelPool) {
+            this.channelPool = channelPool;
+            this.refCount = 0;
+        }
+    }
+
+    private static class Key {
+        private final Endpoints endpoints;
+        private final boolean sslEnabled;
+        private final int poolSize;
+
+        private Key(Endpoints endpoints, boolean sslEnabled, int poolSize) {
+            this.endpoints = endpoints;
+            this.sslEnabled = sslEnabled;
+            this.poolSize = poolSize;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return sslEnabled == key.sslEnabled && poolSize == key.poolSize && Objects.equal(endpoints, key.endpoints);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(endpoints, sslEnabled, poolSize);
+        }
+    }
+}
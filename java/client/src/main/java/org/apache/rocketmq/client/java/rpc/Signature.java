@@ -20,8 +20,10 @@ package org.apache.rocketmq.client.java.rpc;
 import io.grpc.Metadata;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.Optional;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.rocketmq.client.apis.ClientConfiguration;
@@ -50,25 +52,103 @@ public class Signature {
     public static final String SIGNATURE = "Signature";
     public static final String DATE_TIME_FORMAT = "yyyyMMdd'T'HHmmss'Z'";
 
+    private static final Metadata.Key<String> AUTHORIZATION_METADATA_KEY =
+        Metadata.Key.of(AUTHORIZATION_KEY, Metadata.ASCII_STRING_MARSHALLER);
+    private static final Metadata.Key<String> DATE_TIME_METADATA_KEY =
+        Metadata.Key.of(DATE_TIME_KEY, Metadata.ASCII_STRING_MARSHALLER);
+    private static final Metadata.Key<String> SESSION_TOKEN_METADATA_KEY =
+        Metadata.Key.of(SESSION_TOKEN_KEY, Metadata.ASCII_STRING_MARSHALLER);
+    private static final Metadata.Key<String> CLIENT_ID_METADATA_KEY =
+        Metadata.Key.of(CLIENT_ID_KEY, Metadata.ASCII_STRING_MARSHALLER);
+    private static final Metadata.Key<String> REQUEST_ID_METADATA_KEY =
+        Metadata.Key.of(REQUEST_ID_KEY, Metadata.ASCII_STRING_MARSHALLER);
+
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern(DATE_TIME_FORMAT);
+
+    /**
+     * Headers which are same for all RPCs of the process, which are merged into the metadata of each RPC.
+     */
+    private static final Metadata HEADER_TEMPLATE = newHeaderTemplate();
+
+    /**
+     * The signature only covers the date time, whose resolution is second, so the authorization is reused within the
+     * same second for the same credentials. Credentials are compared by identity, so the secret is neither copied
+     * nor hashed for each RPC, and the authorization is recomputed once the provider returns another credentials
+     * object. Clients with different credentials in the same process take turns, which signs each RPC at worst.
+     */
+    private static volatile CachedAuthorization cachedAuthorization = new CachedAuthorization(null, null, null);
+
+    private static volatile CachedDateTime cachedDateTime = new CachedDateTime(Long.MIN_VALUE, null);
+
     private Signature() {
     }
 
+    private static Metadata newHeaderTemplate() {
+        final Metadata template = new Metadata();
+        template.put(Metadata.Key.of(LANGUAGE_KEY, Metadata.ASCII_STRING_MARSHALLER), "JAVA");
+        template.put(Metadata.Key.of(PROTOCOL_VERSION, Metadata.ASCII_STRING_MARSHALLER),
+            Utilities.getProtocolVersion());
+        template.put(Metadata.Key.of(CLIENT_VERSION_KEY, Metadata.ASCII_STRING_MARSHALLER),
+            MetadataUtils.getVersion());
+        return template;
+    }
+
+    /**
+     * Format current time by {@link #DATE_TIME_FORMAT} in the system default time zone, the result is cached until
+     * the second changes.
+     */
+    static String dateTime() {
+        final long epochSecond = System.currentTimeMillis() / 1000;
+        final CachedDateTime cached = cachedDateTime;
+        if (cached.epochSecond == epochSecond) {
+            return cached.dateTime;
+        }
+        final LocalDateTime localDateTime = LocalDateTime.ofInstant(Instant.ofEpochSecond(epochSecond),
+            ZoneId.systemDefault());
+        final String dateTime = DATE_TIME_FORMATTER.format(localDateTime);
+        cachedDateTime = new CachedDateTime(epochSecond, dateTime);
+        return dateTime;
+    }
+
+    static String authorization(SessionCredentials credentials, String dateTime)
+        throws NoSuchAlgorithmException, InvalidKeyException {
+        final CachedAuthorization cached = cachedAuthorization;
+        if (cached.credentials == credentials && dateTime.equals(cached.dateTime)) {
+            return cached.authorization;
+        }
+        final String accessKey = credentials.getAccessKey();
+        final String accessSecret = credentials.getAccessSecret();
+        String sign = TLSHelper.sign(accessSecret, dateTime);
+
+        final String authorization = ALGORITHM
+            + " "
+            + CREDENTIAL
+            + "="
+            + accessKey
+            + ", "
+            + SIGNED_HEADERS
+            + "="
+            + DATE_TIME_KEY
+            + ", "
+            + SIGNATURE
+            + "="
+            + sign;
+        cachedAuthorization = new CachedAuthorization(credentials, dateTime, authorization);
+        return authorization;
+    }
+
     public static Metadata sign(ClientConfiguration config, ClientId clientId) throws
         NoSuchAlgorithmException, InvalidKeyException {
         Metadata metadata = new Metadata();
+        metadata.merge(HEADER_TEMPLATE);
 
-        metadata.put(Metadata.Key.of(LANGUAGE_KEY, Metadata.ASCII_STRING_MARSHALLER), "JAVA");
-        metadata.put(Metadata.Key.of(PROTOCOL_VERSION, Metadata.ASCII_STRING_MARSHALLER),
-            Utilities.getProtocolVersion());
-        metadata.put(Metadata.Key.of(CLIENT_VERSION_KEY, Metadata.ASCII_STRING_MARSHALLER), MetadataUtils.getVersion());
-
-        String dateTime = new SimpleDateFormat(DATE_TIME_FORMAT).format(new Date());
-        metadata.put(Metadata.Key.of(DATE_TIME_KEY, Metadata.ASCII_STRING_MARSHALLER), dateTime);
+        final String dateTime = dateTime();
+        metadata.put(DATE_TIME_METADATA_KEY, dateTime);
 
         final String requestId = RequestIdGenerator.getInstance().next();
-        metadata.put(Metadata.Key.of(REQUEST_ID_KEY, Metadata.ASCII_STRING_MARSHALLER), requestId);
+        metadata.put(REQUEST_ID_METADATA_KEY, requestId);
 
-        metadata.put(Metadata.Key.of(CLIENT_ID_KEY, Metadata.ASCII_STRING_MARSHALLER), clientId.toString());
+        metadata.put(CLIENT_ID_METADATA_KEY, clientId.toString());
 
         final Optional<SessionCredentialsProvider> optionalSessionCredentialsProvider =
             config.getCredentialsProvider();
@@ -82,8 +162,7 @@ public class Signature {
         }
 
         final Optional<String> optionalSecurityToken = credentials.tryGetSecurityToken();
-        optionalSecurityToken.ifPresent(s -> metadata.put(Metadata.Key.of(SESSION_TOKEN_KEY,
-            Metadata.ASCII_STRING_MARSHALLER), s));
+        optionalSecurityToken.ifPresent(s -> metadata.put(SESSION_TOKEN_METADATA_KEY, s));
 
         final String accessKey = credentials.getAccessKey();
         final String accessSecret = credentials.getAccessSecret();
@@ -96,23 +175,29 @@ public class Signature {
             return metadata;
         }
 
-        String sign = TLSHelper.sign(accessSecret, dateTime);
+        metadata.put(AUTHORIZATION_METADATA_KEY, authorization(credentials, dateTime));
+        return metadata;
+    }
 
-        final String authorization = ALGORITHM
-            + " "
-            + CREDENTIAL
-            + "="
-            + accessKey
-            + ", "
-            + SIGNED_HEADERS
-            + "="
-            + DATE_TIME_KEY
-            + ", "
-            + SIGNATURE
-            + "="
-            + sign;
+    private static class CachedDateTime {
+        private final long epochSecond;
+        private final String dateTime;
 
-        metadata.put(Metadata.Key.of(AUTHORIZATION_KEY, Metadata.ASCII_STRING_MARSHALLER), authorization);
-        return metadata;
+        private CachedDateTime(long epochSecond, String dateTime) {
+            this.epochSecond = epochSecond;
+            this.dateTime = dateTime;
+        }
+    }
+
+    private static class CachedAuthorization {
+        private final SessionCredentials credentials;
+        private final String dateTime;
+        private final String authorization;
+
+        private CachedAuthorization(SessionCredentials credentials, String dateTime, String authorization) {
+            this.credentials = credentials;
+            this.dateTime = dateTime;
+            this.authorization = authorization;
+        }
     }
-}
\ No newline at end of file
+}
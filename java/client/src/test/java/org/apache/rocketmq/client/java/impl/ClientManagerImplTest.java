@@ -44,6 +44,7 @@ public class ClientManagerImplTest extends TestBase {
         Client client = Mockito.mock(Client.class);
         final Metadata metadata = new Metadata();
         Mockito.doReturn(metadata).when(client).sign();
+        Mockito.doReturn(1).when(client).getConnectionPoolSize();
         final ClientId clientId = new ClientId();
         Mockito.doReturn(clientId).when(client).getClientId();
         CLIENT_MANAGER = new ClientManagerImpl(client);
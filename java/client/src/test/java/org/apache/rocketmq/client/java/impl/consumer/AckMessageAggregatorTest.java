@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.impl.consumer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import apache.rocketmq.v2.AckMessageResponse;
+import apache.rocketmq.v2.AckMessageResultEntry;
+import apache.rocketmq.v2.Code;
+import apache.rocketmq.v2.Status;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.protobuf.ByteString;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import org.apache.rocketmq.client.java.message.MessageIdCodec;
+import org.apache.rocketmq.client.java.message.MessageViewImpl;
+import org.apache.rocketmq.client.java.misc.ThreadFactoryImpl;
+import org.apache.rocketmq.client.java.route.Endpoints;
+import org.apache.rocketmq.client.java.rpc.RpcFuture;
+import org.apache.rocketmq.client.java.tool.TestBase;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class AckMessageAggregatorTest extends TestBase {
+    private final ConsumerImpl consumer = Mockito.mock(ConsumerImpl.class);
+
+    @Before
+    public void setUp() {
+        when(consumer.getScheduler()).thenReturn(new ScheduledThreadPoolExecutor(1,
+            new ThreadFactoryImpl("TestScheduler")));
+    }
+
+    private MessageViewImpl fakeMessageViewImpl(String receiptHandle) {
+        return new MessageViewImpl(MessageIdCodec.getInstance().nextMessageId(), FAKE_TOPIC_0,
+            ByteString.copyFromUtf8("foobar"), null, null, null, new ArrayList<>(), new HashMap<>(), FAKE_HOST_0, 1,
+            1, fakeMessageQueueImpl0(), receiptHandle, 1, false, System.currentTimeMillis());
+    }
+
+    private RpcFuture<?, AckMessageResponse> ackMessageResponseFuture(AckMessageResponse response) {
+        return new RpcFuture<>(fakeRpcContext(), null, Futures.immediateFuture(response));
+    }
+
+    @Test
+    public void testSendOnceBatchIsFull() throws ExecutionException, InterruptedException {
+        final AckMessageAggregator aggregator = new AckMessageAggregator(consumer, 2, Duration.ofSeconds(30));
+        final MessageViewImpl messageView0 = fakeMessageViewImpl(FAKE_RECEIPT_HANDLE_0);
+        final MessageViewImpl messageView1 = fakeMessageViewImpl(FAKE_RECEIPT_HANDLE_1);
+        final Status okStatus = Status.newBuilder().setCode(Code.OK).build();
+        final Status invalidStatus = Status.newBuilder().setCode(Code.INVALID_RECEIPT_HANDLE).build();
+        final AckMessageResponse response = AckMessageResponse.newBuilder()
+            .setStatus(Status.newBuilder().setCode(Code.MULTIPLE_RESULTS).build())
+            .addEntries(AckMessageResultEntry.newBuilder().setReceiptHandle(FAKE_RECEIPT_HANDLE_0)
+                .setStatus(okStatus).build())
+            .addEntries(AckMessageResultEntry.newBuilder().setReceiptHandle(FAKE_RECEIPT_HANDLE_1)
+                .setStatus(invalidStatus).build())
+            .build();
+        Mockito.doReturn(ackMessageResponseFuture(response)).when(consumer)
+            .ackMessages(any(Endpoints.class), anyString(), anyList());
+        final ListenableFuture<AckMessageAggregator.Result> future0 = aggregator.ackMessage(messageView0);
+        assertFalse(future0.isDone());
+        final ListenableFuture<AckMessageAggregator.Result> future1 = aggregator.ackMessage(messageView1);
+        verify(consumer, times(1)).ackMessages(eq(messageView0.getEndpoints()), eq(FAKE_TOPIC_0),
+            eq(Arrays.asList(messageView0, messageView1)));
+        assertEquals(Code.OK, future0.get().getStatus().getCode());
+        assertEquals(Code.INVALID_RECEIPT_HANDLE, future1.get().getStatus().getCode());
+        assertEquals(future0.get().getRequestId(), future1.get().getRequestId());
+    }
+
+    @Test
+    public void testSendOnceDelayElapsed() throws ExecutionException, InterruptedException {
+        final AckMessageAggregator aggregator = new AckMessageAggregator(consumer, 16, Duration.ofMillis(100));
+        final AckMessageResponse response = AckMessageResponse.newBuilder()
+            .setStatus(Status.newBuilder().setCode(Code.OK).build()).build();
+        Mockito.doReturn(ackMessageResponseFuture(response)).when(consumer)
+            .ackMessages(any(Endpoints.class), anyString(), anyList());
+        final ListenableFuture<AckMessageAggregator.Result> future =
+            aggregator.ackMessage(fakeMessageViewImpl(FAKE_RECEIPT_HANDLE_0));
+        verify(consumer, never()).ackMessages(any(Endpoints.class), anyString(), anyList());
+        verify(consumer, timeout(1000).times(1)).ackMessages(any(Endpoints.class), anyString(), anyList());
+        // Use the status of the whole response if the entry is absent.
+        assertEquals(Code.OK, future.get().getStatus().getCode());
+    }
+
+    @Test
+    public void testSendAtOnceIfBatchingDisabled() throws ExecutionException, InterruptedException {
+        final AckMessageAggregator aggregator = new AckMessageAggregator(consumer, 1, Duration.ZERO);
+        final AckMessageResponse response = AckMessageResponse.newBuilder()
+            .setStatus(Status.newBuilder().setCode(Code.OK).build()).build();
+        Mockito.doReturn(ackMessageResponseFuture(response)).when(consumer)
+            .ackMessages(any(Endpoints.class), anyString(), anyList());
+        final MessageViewImpl messageView = fakeMessageViewImpl(FAKE_RECEIPT_HANDLE_0);
+        final ListenableFuture<AckMessageAggregator.Result> future = aggregator.ackMessage(messageView);
+        verify(consumer, times(1)).ackMessages(eq(messageView.getEndpoints()), eq(FAKE_TOPIC_0),
+            eq(Collections.singletonList(messageView)));
+        // No delayed flush is scheduled.
+        verify(consumer, never()).getScheduler();
+        assertEquals(Code.OK, future.get().getStatus().getCode());
+    }
+
+    @Test
+    public void testAckMessageImmediately() throws ExecutionException, InterruptedException {
+        final AckMessageAggregator aggregator = new AckMessageAggregator(consumer, 16, Duration.ofSeconds(30));
+        final AckMessageResponse response = AckMessageResponse.newBuilder()
+            .setStatus(Status.newBuilder().setCode(Code.OK).build()).build();
+        Mockito.doReturn(ackMessageResponseFuture(response)).when(consumer)
+            .ackMessages(any(Endpoints.class), anyString(), anyList());
+        final MessageViewImpl messageView0 = fakeMessageViewImpl(FAKE_RECEIPT_HANDLE_0);
+        final MessageViewImpl messageView1 = fakeMessageViewImpl(FAKE_RECEIPT_HANDLE_1);
+        aggregator.ackMessage(messageView0);
+        final ListenableFuture<AckMessageAggregator.Result> future = aggregator.ackMessageImmediately(messageView1);
+        // The pending acknowledgement is not sent along with the immediate one.
+        verify(consumer, times(1)).ackMessages(eq(messageView1.getEndpoints()), eq(FAKE_TOPIC_0),
+            eq(Collections.singletonList(messageView1)));
+        assertEquals(Code.OK, future.get().getStatus().getCode());
+    }
+
+    @Test
+    public void testFlush() {
+        final AckMessageAggregator aggregator = new AckMessageAggregator(consumer, 16, Duration.ofSeconds(30));
+        final AckMessageResponse response = AckMessageResponse.newBuilder()
+            .setStatus(Status.newBuilder().setCode(Code.OK).build()).build();
+        Mockito.doReturn(ackMessageResponseFuture(response)).when(consumer)
+            .ackMessages(any(Endpoints.class), anyString(), anyList());
+        final ListenableFuture<AckMessageAggregator.Result> future =
+            aggregator.ackMessage(fakeMessageViewImpl(FAKE_RECEIPT_HANDLE_0));
+        verify(consumer, after(100).never()).ackMessages(any(Endpoints.class), anyString(), anyList());
+        aggregator.flush();
+        verify(consumer, times(1)).ackMessages(any(Endpoints.class), anyString(), anyList());
+        assertTrue(future.isDone());
+    }
+
+    @Test(expected = ExecutionException.class)
+    public void testAckWithException() throws ExecutionException, InterruptedException {
+        final AckMessageAggregator aggregator = new AckMessageAggregator(consumer, 1, Duration.ofSeconds(30));
+        Mockito.doReturn(new RpcFuture<>(new Exception())).when(consumer)
+            .ackMessages(any(Endpoints.class), anyString(), anyList());
+        aggregator.ackMessage(fakeMessageViewImpl(FAKE_RECEIPT_HANDLE_0)).get();
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.impl.consumer;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.apache.rocketmq.client.apis.consumer.BatchConsumeResult;
+import org.apache.rocketmq.client.apis.consumer.BatchMessageListener;
+import org.apache.rocketmq.client.apis.consumer.ConsumeResult;
+import org.apache.rocketmq.client.apis.message.MessageView;
+import org.apache.rocketmq.client.java.hook.MessageInterceptor;
+import org.apache.rocketmq.client.java.message.MessageViewImpl;
+import org.apache.rocketmq.client.java.misc.ClientId;
+import org.apache.rocketmq.client.java.misc.ThreadFactoryImpl;
+import org.apache.rocketmq.client.java.tool.TestBase;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class BatchConsumeServiceTest extends TestBase {
+    private final ClientId clientId = new ClientId();
+    private final MessageInterceptor interceptor = Mockito.mock(MessageInterceptor.class);
+    private final ThreadPoolExecutor consumptionExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+        new LinkedBlockingQueue<>(), new ThreadFactoryImpl("TestMessageConsumption"));
+    private final ScheduledExecutorService scheduler = new ScheduledThreadPoolExecutor(1, new ThreadFactoryImpl(
+        "TestScheduler"));
+
+    @Test
+    public void testConsumeWithoutAwait() {
+        final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        final BatchMessageListener listener = messageViews -> {
+            batchSizes.add(messageViews.size());
+            return BatchConsumeResult.success();
+        };
+        final BatchConsumeService consumeService = new BatchConsumeService(clientId, listener, 2, Duration.ZERO,
+            consumptionExecutor, interceptor, scheduler);
+        final ProcessQueue pq = Mockito.mock(ProcessQueue.class);
+        final List<MessageViewImpl> messageViews = Arrays.asList(fakeMessageViewImpl(), fakeMessageViewImpl(),
+            fakeMessageViewImpl());
+        consumeService.consume(pq, messageViews);
+        for (MessageViewImpl messageView : messageViews) {
+            verify(pq, timeout(1000).times(1)).eraseMessage(messageView, ConsumeResult.SUCCESS);
+        }
+        assertEquals(Arrays.asList(2, 1), batchSizes);
+    }
+
+    @Test
+    public void testConsumeWithPerMessageResults() {
+        final BatchMessageListener listener = messageViews -> {
+            final List<ConsumeResult> results = new ArrayList<>();
+            for (int i = 0; i < messageViews.size(); i++) {
+                results.add(i % 2 == 0 ? ConsumeResult.SUCCESS : ConsumeResult.FAILURE);
+            }
+            return BatchConsumeResult.of(results);
+        };
+        final BatchConsumeService consumeService = new BatchConsumeService(clientId, listener, 16, Duration.ZERO,
+            consumptionExecutor, interceptor, scheduler);
+        final ProcessQueue pq = Mockito.mock(ProcessQueue.class);
+        final MessageViewImpl messageView0 = fakeMessageViewImpl();
+        final MessageViewImpl messageView1 = fakeMessageViewImpl();
+        consumeService.consume(pq, Arrays.asList(messageView0, messageView1));
+        verify(pq, timeout(1000).times(1)).eraseMessage(messageView0, ConsumeResult.SUCCESS);
+        verify(pq, timeout(1000).times(1)).eraseMessage(messageView1, ConsumeResult.FAILURE);
+    }
+
+    @Test
+    public void testConsumeWithException() {
+        final BatchMessageListener listener = messageViews -> {
+            throw new RuntimeException();
+        };
+        final BatchConsumeService consumeService = new BatchConsumeService(clientId, listener, 16, Duration.ZERO,
+            consumptionExecutor, interceptor, scheduler);
+        final ProcessQueue pq = Mockito.mock(ProcessQueue.class);
+        final MessageViewImpl messageView = fakeMessageViewImpl();
+        consumeService.consume(pq, Arrays.asList(messageView));
+        verify(pq, timeout(1000).times(1)).eraseMessage(messageView, ConsumeResult.FAILURE);
+    }
+
+    @Test
+    public void testDiscardCorruptedMessage() {
+        final List<MessageView> consumed = new CopyOnWriteArrayList<>();
+        final BatchMessageListener listener = messageViews -> {
+            consumed.addAll(messageViews);
+            return BatchConsumeResult.success();
+        };
+        final BatchConsumeService consumeService = new BatchConsumeService(clientId, listener, 16, Duration.ZERO,
+            consumptionExecutor, interceptor, scheduler);
+        final ProcessQueue pq = Mockito.mock(ProcessQueue.class);
+        final MessageViewImpl corrupted = fakeMessageViewImpl(true);
+        final MessageViewImpl messageView = fakeMessageViewImpl();
+        consumeService.consume(pq, Arrays.asList(corrupted, messageView));
+        verify(pq, timeout(1000).times(1)).eraseMessage(messageView, ConsumeResult.SUCCESS);
+        verify(pq, times(1)).discardMessage(corrupted);
+        assertEquals(1, consumed.size());
+    }
+
+    @Test
+    public void testConsumeOnceBatchIsFull() {
+        final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        final BatchMessageListener listener = messageViews -> {
+            batchSizes.add(messageViews.size());
+            return BatchConsumeResult.success();
+        };
+        final BatchConsumeService consumeService = new BatchConsumeService(clientId, listener, 2,
+            Duration.ofSeconds(30), consumptionExecutor, interceptor, scheduler);
+        final ProcessQueue pq = Mockito.mock(ProcessQueue.class);
+        final MessageViewImpl messageView0 = fakeMessageViewImpl();
+        final MessageViewImpl messageView1 = fakeMessageViewImpl();
+        consumeService.consume(pq, Arrays.asList(messageView0));
+        verify(pq, after(200).never()).eraseMessage(any(MessageViewImpl.class), any(ConsumeResult.class));
+        consumeService.consume(pq, Arrays.asList(messageView1));
+        verify(pq, timeout(1000).times(1)).eraseMessage(messageView0, ConsumeResult.SUCCESS);
+        verify(pq, timeout(1000).times(1)).eraseMessage(messageView1, ConsumeResult.SUCCESS);
+        assertEquals(Arrays.asList(2), batchSizes);
+    }
+
+    @Test
+    public void testConsumeOnceAwaitExpired() {
+        final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        final BatchMessageListener listener = messageViews -> {
+            batchSizes.add(messageViews.size());
+            return BatchConsumeResult.success();
+        };
+        final BatchConsumeService consumeService = new BatchConsumeService(clientId, listener, 16,
+            Duration.ofMillis(100), consumptionExecutor, interceptor, scheduler);
+        final ProcessQueue pq = Mockito.mock(ProcessQueue.class);
+        final MessageViewImpl messageView0 = fakeMessageViewImpl();
+        final MessageViewImpl messageView1 = fakeMessageViewImpl();
+        consumeService.consume(pq, Arrays.asList(messageView0, messageView1));
+        verify(pq, never()).eraseMessage(any(MessageViewImpl.class), any(ConsumeResult.class));
+        verify(pq, timeout(1000).times(1)).eraseMessage(messageView0, ConsumeResult.SUCCESS);
+        verify(pq, timeout(1000).times(1)).eraseMessage(messageView1, ConsumeResult.SUCCESS);
+        assertEquals(Arrays.asList(2), batchSizes);
+    }
+
+    @Test
+    public void testDiscardPendingBatch() {
+        final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        final BatchMessageListener listener = messageViews -> {
+            batchSizes.add(messageViews.size());
+            return BatchConsumeResult.success();
+        };
+        final BatchConsumeService consumeService = new BatchConsumeService(clientId, listener, 16,
+            Duration.ofMillis(100), consumptionExecutor, interceptor, scheduler);
+        final ProcessQueue pq0 = Mockito.mock(ProcessQueue.class);
+        final ProcessQueue pq1 = Mockito.mock(ProcessQueue.class);
+        consumeService.consume(pq0, Arrays.asList(fakeMessageViewImpl()));
+        consumeService.consume(pq1, Arrays.asList(fakeMessageViewImpl()));
+        consumeService.discard(pq0);
+        verify(pq1, timeout(1000).times(1)).eraseMessage(any(MessageViewImpl.class), any(ConsumeResult.class));
+        verify(pq0, after(200).never()).eraseMessage(any(MessageViewImpl.class), any(ConsumeResult.class));
+        consumeService.consume(pq1, Arrays.asList(fakeMessageViewImpl()));
+        consumeService.discardAll();
+        verify(pq1, after(200).times(1)).eraseMessage(any(MessageViewImpl.class), any(ConsumeResult.class));
+        assertEquals(Arrays.asList(1), batchSizes);
+    }
+}
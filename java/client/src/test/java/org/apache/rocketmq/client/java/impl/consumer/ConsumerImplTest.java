@@ -23,13 +23,21 @@ import apache.rocketmq.v2.AckMessageRequest;
 import apache.rocketmq.v2.AckMessageResponse;
 import apache.rocketmq.v2.ChangeInvisibleDurationRequest;
 import apache.rocketmq.v2.ChangeInvisibleDurationResponse;
+import apache.rocketmq.v2.Code;
 import apache.rocketmq.v2.ReceiveMessageRequest;
 import apache.rocketmq.v2.ReceiveMessageResponse;
+import apache.rocketmq.v2.Status;
+import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.protobuf.util.Timestamps;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
 import org.apache.rocketmq.client.apis.ClientConfiguration;
 import org.apache.rocketmq.client.apis.consumer.ConsumeResult;
 import org.apache.rocketmq.client.apis.consumer.FilterExpression;
@@ -78,6 +86,53 @@ public class ConsumerImplTest extends TestBase {
         Assert.assertEquals(receiveMessageResult.getMessageViews().size(), receivedMessageCount);
     }
 
+    @Test
+    public void testReceiveMessageInStreaming() throws ExecutionException, InterruptedException {
+        int maxCacheMessageCount = 8;
+        int maxCacheMessageSizeInBytes = 1024;
+        int consumptionThreadCount = 4;
+        int decodingParallelism = 4;
+        PushConsumerImpl pushConsumer = Mockito.spy(new PushConsumerImpl(clientConfiguration, FAKE_CONSUMER_GROUP_0,
+            subscriptionExpressions, messageListener, maxCacheMessageCount, maxCacheMessageSizeInBytes,
+            consumptionThreadCount, false, decodingParallelism, 1, 0, 1, Duration.ZERO, 0));
+        final ClientManager clientManager = Mockito.mock(ClientManager.class);
+        Mockito.doReturn(clientManager).when(pushConsumer).getClientManager();
+        final long deliveryTimestamp = System.currentTimeMillis();
+        final List<ReceiveMessageResponse> responses = new ArrayList<>();
+        final List<String> messageIds = new ArrayList<>();
+        // The first message arrives ahead of the delivery timestamp.
+        for (int i = 0; i < 16; i++) {
+            if (1 == i) {
+                responses.add(ReceiveMessageResponse.newBuilder()
+                    .setDeliveryTimestamp(Timestamps.fromMillis(deliveryTimestamp)).build());
+            }
+            final apache.rocketmq.v2.Message message = fakePbMessage(FAKE_TOPIC_0);
+            messageIds.add(message.getSystemProperties().getMessageId());
+            responses.add(ReceiveMessageResponse.newBuilder().setMessage(message).build());
+        }
+        responses.add(ReceiveMessageResponse.newBuilder().setStatus(Status.newBuilder().setCode(Code.OK)).build());
+        Mockito.doAnswer(invocation -> {
+            final Consumer<ReceiveMessageResponse> responseConsumer = invocation.getArgument(3);
+            responses.forEach(responseConsumer);
+            return new RpcFuture<>(fakeRpcContext(), null, Futures.immediateFuture(null));
+        }).when(clientManager).receiveMessage(any(Endpoints.class), any(ReceiveMessageRequest.class),
+            any(Duration.class), any());
+        final MessageQueueImpl mq = fakeMessageQueueImpl(FAKE_TOPIC_0);
+        final ReceiveMessageRequest request = pushConsumer.wrapReceiveMessageRequest(16,
+            mq, new FilterExpression(), Duration.ofSeconds(15));
+        final List<MessageViewImpl> accepted = Collections.synchronizedList(new ArrayList<>());
+        final ListenableFuture<ReceiveMessageResult> future0 =
+            pushConsumer.receiveMessage(request, mq, Duration.ofSeconds(15), accepted::add);
+        final ReceiveMessageResult receiveMessageResult = future0.get();
+        Assert.assertEquals(messageIds.size(), receiveMessageResult.getMessageViews().size());
+        // Messages are handed over in arrival order, all with the delivery timestamp.
+        Assert.assertEquals(messageIds.size(), accepted.size());
+        for (int i = 0; i < messageIds.size(); i++) {
+            Assert.assertEquals(messageIds.get(i), accepted.get(i).getMessageId().toString());
+            Assert.assertEquals(Optional.of(deliveryTimestamp), accepted.get(i).getTransportDeliveryTimestamp());
+        }
+    }
+
     @Test
     public void testAckMessage() throws ExecutionException, InterruptedException {
         int maxCacheMessageCount = 8;
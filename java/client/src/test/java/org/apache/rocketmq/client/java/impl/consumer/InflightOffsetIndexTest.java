@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.impl.consumer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.Optional;
+import org.junit.Test;
+
+public class InflightOffsetIndexTest {
+    @Test
+    public void testEmpty() {
+        final InflightOffsetIndex index = new InflightOffsetIndex();
+        assertFalse(index.getMinOffset().isPresent());
+        assertFalse(index.getMaxOffset().isPresent());
+        assertEquals(0, index.getLag());
+    }
+
+    @Test
+    public void testAddAndRemove() {
+        final InflightOffsetIndex index = new InflightOffsetIndex();
+        index.add(12);
+        index.add(10);
+        index.add(11);
+        assertEquals(Optional.of(10L), index.getMinOffset());
+        assertEquals(Optional.of(12L), index.getMaxOffset());
+        assertEquals(3, index.getLag());
+        index.remove(11);
+        assertEquals(Optional.of(10L), index.getMinOffset());
+        assertEquals(3, index.getLag());
+        index.remove(10);
+        assertEquals(Optional.of(12L), index.getMinOffset());
+        assertEquals(1, index.getLag());
+        index.remove(12);
+        assertFalse(index.getMinOffset().isPresent());
+        assertEquals(0, index.getLag());
+    }
+
+    @Test
+    public void testLagIsMeasuredToMaxReceivedOffset() {
+        final InflightOffsetIndex index = new InflightOffsetIndex();
+        index.add(10);
+        index.add(20);
+        index.remove(20);
+        assertEquals(Optional.of(10L), index.getMaxOffset());
+        assertEquals(11, index.getLag());
+    }
+
+    @Test
+    public void testDuplicatedOffset() {
+        final InflightOffsetIndex index = new InflightOffsetIndex();
+        index.add(10);
+        index.add(10);
+        index.remove(10);
+        assertEquals(Optional.of(10L), index.getMinOffset());
+        index.remove(10);
+        assertFalse(index.getMinOffset().isPresent());
+        // Removing the absent offset takes no effect.
+        index.remove(10);
+        assertFalse(index.getMinOffset().isPresent());
+    }
+}
@@ -18,40 +18,46 @@
 package org.apache.rocketmq.client.java.impl.consumer;
 
 import static org.awaitility.Awaitility.await;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import apache.rocketmq.v2.AckMessageRequest;
-import apache.rocketmq.v2.AckMessageResponse;
 import apache.rocketmq.v2.ChangeInvisibleDurationRequest;
 import apache.rocketmq.v2.ChangeInvisibleDurationResponse;
 import apache.rocketmq.v2.Code;
 import apache.rocketmq.v2.ForwardMessageToDeadLetterQueueRequest;
 import apache.rocketmq.v2.ForwardMessageToDeadLetterQueueResponse;
 import apache.rocketmq.v2.ReceiveMessageRequest;
+import apache.rocketmq.v2.Status;
+import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.SettableFuture;
-import io.grpc.Metadata;
 import java.lang.reflect.Field;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import org.apache.rocketmq.client.apis.ClientConfiguration;
 import org.apache.rocketmq.client.apis.consumer.ConsumeResult;
 import org.apache.rocketmq.client.apis.consumer.FilterExpression;
 import org.apache.rocketmq.client.java.message.MessageViewImpl;
 import org.apache.rocketmq.client.java.misc.RequestIdGenerator;
 import org.apache.rocketmq.client.java.retry.RetryPolicy;
+import org.apache.rocketmq.client.java.route.Endpoints;
 import org.apache.rocketmq.client.java.route.MessageQueueImpl;
 import org.apache.rocketmq.client.java.rpc.RpcFuture;
-import org.apache.rocketmq.client.java.rpc.Signature;
 import org.apache.rocketmq.client.java.tool.TestBase;
 import org.junit.Before;
 import org.junit.Test;
@@ -107,6 +113,17 @@ public class ProcessQueueImplTest extends TestBase {
         assertFalse(processQueue.expired());
     }
 
+    @Test
+    public void testNotExpiredWhileReceptionIsPending() {
+        final ReceiveSession session = new ReceiveSession(FAKE_CLIENT_ID, fakeEndpoints(), 1);
+        // Take the only credit of the session.
+        session.submit(SettableFuture::create);
+        when(pushConsumer.getReceiveSession(any(Endpoints.class))).thenReturn(Optional.of(session));
+        processQueue.fetchMessageImmediately();
+        assertEquals(1, session.getPendingReceptions());
+        assertFalse(processQueue.expired());
+    }
+
     @Test
     public void testIsCacheFull() {
         when(pushConsumer.cacheMessageCountThresholdPerQueue()).thenReturn(8);
@@ -115,22 +132,59 @@ public class ProcessQueueImplTest extends TestBase {
     }
 
     @Test
+    public void testIsCacheFullOnOffsetSpan() {
+        when(pushConsumer.cacheMessageCountThresholdPerQueue()).thenReturn(8);
+        when(pushConsumer.cacheMessageBytesThresholdPerQueue()).thenReturn(1024);
+        when(pushConsumer.cacheOffsetSpanThresholdPerQueue()).thenReturn(16);
+        final MessageViewImpl stuckMessageView = mock(MessageViewImpl.class);
+        when(stuckMessageView.getOffset()).thenReturn(0L);
+        final MessageViewImpl messageView = mock(MessageViewImpl.class);
+        when(messageView.getOffset()).thenReturn(15L);
+        processQueue.cacheMessages(Arrays.asList(stuckMessageView, messageView));
+        // Only two messages are cached, but the stuck one holds the offset span.
+        assertTrue(processQueue.isCacheFull());
+        processQueue.evictCache(stuckMessageView);
+        assertFalse(processQueue.isCacheFull());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
     public void testReceiveMessageImmediately() {
         final int cachedMessagesCountThresholdPerQueue = 8;
         when(pushConsumer.cacheMessageCountThresholdPerQueue()).thenReturn(cachedMessagesCountThresholdPerQueue);
         final int cachedMessageBytesThresholdPerQueue = 1024;
         when(pushConsumer.cacheMessageBytesThresholdPerQueue()).thenReturn(cachedMessageBytesThresholdPerQueue);
-        List<MessageViewImpl> messageViewList = new ArrayList<>();
-        final MessageViewImpl messageView = fakeMessageViewImpl();
-        messageViewList.add(messageView);
-        final Metadata metadata = new Metadata();
-        metadata.put(Metadata.Key.of(Signature.REQUEST_ID_KEY, Metadata.ASCII_STRING_MARSHALLER),
-            RequestIdGenerator.getInstance().next());
-        ReceiveMessageResult receiveMessageResult = new ReceiveMessageResult(fakeEndpoints(), messageViewList);
-        SettableFuture<ReceiveMessageResult> future0 = SettableFuture.create();
-        future0.set(receiveMessageResult);
+        when(pushConsumer.isStreamingReception()).thenReturn(true);
         when(pushConsumer.receiveMessage(any(ReceiveMessageRequest.class), any(MessageQueueImpl.class),
-            any(Duration.class))).thenReturn(future0);
+            any(Duration.class), any(Consumer.class))).thenAnswer(invocation -> {
+                final MessageViewImpl messageView = fakeMessageViewImpl();
+                // Messages are handed over during the reception.
+                invocation.<Consumer<MessageViewImpl>>getArgument(3).accept(messageView);
+                return Futures.immediateFuture(new ReceiveMessageResult(fakeEndpoints(),
+                    Collections.singletonList(messageView)));
+            });
+        when(pushSubscriptionSettings.getReceiveBatchSize()).thenReturn(32);
+        ReceiveMessageRequest request = ReceiveMessageRequest.newBuilder().build();
+        when(pushConsumer.wrapReceiveMessageRequest(anyInt(), any(MessageQueueImpl.class),
+            any(FilterExpression.class), any(Duration.class))).thenReturn(request);
+        processQueue.fetchMessageImmediately();
+        await().atMost(Duration.ofSeconds(3))
+            .untilAsserted(() -> verify(pushConsumer, times(cachedMessagesCountThresholdPerQueue))
+                .receiveMessage(any(ReceiveMessageRequest.class), any(MessageQueueImpl.class), any(Duration.class),
+                    any(Consumer.class)));
+        assertEquals(cachedMessagesCountThresholdPerQueue, processQueue.cachedMessagesCount());
+    }
+
+    @Test
+    public void testReceiveMessageInBatchImmediately() {
+        final int cachedMessagesCountThresholdPerQueue = 8;
+        when(pushConsumer.cacheMessageCountThresholdPerQueue()).thenReturn(cachedMessagesCountThresholdPerQueue);
+        final int cachedMessageBytesThresholdPerQueue = 1024;
+        when(pushConsumer.cacheMessageBytesThresholdPerQueue()).thenReturn(cachedMessageBytesThresholdPerQueue);
+        // Each reception returns a distinct message, so that the cache becomes full eventually.
+        when(pushConsumer.receiveMessage(any(ReceiveMessageRequest.class), any(MessageQueueImpl.class),
+            any(Duration.class))).thenAnswer(invocation -> Futures.immediateFuture(
+                new ReceiveMessageResult(fakeEndpoints(), Collections.singletonList(fakeMessageViewImpl()))));
         when(pushSubscriptionSettings.getReceiveBatchSize()).thenReturn(32);
         ReceiveMessageRequest request = ReceiveMessageRequest.newBuilder().build();
         when(pushConsumer.wrapReceiveMessageRequest(anyInt(), any(MessageQueueImpl.class),
@@ -139,6 +193,65 @@ public class ProcessQueueImplTest extends TestBase {
         await().atMost(Duration.ofSeconds(3))
             .untilAsserted(() -> verify(pushConsumer, times(cachedMessagesCountThresholdPerQueue))
                 .receiveMessage(any(ReceiveMessageRequest.class), any(MessageQueueImpl.class), any(Duration.class)));
+        assertEquals(cachedMessagesCountThresholdPerQueue, processQueue.cachedMessagesCount());
+    }
+
+    @Test
+    public void testMessagesOfOneReceptionAreConsumedInBatch() {
+        when(pushConsumer.cacheMessageCountThresholdPerQueue()).thenReturn(8);
+        when(pushConsumer.cacheMessageBytesThresholdPerQueue()).thenReturn(1024);
+        final List<MessageViewImpl> messageViews = new ArrayList<>();
+        messageViews.add(fakeMessageViewImpl());
+        messageViews.add(fakeMessageViewImpl());
+        messageViews.add(fakeMessageViewImpl());
+        when(pushConsumer.receiveMessage(any(ReceiveMessageRequest.class), any(MessageQueueImpl.class),
+            any(Duration.class))).thenReturn(Futures.immediateFuture(new ReceiveMessageResult(fakeEndpoints(),
+            messageViews)), SettableFuture.<ReceiveMessageResult>create());
+        when(pushSubscriptionSettings.getReceiveBatchSize()).thenReturn(32);
+        ReceiveMessageRequest request = ReceiveMessageRequest.newBuilder().build();
+        when(pushConsumer.wrapReceiveMessageRequest(anyInt(), any(MessageQueueImpl.class),
+            any(FilterExpression.class), any(Duration.class))).thenReturn(request);
+        processQueue.fetchMessageImmediately();
+        // All messages of one reception are handed over to the consume service together.
+        verify(consumeService, times(1)).consume(eq(processQueue), eq(messageViews));
+    }
+
+    @Test
+    public void testCacheAndEvictMessages() {
+        final MessageViewImpl messageView0 = fakeMessageViewImpl(2, false);
+        final MessageViewImpl messageView1 = fakeMessageViewImpl(3, false);
+        processQueue.cacheMessages(Arrays.asList(messageView0, messageView1));
+        // Caching the same message again takes no effect.
+        processQueue.cacheMessages(Collections.singletonList(messageView0));
+        assertEquals(2, processQueue.cachedMessagesCount());
+        assertEquals(2, processQueue.getCachedMessageCount());
+        final long bytes = messageView0.getRetainedSize() + messageView1.getRetainedSize();
+        assertEquals(bytes, processQueue.cachedMessageBytes());
+        processQueue.evictCache(messageView0);
+        // Evicting the message which is not cached takes no effect.
+        processQueue.evictCache(messageView0);
+        processQueue.evictCache(fakeMessageViewImpl(2, false));
+        assertEquals(1, processQueue.cachedMessagesCount());
+        assertEquals(messageView1.getRetainedSize(), processQueue.cachedMessageBytes());
+        processQueue.evictCache(messageView1);
+        assertEquals(0, processQueue.cachedMessagesCount());
+        assertEquals(0, processQueue.cachedMessageBytes());
+    }
+
+    @Test
+    public void testInflightOffsets() {
+        final MessageViewImpl messageView0 = fakeMessageViewImpl(2, false);
+        assertFalse(processQueue.getMinInflightOffset().isPresent());
+        assertEquals(0, processQueue.getConsumptionLag());
+        processQueue.cacheMessages(Collections.singletonList(messageView0));
+        final long offset = messageView0.getOffset();
+        assertEquals(Optional.of(offset), processQueue.getMinInflightOffset());
+        assertEquals(Optional.of(offset), processQueue.getMaxInflightOffset());
+        assertEquals(1, processQueue.getConsumptionLag());
+        processQueue.evictCache(messageView0);
+        assertFalse(processQueue.getMinInflightOffset().isPresent());
+        assertFalse(processQueue.getMaxInflightOffset().isPresent());
+        assertEquals(0, processQueue.getConsumptionLag());
     }
 
     @Test
@@ -147,11 +260,11 @@ public class ProcessQueueImplTest extends TestBase {
         final MessageViewImpl messageView = fakeMessageViewImpl(2, false);
         messageViewList.add(messageView);
         processQueue.cacheMessages(messageViewList);
-        RpcFuture<AckMessageRequest, AckMessageResponse> future0 = okAckMessageResponseFuture();
-        when(pushConsumer.ackMessage(any(MessageViewImpl.class))).thenReturn(future0);
+        ListenableFuture<AckMessageAggregator.Result> future0 = okAckMessageResultFuture();
+        when(pushConsumer.batchAckMessage(any(MessageViewImpl.class))).thenReturn(future0);
         processQueue.eraseMessage(messageView, ConsumeResult.SUCCESS);
         await().atMost(Duration.ofSeconds(1)).untilAsserted(() -> verify(pushConsumer, times(1))
-            .ackMessage(eq(messageView)));
+            .batchAckMessage(eq(messageView)));
     }
 
     @Test
@@ -160,14 +273,14 @@ public class ProcessQueueImplTest extends TestBase {
         final MessageViewImpl messageView = fakeMessageViewImpl(2, false);
         messageViewList.add(messageView);
         processQueue.cacheMessages(messageViewList);
-        RpcFuture<AckMessageRequest, AckMessageResponse> future0 = new RpcFuture<>(new Exception());
-        when(pushConsumer.ackMessage(any(MessageViewImpl.class))).thenReturn(future0);
+        ListenableFuture<AckMessageAggregator.Result> future0 = Futures.immediateFailedFuture(new Exception());
+        when(pushConsumer.batchAckMessage(any(MessageViewImpl.class))).thenReturn(future0);
         processQueue.eraseMessage(messageView, ConsumeResult.SUCCESS);
         int ackTimes = 3;
         final Duration tolerance = Duration.ofMillis(500);
         await().atMost(ProcessQueueImpl.ACK_MESSAGE_FAILURE_BACKOFF_DELAY.multipliedBy(ackTimes)
             .plus(tolerance)).untilAsserted(() -> verify(pushConsumer, times(ackTimes))
-            .ackMessage(eq(messageView)));
+            .batchAckMessage(eq(messageView)));
     }
 
     @Test
@@ -195,14 +308,14 @@ public class ProcessQueueImplTest extends TestBase {
         final MessageViewImpl messageView = fakeMessageViewImpl(2, false);
         messageViewList.add(messageView);
         processQueue.cacheMessages(messageViewList);
-        RpcFuture<AckMessageRequest, AckMessageResponse> future0 = okAckMessageResponseFuture();
-        when(pushConsumer.ackMessage(any(MessageViewImpl.class))).thenReturn(future0);
+        ListenableFuture<AckMessageAggregator.Result> future0 = okAckMessageResultFuture();
+        when(pushConsumer.batchAckMessage(any(MessageViewImpl.class))).thenReturn(future0);
         when(pushConsumer.getRetryPolicy()).thenReturn(retryPolicy);
         when(retryPolicy.getMaxAttempts()).thenReturn(1);
         when(pushConsumer.getConsumptionExecutor()).thenReturn(SINGLE_THREAD_POOL_EXECUTOR);
         final ListenableFuture<Void> future = processQueue.eraseFifoMessage(messageView, ConsumeResult.SUCCESS);
         future.addListener(() -> verify(pushConsumer, times(1))
-            .ackMessage(any(MessageViewImpl.class)), MoreExecutors.directExecutor());
+            .batchAckMessage(any(MessageViewImpl.class)), MoreExecutors.directExecutor());
     }
 
     @Test
@@ -228,8 +341,8 @@ public class ProcessQueueImplTest extends TestBase {
         final MessageViewImpl messageView = fakeMessageViewImpl(2, false);
         messageViewList.add(messageView);
         processQueue.cacheMessages(messageViewList);
-        RpcFuture<AckMessageRequest, AckMessageResponse> future0 = okAckMessageResponseFuture();
-        when(pushConsumer.ackMessage(any(MessageViewImpl.class))).thenReturn(future0);
+        ListenableFuture<AckMessageAggregator.Result> future0 = okAckMessageResultFuture();
+        when(pushConsumer.batchAckMessage(any(MessageViewImpl.class))).thenReturn(future0);
         when(pushConsumer.getRetryPolicy()).thenReturn(retryPolicy);
         when(retryPolicy.getMaxAttempts()).thenReturn(2);
         when(pushConsumer.getConsumptionExecutor()).thenReturn(SINGLE_THREAD_POOL_EXECUTOR);
@@ -239,7 +352,7 @@ public class ProcessQueueImplTest extends TestBase {
         when(pushConsumer.getConsumeService()).thenReturn(consumeService);
         final ListenableFuture<Void> future = processQueue.eraseFifoMessage(messageView, ConsumeResult.FAILURE);
         future.addListener(() -> verify(pushConsumer, times(1))
-            .ackMessage(any(MessageViewImpl.class)), MoreExecutors.directExecutor());
+            .batchAckMessage(any(MessageViewImpl.class)), MoreExecutors.directExecutor());
     }
 
     @Test
@@ -283,4 +396,10 @@ public class ProcessQueueImplTest extends TestBase {
             .untilAsserted(() -> verify(pushConsumer, times(forwardingToDeadLetterQueueTimes))
                 .forwardMessageToDeadLetterQueue(any(MessageViewImpl.class)));
     }
-}
\ No newline at end of file
+
+    private ListenableFuture<AckMessageAggregator.Result> okAckMessageResultFuture() {
+        final Status status = Status.newBuilder().setCode(Code.OK).build();
+        final String requestId = RequestIdGenerator.getInstance().next();
+        return Futures.immediateFuture(new AckMessageAggregator.Result(requestId, status));
+    }
+}
@@ -17,9 +17,13 @@
 
 package org.apache.rocketmq.client.java.impl.consumer;
 
+import java.time.Duration;
+import java.util.Collections;
 import org.apache.rocketmq.client.apis.ClientConfiguration;
 import org.apache.rocketmq.client.apis.ClientException;
+import org.apache.rocketmq.client.apis.consumer.BatchConsumeResult;
 import org.apache.rocketmq.client.apis.consumer.ConsumeResult;
+import org.apache.rocketmq.client.apis.consumer.FilterExpression;
 import org.apache.rocketmq.client.java.tool.TestBase;
 import org.junit.Test;
 
@@ -43,6 +47,36 @@ public class PushConsumerBuilderImplTest extends TestBase {
         builder.setMessageListener(null);
     }
 
+    @Test(expected = NullPointerException.class)
+    public void testSetBatchMessageListenerWithNull() {
+        final PushConsumerBuilderImpl builder = new PushConsumerBuilderImpl();
+        builder.setBatchMessageListener(null, 16, Duration.ZERO);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetBatchMessageListenerWithNonPositiveMaxBatchSize() {
+        final PushConsumerBuilderImpl builder = new PushConsumerBuilderImpl();
+        builder.setBatchMessageListener(messageViews -> BatchConsumeResult.success(), 0, Duration.ZERO);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetBatchMessageListenerWithNegativeAwaitDuration() {
+        final PushConsumerBuilderImpl builder = new PushConsumerBuilderImpl();
+        builder.setBatchMessageListener(messageViews -> BatchConsumeResult.success(), 16, Duration.ofMillis(-1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuildWithBothMessageListeners() throws ClientException {
+        final PushConsumerBuilderImpl builder = new PushConsumerBuilderImpl();
+        ClientConfiguration clientConfiguration =
+            ClientConfiguration.newBuilder().setEndpoints(FAKE_ENDPOINTS).build();
+        builder.setClientConfiguration(clientConfiguration).setConsumerGroup(FAKE_CONSUMER_GROUP_0)
+            .setSubscriptionExpressions(Collections.singletonMap(FAKE_TOPIC_0, FilterExpression.SUB_ALL))
+            .setMessageListener(messageView -> ConsumeResult.SUCCESS)
+            .setBatchMessageListener(messageViews -> BatchConsumeResult.success(), 16, Duration.ZERO)
+            .build();
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void testSetNegativeMaxCacheMessageCount() {
         final PushConsumerBuilderImpl builder = new PushConsumerBuilderImpl();
@@ -61,6 +95,54 @@ public class PushConsumerBuilderImplTest extends TestBase {
         builder.setConsumptionThreadCount(-1);
     }
 
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetNonPositiveVirtualThreadConsumptionConcurrency() {
+        final PushConsumerBuilderImpl builder = new PushConsumerBuilderImpl();
+        builder.setVirtualThreadConsumption(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetNonPositiveDecodingParallelism() {
+        final PushConsumerBuilderImpl builder = new PushConsumerBuilderImpl();
+        builder.setDecodingParallelism(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetNegativeDigestVerifySamplingRate() {
+        final PushConsumerBuilderImpl builder = new PushConsumerBuilderImpl();
+        builder.setDigestVerifySamplingRate(-0.1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetTooLargeDigestVerifySamplingRate() {
+        final PushConsumerBuilderImpl builder = new PushConsumerBuilderImpl();
+        builder.setDigestVerifySamplingRate(1.1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetNegativeMaxReceiveStreamsPerEndpoints() {
+        final PushConsumerBuilderImpl builder = new PushConsumerBuilderImpl();
+        builder.setMaxReceiveStreamsPerEndpoints(-1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetAckBatchingPolicyWithNonPositiveBatchSize() {
+        final PushConsumerBuilderImpl builder = new PushConsumerBuilderImpl();
+        builder.setAckBatchingPolicy(0, Duration.ofMillis(10));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetAckBatchingPolicyWithNegativeDelay() {
+        final PushConsumerBuilderImpl builder = new PushConsumerBuilderImpl();
+        builder.setAckBatchingPolicy(32, Duration.ofMillis(-1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetNegativeMaxCacheOffsetSpan() {
+        final PushConsumerBuilderImpl builder = new PushConsumerBuilderImpl();
+        builder.setMaxCacheOffsetSpan(-1);
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void testBuildWithoutExpressions() throws ClientException {
         final PushConsumerBuilderImpl builder = new PushConsumerBuilderImpl();
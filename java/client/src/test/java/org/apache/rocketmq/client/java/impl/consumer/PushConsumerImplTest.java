@@ -18,6 +18,10 @@
 package org.apache.rocketmq.client.java.impl.consumer;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -25,13 +29,16 @@ import static org.mockito.Mockito.verify;
 
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.Map;
 import org.apache.rocketmq.client.apis.ClientConfiguration;
 import org.apache.rocketmq.client.apis.ClientException;
+import org.apache.rocketmq.client.apis.consumer.BatchConsumeResult;
 import org.apache.rocketmq.client.apis.consumer.ConsumeResult;
 import org.apache.rocketmq.client.apis.consumer.FilterExpression;
 import org.apache.rocketmq.client.apis.consumer.MessageListener;
+import org.apache.rocketmq.client.java.route.Endpoints;
 import org.apache.rocketmq.client.java.route.MessageQueueImpl;
 import org.apache.rocketmq.client.java.tool.TestBase;
 import org.junit.Test;
@@ -106,4 +113,31 @@ public class PushConsumerImplTest extends TestBase {
         verify(pushConsumer, never()).syncProcessQueue(any(String.class), any(Assignments.class),
             any(FilterExpression.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testIsStreamingReception() {
+        assertTrue(pushConsumer.isStreamingReception());
+        final PushConsumerImpl batchPushConsumer = new PushConsumerImpl(clientConfiguration, FAKE_CONSUMER_GROUP_0,
+            subscriptionExpressions, messageViews -> BatchConsumeResult.success(), 16, Duration.ZERO,
+            maxCacheMessageCount, maxCacheMessageSizeInBytes, consumptionThreadCount, false, 1, 1, 0, 1, Duration.ZERO,
+            0);
+        // Messages consumed by the batch message listener are grouped by reception.
+        assertFalse(batchPushConsumer.isStreamingReception());
+    }
+
+    @Test
+    public void testRemoveIdleReceiveSession() {
+        assertFalse(pushConsumer.getReceiveSession(fakeEndpoints()).isPresent());
+        final PushConsumerImpl multiplexedPushConsumer = new PushConsumerImpl(clientConfiguration,
+            FAKE_CONSUMER_GROUP_0, subscriptionExpressions, messageListener, maxCacheMessageCount,
+            maxCacheMessageSizeInBytes, consumptionThreadCount, false, 1, 1, 1, 1, Duration.ZERO, 0);
+        final MessageQueueImpl mq = fakeMessageQueueImpl0();
+        final Endpoints endpoints = mq.getBroker().getEndpoints();
+        assertTrue(multiplexedPushConsumer.createProcessQueue(mq, FilterExpression.SUB_ALL).isPresent());
+        final ReceiveSession session = multiplexedPushConsumer.getReceiveSession(endpoints).get();
+        assertSame(session, multiplexedPushConsumer.getReceiveSession(endpoints).get());
+        multiplexedPushConsumer.dropProcessQueue(mq);
+        // The session is removed once no process queue is served by the endpoints.
+        assertNotSame(session, multiplexedPushConsumer.getReceiveSession(endpoints).get());
+    }
+}
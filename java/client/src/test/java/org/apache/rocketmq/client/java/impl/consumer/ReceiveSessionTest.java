@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.impl.consumer;
+
+import static org.junit.Assert.assertEquals;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.rocketmq.client.java.tool.TestBase;
+import org.junit.Test;
+
+public class ReceiveSessionTest extends TestBase {
+
+    @Test
+    public void testSubmitWithinCredits() {
+        final ReceiveSession session = new ReceiveSession(FAKE_CLIENT_ID, fakeEndpoints(), 2);
+        final SettableFuture<Void> future0 = SettableFuture.create();
+        final SettableFuture<Void> future1 = SettableFuture.create();
+        session.submit(() -> future0);
+        session.submit(() -> future1);
+        assertEquals(2, session.getInflightReceptions());
+        assertEquals(0, session.getPendingReceptions());
+        future0.set(null);
+        future1.set(null);
+        assertEquals(0, session.getInflightReceptions());
+    }
+
+    @Test
+    public void testSubmitBeyondCredits() {
+        final ReceiveSession session = new ReceiveSession(FAKE_CLIENT_ID, fakeEndpoints(), 1);
+        final List<Integer> started = new ArrayList<>();
+        final SettableFuture<Void> future0 = SettableFuture.create();
+        final SettableFuture<Void> future1 = SettableFuture.create();
+        final SettableFuture<Void> future2 = SettableFuture.create();
+        session.submit(() -> {
+            started.add(0);
+            return future0;
+        });
+        session.submit(() -> {
+            started.add(1);
+            return future1;
+        });
+        session.submit(() -> {
+            started.add(2);
+            return future2;
+        });
+        assertEquals(1, session.getInflightReceptions());
+        assertEquals(2, session.getPendingReceptions());
+        future0.set(null);
+        assertEquals(1, session.getInflightReceptions());
+        assertEquals(1, session.getPendingReceptions());
+        future1.setException(new RuntimeException());
+        assertEquals(1, session.getInflightReceptions());
+        assertEquals(0, session.getPendingReceptions());
+        future2.set(null);
+        assertEquals(0, session.getInflightReceptions());
+        final List<Integer> expected = new ArrayList<>();
+        expected.add(0);
+        expected.add(1);
+        expected.add(2);
+        assertEquals(expected, started);
+    }
+
+    @Test
+    public void testCompletedReceptionGivesBackCredit() {
+        final ReceiveSession session = new ReceiveSession(FAKE_CLIENT_ID, fakeEndpoints(), 1);
+        final SettableFuture<Void> future = SettableFuture.create();
+        session.submit(() -> Futures.immediateFuture(null));
+        session.submit(() -> {
+            throw new RuntimeException();
+        });
+        session.submit(() -> null);
+        assertEquals(0, session.getInflightReceptions());
+        session.submit(() -> future);
+        assertEquals(1, session.getInflightReceptions());
+        assertEquals(0, session.getPendingReceptions());
+    }
+
+    @Test
+    public void testResubmitOnCompletion() {
+        final ReceiveSession session = new ReceiveSession(FAKE_CLIENT_ID, fakeEndpoints(), 1);
+        final List<Integer> started = new ArrayList<>();
+        final SettableFuture<Void> future0 = SettableFuture.create();
+        final SettableFuture<Void> future1 = SettableFuture.create();
+        // Reception of queue 0 is submitted again once it is done, which should not take precedence over queue 1.
+        future0.addListener(() -> session.submit(() -> {
+            started.add(0);
+            return SettableFuture.create();
+        }), Runnable::run);
+        session.submit(() -> {
+            started.add(0);
+            return future0;
+        });
+        session.submit(() -> {
+            started.add(1);
+            return future1;
+        });
+        future0.set(null);
+        assertEquals(1, session.getInflightReceptions());
+        assertEquals(1, session.getPendingReceptions());
+        final List<Integer> expected = new ArrayList<>();
+        expected.add(0);
+        expected.add(1);
+        assertEquals(expected, started);
+    }
+
+    @Test
+    public void testClear() {
+        final ReceiveSession session = new ReceiveSession(FAKE_CLIENT_ID, fakeEndpoints(), 1);
+        final SettableFuture<Void> future = SettableFuture.create();
+        session.submit(() -> future);
+        session.submit(SettableFuture::create);
+        assertEquals(1, session.getPendingReceptions());
+        session.clear();
+        assertEquals(0, session.getPendingReceptions());
+        future.set(null);
+        assertEquals(0, session.getInflightReceptions());
+    }
+}
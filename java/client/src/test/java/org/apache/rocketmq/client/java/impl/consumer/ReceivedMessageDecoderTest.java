@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.impl.consumer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import apache.rocketmq.v2.Message;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.apache.rocketmq.client.java.message.MessageViewImpl;
+import org.apache.rocketmq.client.java.route.MessageQueueImpl;
+import org.apache.rocketmq.client.java.tool.TestBase;
+import org.junit.Test;
+
+public class ReceivedMessageDecoderTest extends TestBase {
+    private List<Message> fakePbMessages(int count) {
+        final List<Message> messages = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            messages.add(fakePbMessage(FAKE_TOPIC_0));
+        }
+        return messages;
+    }
+
+    private void assertDecoded(List<Message> messages, List<MessageViewImpl> messageViews) {
+        assertEquals(messages.size(), messageViews.size());
+        for (int i = 0; i < messages.size(); i++) {
+            final String messageId = messages.get(i).getSystemProperties().getMessageId();
+            final MessageViewImpl messageView = messageViews.get(i);
+            assertEquals(messageId, messageView.getMessageId().toString());
+            assertFalse(messageView.isCorrupted());
+        }
+    }
+
+    @Test
+    public void testDecodeSerially() throws Exception {
+        final ReceivedMessageDecoder decoder = new ReceivedMessageDecoder(FAKE_CLIENT_ID, 1, 1);
+        final MessageQueueImpl mq = fakeMessageQueueImpl(FAKE_TOPIC_0);
+        final List<Message> messages = fakePbMessages(32);
+        assertDecoded(messages, decoder.decode(messages, mq, null).get());
+        decoder.shutdown();
+    }
+
+    @Test
+    public void testDecodeInParallel() throws Exception {
+        final ReceivedMessageDecoder decoder = new ReceivedMessageDecoder(FAKE_CLIENT_ID, 4, 1);
+        final MessageQueueImpl mq = fakeMessageQueueImpl(FAKE_TOPIC_0);
+        for (int count : new int[] {0, 1, 3, 4, 5, 32, 33}) {
+            final List<Message> messages = fakePbMessages(count);
+            assertDecoded(messages, decoder.decode(messages, mq, null).get());
+        }
+        decoder.shutdown();
+    }
+
+    @Test
+    public void testDecodeAfterShutdown() throws Exception {
+        final ReceivedMessageDecoder decoder = new ReceivedMessageDecoder(FAKE_CLIENT_ID, 4, 1);
+        decoder.shutdown();
+        final MessageQueueImpl mq = fakeMessageQueueImpl(FAKE_TOPIC_0);
+        final List<Message> messages = fakePbMessages(8);
+        assertDecoded(messages, decoder.decode(messages, mq, null).get());
+        assertEquals(Collections.emptyList(), decoder.decode(Collections.emptyList(), mq, null).get());
+    }
+
+    @Test
+    public void testDecodeWithoutDigestVerification() throws Exception {
+        final ReceivedMessageDecoder decoder = new ReceivedMessageDecoder(FAKE_CLIENT_ID, 1, 0);
+        final MessageQueueImpl mq = fakeMessageQueueImpl(FAKE_TOPIC_0);
+        final List<Message> messages = fakePbMessages(8);
+        assertDecoded(messages, decoder.decode(messages, mq, null).get());
+        decoder.shutdown();
+    }
+}
@@ -36,6 +36,24 @@ public class SimpleConsumerBuilderTest extends TestBase {
         builder.setConsumerGroup(null);
     }
 
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetNonPositiveDecodingParallelism() {
+        final SimpleConsumerBuilderImpl builder = new SimpleConsumerBuilderImpl();
+        builder.setDecodingParallelism(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetNegativeDigestVerifySamplingRate() {
+        final SimpleConsumerBuilderImpl builder = new SimpleConsumerBuilderImpl();
+        builder.setDigestVerifySamplingRate(-0.1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetTooLargeDigestVerifySamplingRate() {
+        final SimpleConsumerBuilderImpl builder = new SimpleConsumerBuilderImpl();
+        builder.setDigestVerifySamplingRate(1.1);
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void testBuildWithoutExpressions() throws ClientException {
         final SimpleConsumerBuilderImpl builder = new SimpleConsumerBuilderImpl();
@@ -17,23 +17,39 @@
 
 package org.apache.rocketmq.client.java.impl.consumer;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import apache.rocketmq.v2.AckMessageRequest;
 import apache.rocketmq.v2.AckMessageResponse;
+import apache.rocketmq.v2.AckMessageResultEntry;
 import apache.rocketmq.v2.ChangeInvisibleDurationRequest;
 import apache.rocketmq.v2.ChangeInvisibleDurationResponse;
 import apache.rocketmq.v2.Code;
+import apache.rocketmq.v2.Status;
+import com.google.common.util.concurrent.Futures;
+import com.google.protobuf.ByteString;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import org.apache.rocketmq.client.apis.ClientConfiguration;
 import org.apache.rocketmq.client.apis.ClientException;
+import org.apache.rocketmq.client.apis.consumer.BatchAckException;
 import org.apache.rocketmq.client.apis.consumer.FilterExpression;
 import org.apache.rocketmq.client.apis.message.MessageView;
 import org.apache.rocketmq.client.java.exception.BadRequestException;
@@ -44,7 +60,9 @@ import org.apache.rocketmq.client.java.exception.ProxyTimeoutException;
 import org.apache.rocketmq.client.java.exception.TooManyRequestsException;
 import org.apache.rocketmq.client.java.exception.UnauthorizedException;
 import org.apache.rocketmq.client.java.exception.UnsupportedException;
+import org.apache.rocketmq.client.java.message.MessageIdCodec;
 import org.apache.rocketmq.client.java.message.MessageViewImpl;
+import org.apache.rocketmq.client.java.route.Endpoints;
 import org.apache.rocketmq.client.java.rpc.RpcFuture;
 import org.apache.rocketmq.client.java.tool.TestBase;
 import org.junit.Test;
@@ -78,6 +96,13 @@ public class SimpleConsumerImplTest extends TestBase {
         simpleConsumer.ack(fakeMessageViewImpl());
     }
 
+    @Test(expected = IllegalStateException.class)
+    public void testBatchAckWithoutStart() throws ClientException {
+        simpleConsumer = new SimpleConsumerImpl(clientConfiguration, FAKE_CONSUMER_GROUP_0, awaitDuration,
+            subExpressions);
+        simpleConsumer.ack(Collections.singletonList(fakeMessageViewImpl()));
+    }
+
     @Test(expected = IllegalStateException.class)
     public void testSubscribeWithoutStart() throws ClientException {
         simpleConsumer = new SimpleConsumerImpl(clientConfiguration, FAKE_CONSUMER_GROUP_0, awaitDuration,
@@ -107,6 +132,73 @@ public class SimpleConsumerImplTest extends TestBase {
         }
     }
 
+    private MessageViewImpl fakeMessageViewImpl(String receiptHandle) {
+        return new MessageViewImpl(MessageIdCodec.getInstance().nextMessageId(), FAKE_TOPIC_0,
+            ByteString.copyFromUtf8("foobar"), null, null, null, new ArrayList<>(), new HashMap<>(), FAKE_HOST_0, 1,
+            1, fakeMessageQueueImpl0(), receiptHandle, 1, false, System.currentTimeMillis());
+    }
+
+    @Test
+    public void testBatchAckAsync() throws ExecutionException, InterruptedException {
+        simpleConsumer = Mockito.spy(new SimpleConsumerImpl(clientConfiguration, FAKE_CONSUMER_GROUP_0, awaitDuration,
+            subExpressions));
+        when(simpleConsumer.isRunning()).thenReturn(true);
+        final MessageViewImpl messageView0 = fakeMessageViewImpl(FAKE_RECEIPT_HANDLE_0);
+        final MessageViewImpl messageView1 = fakeMessageViewImpl(FAKE_RECEIPT_HANDLE_1);
+        final List<MessageView> messageViews = Arrays.asList(messageView0, messageView1);
+        doReturn(okAckMessageResponseFuture()).when(simpleConsumer).ackMessages(any(Endpoints.class), anyString(),
+            anyList());
+        simpleConsumer.ackAsync(messageViews).get();
+        verify(simpleConsumer, times(1)).ackMessages(eq(messageView0.getEndpoints()), eq(FAKE_TOPIC_0),
+            eq(Arrays.asList(messageView0, messageView1)));
+    }
+
+    @Test
+    public void testBatchAckAsyncWithPartialFailure() throws InterruptedException {
+        simpleConsumer = Mockito.spy(new SimpleConsumerImpl(clientConfiguration, FAKE_CONSUMER_GROUP_0, awaitDuration,
+            subExpressions));
+        when(simpleConsumer.isRunning()).thenReturn(true);
+        final List<MessageView> messageViews = Arrays.asList(fakeMessageViewImpl(FAKE_RECEIPT_HANDLE_0),
+            fakeMessageViewImpl(FAKE_RECEIPT_HANDLE_1));
+        final AckMessageResponse response = AckMessageResponse.newBuilder()
+            .setStatus(Status.newBuilder().setCode(Code.MULTIPLE_RESULTS).build())
+            .addEntries(AckMessageResultEntry.newBuilder().setReceiptHandle(FAKE_RECEIPT_HANDLE_0)
+                .setStatus(Status.newBuilder().setCode(Code.OK).build()).build())
+            .addEntries(AckMessageResultEntry.newBuilder().setReceiptHandle(FAKE_RECEIPT_HANDLE_1)
+                .setStatus(Status.newBuilder().setCode(Code.INVALID_RECEIPT_HANDLE).build()).build())
+            .build();
+        final RpcFuture<AckMessageRequest, AckMessageResponse> respFuture = new RpcFuture<>(fakeRpcContext(), null,
+            Futures.immediateFuture(response));
+        doReturn(respFuture).when(simpleConsumer).ackMessages(any(Endpoints.class), anyString(), anyList());
+        try {
+            simpleConsumer.ackAsync(messageViews).get();
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof BatchAckException);
+            final Map<Integer, ClientException> failures = ((BatchAckException) e.getCause()).getFailures();
+            assertEquals(Collections.singleton(1), failures.keySet());
+            assertTrue(failures.get(1) instanceof BadRequestException);
+        }
+    }
+
+    @Test
+    public void testBatchAckAsyncWithException() throws InterruptedException {
+        simpleConsumer = Mockito.spy(new SimpleConsumerImpl(clientConfiguration, FAKE_CONSUMER_GROUP_0, awaitDuration,
+            subExpressions));
+        when(simpleConsumer.isRunning()).thenReturn(true);
+        final List<MessageView> messageViews = Arrays.asList(fakeMessageViewImpl(FAKE_RECEIPT_HANDLE_0),
+            fakeMessageViewImpl(FAKE_RECEIPT_HANDLE_1));
+        doReturn(new RpcFuture<>(new Exception())).when(simpleConsumer).ackMessages(any(Endpoints.class),
+            anyString(), anyList());
+        try {
+            simpleConsumer.ackAsync(messageViews).get();
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof BatchAckException);
+            assertEquals(2, ((BatchAckException) e.getCause()).getFailures().size());
+        }
+    }
+
     @Test
     public void testAckAsync() throws ExecutionException, InterruptedException {
         simpleConsumer = Mockito.spy(new SimpleConsumerImpl(clientConfiguration, FAKE_CONSUMER_GROUP_0, awaitDuration,
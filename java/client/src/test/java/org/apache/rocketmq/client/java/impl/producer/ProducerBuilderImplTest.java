@@ -17,6 +17,7 @@
 
 package org.apache.rocketmq.client.java.impl.producer;
 
+import java.time.Duration;
 import org.apache.rocketmq.client.apis.ClientConfiguration;
 import org.apache.rocketmq.client.apis.ClientException;
 import org.apache.rocketmq.client.apis.producer.TransactionResolution;
@@ -64,6 +65,42 @@ public class ProducerBuilderImplTest {
         builder.setMaxAttempts(3);
     }
 
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetNonPositiveMaxBatchSize() {
+        final ProducerBuilderImpl builder = new ProducerBuilderImpl();
+        builder.setBatchingPolicy(0, Duration.ofMillis(5));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetNegativeBatchLinger() {
+        final ProducerBuilderImpl builder = new ProducerBuilderImpl();
+        builder.setBatchingPolicy(16, Duration.ofMillis(-1));
+    }
+
+    @Test
+    public void testSetBatchingPolicy() {
+        final ProducerBuilderImpl builder = new ProducerBuilderImpl();
+        builder.setBatchingPolicy(16, Duration.ofMillis(5));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetNegativeCompressionThreshold() {
+        final ProducerBuilderImpl builder = new ProducerBuilderImpl();
+        builder.setCompressionPolicy(-1, 5);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetIllegalCompressionLevel() {
+        final ProducerBuilderImpl builder = new ProducerBuilderImpl();
+        builder.setCompressionPolicy(1024, 10);
+    }
+
+    @Test
+    public void testSetCompressionPolicy() {
+        final ProducerBuilderImpl builder = new ProducerBuilderImpl();
+        builder.setCompressionPolicy(1024, 5);
+    }
+
     @Test(expected = NullPointerException.class)
     public void testSetTransactionCheckerWithNull() {
         final ProducerBuilderImpl builder = new ProducerBuilderImpl();
@@ -17,6 +17,7 @@
 
 package org.apache.rocketmq.client.java.impl.producer;
 
+import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.mock;
@@ -31,6 +32,7 @@ import apache.rocketmq.v2.Resource;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.Service;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -38,6 +40,7 @@ import java.util.Set;
 import org.apache.rocketmq.client.apis.ClientConfiguration;
 import org.apache.rocketmq.client.apis.ClientException;
 import org.apache.rocketmq.client.apis.message.Message;
+import org.apache.rocketmq.client.apis.producer.SendReceipt;
 import org.apache.rocketmq.client.java.route.Endpoints;
 import org.apache.rocketmq.client.java.route.MessageQueueImpl;
 import org.apache.rocketmq.client.java.route.TopicRouteData;
@@ -109,4 +112,32 @@ public class ProducerImplTest extends TestBase {
         verify(producer, times(maxAttempts)).send0(any(Endpoints.class), anyList(), any(MessageQueueImpl.class));
         producer.close();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testSendBatchWithTopic() throws Exception {
+        final ProducerImpl producer = createProducerWithTopic(FAKE_TOPIC_0);
+        final List<Message> messages = Arrays.asList(fakeMessage(FAKE_TOPIC_0), fakeMessage(FAKE_TOPIC_0));
+        final MessageQueueImpl messageQueue = fakeMessageQueueImpl(FAKE_TOPIC_0);
+        final SendReceiptImpl sendReceiptImpl0 = fakeSendReceiptImpl(messageQueue);
+        final SendReceiptImpl sendReceiptImpl1 = fakeSendReceiptImpl(messageQueue);
+        Mockito.doReturn(Futures.immediateFuture(Arrays.asList(sendReceiptImpl0, sendReceiptImpl1)))
+            .when(producer).send0(any(Endpoints.class), anyList(), any(MessageQueueImpl.class));
+        final List<SendReceipt> receipts = producer.send(messages);
+        assertEquals(Arrays.asList(sendReceiptImpl0, sendReceiptImpl1), receipts);
+        verify(producer, times(1)).send0(any(Endpoints.class), anyList(), any(MessageQueueImpl.class));
+        producer.close();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSendBatchWithDifferentTopics() throws ClientException {
+        final ProducerImpl producer = createProducerWithTopic(FAKE_TOPIC_0);
+        final List<Message> messages = Arrays.asList(fakeMessage(FAKE_TOPIC_0), fakeMessage(FAKE_TOPIC_1));
+        producer.send(messages);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSendEmptyBatch() throws ClientException {
+        final ProducerImpl producer = createProducerWithTopic(FAKE_TOPIC_0);
+        producer.send(Collections.emptyList());
+    }
+}
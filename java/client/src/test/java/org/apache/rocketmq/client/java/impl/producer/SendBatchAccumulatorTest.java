@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.impl.producer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.apache.rocketmq.client.apis.message.Message;
+import org.apache.rocketmq.client.apis.producer.SendReceipt;
+import org.apache.rocketmq.client.java.message.MessageBuilderImpl;
+import org.apache.rocketmq.client.java.message.PublishingMessageImpl;
+import org.apache.rocketmq.client.java.route.MessageQueueImpl;
+import org.apache.rocketmq.client.java.tool.TestBase;
+import org.junit.Test;
+
+public class SendBatchAccumulatorTest extends TestBase {
+    private final PublishingSettings publishingSettings = fakeProducerSettings();
+
+    private PublishingMessageImpl fakePublishingMessage() throws IOException {
+        return new PublishingMessageImpl(fakeMessage(FAKE_TOPIC_0), publishingSettings, false);
+    }
+
+    private PublishingMessageImpl fakeFifoPublishingMessage(String messageGroup) throws IOException {
+        final Message message = new MessageBuilderImpl().setTopic(FAKE_TOPIC_0).setBody(FAKE_MESSAGE_BODY)
+            .setMessageGroup(messageGroup).build();
+        return new PublishingMessageImpl(message, publishingSettings, false);
+    }
+
+    private ProducerImpl mockProducer() {
+        final ProducerImpl producer = mock(ProducerImpl.class);
+        doReturn(SCHEDULER).when(producer).getScheduler();
+        return producer;
+    }
+
+    @Test
+    public void testFlushWhenBatchIsFull() throws Exception {
+        final ProducerImpl producer = mockProducer();
+        final MessageQueueImpl mq = fakeMessageQueueImpl(FAKE_TOPIC_0);
+        final SendReceiptImpl receipt0 = fakeSendReceiptImpl(mq);
+        final SendReceiptImpl receipt1 = fakeSendReceiptImpl(mq);
+        doReturn(Futures.immediateFuture(Arrays.asList(receipt0, receipt1))).when(producer)
+            .sendPublishingMessages(anyList());
+        final SendBatchAccumulator accumulator = new SendBatchAccumulator(producer, publishingSettings, 2,
+            Duration.ofHours(1));
+        final ListenableFuture<SendReceipt> future0 = accumulator.append(fakePublishingMessage());
+        assertFalse(future0.isDone());
+        verify(producer, never()).sendPublishingMessages(anyList());
+        final ListenableFuture<SendReceipt> future1 = accumulator.append(fakePublishingMessage());
+        verify(producer, times(1)).sendPublishingMessages(anyList());
+        assertEquals(receipt0, future0.get());
+        assertEquals(receipt1, future1.get());
+    }
+
+    @Test
+    public void testFlushWhenLingerExpired() throws Exception {
+        final ProducerImpl producer = mockProducer();
+        final SendReceiptImpl receipt = fakeSendReceiptImpl(fakeMessageQueueImpl(FAKE_TOPIC_0));
+        doReturn(Futures.immediateFuture(Collections.singletonList(receipt))).when(producer)
+            .sendPublishingMessages(anyList());
+        final SendBatchAccumulator accumulator = new SendBatchAccumulator(producer, publishingSettings, 16,
+            Duration.ofMillis(10));
+        final ListenableFuture<SendReceipt> future = accumulator.append(fakePublishingMessage());
+        assertEquals(receipt, future.get(3, TimeUnit.SECONDS));
+        verify(producer, times(1)).sendPublishingMessages(anyList());
+    }
+
+    @Test
+    public void testDifferentMessageGroupsAreNotBatched() throws Exception {
+        final ProducerImpl producer = mockProducer();
+        final SendReceiptImpl receipt = fakeSendReceiptImpl(fakeMessageQueueImpl(FAKE_TOPIC_0));
+        doReturn(Futures.immediateFuture(Collections.singletonList(receipt))).when(producer)
+            .sendPublishingMessages(anyList());
+        final SendBatchAccumulator accumulator = new SendBatchAccumulator(producer, publishingSettings, 2,
+            Duration.ofHours(1));
+        final ListenableFuture<SendReceipt> future0 = accumulator.append(fakeFifoPublishingMessage("group-0"));
+        final ListenableFuture<SendReceipt> future1 = accumulator.append(fakeFifoPublishingMessage("group-1"));
+        verify(producer, never()).sendPublishingMessages(anyList());
+        accumulator.close();
+        verify(producer, times(2)).sendPublishingMessages(anyList());
+        assertEquals(receipt, future0.get());
+        assertEquals(receipt, future1.get());
+    }
+
+    @Test
+    public void testFailureIsFannedOut() throws Exception {
+        final ProducerImpl producer = mockProducer();
+        final Exception exception = new IllegalArgumentException();
+        doReturn(Futures.immediateFailedFuture(exception)).when(producer).sendPublishingMessages(anyList());
+        final SendBatchAccumulator accumulator = new SendBatchAccumulator(producer, publishingSettings, 2,
+            Duration.ofHours(1));
+        final ListenableFuture<SendReceipt> future0 = accumulator.append(fakePublishingMessage());
+        final ListenableFuture<SendReceipt> future1 = accumulator.append(fakePublishingMessage());
+        for (ListenableFuture<SendReceipt> future : Arrays.asList(future0, future1)) {
+            try {
+                future.get();
+                fail();
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof IllegalArgumentException);
+            }
+        }
+    }
+
+    @Test
+    public void testAppendAfterClose() throws Exception {
+        final ProducerImpl producer = mockProducer();
+        final SendBatchAccumulator accumulator = new SendBatchAccumulator(producer, publishingSettings, 2,
+            Duration.ofHours(1));
+        accumulator.close();
+        final ListenableFuture<SendReceipt> future = accumulator.append(fakePublishingMessage());
+        try {
+            future.get();
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        verify(producer, never()).sendPublishingMessages(anyList());
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.impl.producer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import apache.rocketmq.v2.Code;
+import apache.rocketmq.v2.SendMessageRequest;
+import apache.rocketmq.v2.SendMessageResponse;
+import apache.rocketmq.v2.SendResultEntry;
+import apache.rocketmq.v2.Status;
+import com.google.common.util.concurrent.Futures;
+import java.util.List;
+import org.apache.rocketmq.client.apis.ClientException;
+import org.apache.rocketmq.client.apis.producer.BatchSendException;
+import org.apache.rocketmq.client.java.exception.ForbiddenException;
+import org.apache.rocketmq.client.java.message.MessageIdCodec;
+import org.apache.rocketmq.client.java.route.MessageQueueImpl;
+import org.apache.rocketmq.client.java.rpc.RpcFuture;
+import org.apache.rocketmq.client.java.tool.TestBase;
+import org.junit.Test;
+
+public class SendReceiptImplTest extends TestBase {
+
+    private SendResultEntry fakeEntry(Code code) {
+        final Status status = Status.newBuilder().setCode(code).build();
+        final String messageId = MessageIdCodec.getInstance().nextMessageId().toString();
+        return SendResultEntry.newBuilder().setMessageId(messageId).setStatus(status).setOffset(1).build();
+    }
+
+    @Test
+    public void testProcessResponseInvocation() throws ClientException {
+        final MessageQueueImpl mq = fakeMessageQueueImpl(FAKE_TOPIC_0);
+        final Status status = Status.newBuilder().setCode(Code.OK).build();
+        final SendMessageResponse response = SendMessageResponse.newBuilder().setStatus(status)
+            .addEntries(fakeEntry(Code.OK)).addEntries(fakeEntry(Code.OK)).build();
+        final RpcFuture<SendMessageRequest, SendMessageResponse> future =
+            new RpcFuture<>(fakeRpcContext(), null, Futures.immediateFuture(response));
+        final List<SendReceiptImpl> receipts = SendReceiptImpl.processResponseInvocation(mq, response, future);
+        assertEquals(2, receipts.size());
+    }
+
+    @Test(expected = ForbiddenException.class)
+    public void testProcessResponseInvocationWithTotalFailure() throws ClientException {
+        final MessageQueueImpl mq = fakeMessageQueueImpl(FAKE_TOPIC_0);
+        final Status status = Status.newBuilder().setCode(Code.FORBIDDEN).build();
+        final SendMessageResponse response = SendMessageResponse.newBuilder().setStatus(status)
+            .addEntries(fakeEntry(Code.FORBIDDEN)).addEntries(fakeEntry(Code.FORBIDDEN)).build();
+        final RpcFuture<SendMessageRequest, SendMessageResponse> future =
+            new RpcFuture<>(fakeRpcContext(), null, Futures.immediateFuture(response));
+        SendReceiptImpl.processResponseInvocation(mq, response, future);
+    }
+
+    @Test
+    public void testProcessResponseInvocationWithPartialFailure() throws ClientException {
+        final MessageQueueImpl mq = fakeMessageQueueImpl(FAKE_TOPIC_0);
+        final Status status = Status.newBuilder().setCode(Code.MULTIPLE_RESULTS).build();
+        final SendMessageResponse response = SendMessageResponse.newBuilder().setStatus(status)
+            .addEntries(fakeEntry(Code.OK)).addEntries(fakeEntry(Code.FORBIDDEN)).build();
+        final RpcFuture<SendMessageRequest, SendMessageResponse> future =
+            new RpcFuture<>(fakeRpcContext(), null, Futures.immediateFuture(response));
+        try {
+            SendReceiptImpl.processResponseInvocation(mq, response, future);
+            fail();
+        } catch (BatchSendException e) {
+            assertEquals(2, e.getSendReceipts().size());
+            assertNotNull(e.getSendReceipts().get(0));
+            assertNull(e.getSendReceipts().get(1));
+            assertEquals(1, e.getFailures().size());
+            assertTrue(e.getFailures().get(1) instanceof ForbiddenException);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.message;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.NoSuchAlgorithmException;
+import org.junit.Test;
+
+public class BodyDigestVerifierTest {
+    private final ByteString body = ByteString.copyFrom("foobar", StandardCharsets.UTF_8);
+
+    @Test
+    public void testVerifyCrc32() {
+        assertTrue(BodyDigestVerifier.verifyCrc32(body, "9EF61F95"));
+        assertFalse(BodyDigestVerifier.verifyCrc32(body, "9ef61f95"));
+        assertFalse(BodyDigestVerifier.verifyCrc32(body, "09EF61F95"));
+        assertFalse(BodyDigestVerifier.verifyCrc32(body, "19EF61F95"));
+        assertFalse(BodyDigestVerifier.verifyCrc32(body, "9EF61F96"));
+        assertFalse(BodyDigestVerifier.verifyCrc32(body, "9EF61F9G"));
+        assertFalse(BodyDigestVerifier.verifyCrc32(body, ""));
+    }
+
+    @Test
+    public void testVerifyCrc32WithoutLeadingZero() {
+        final ByteString a = ByteString.copyFrom("a", StandardCharsets.UTF_8);
+        assertTrue(BodyDigestVerifier.verifyCrc32(a, "E8B7BE43"));
+        assertTrue(BodyDigestVerifier.verifyCrc32(ByteString.EMPTY, "0"));
+    }
+
+    @Test
+    public void testVerifyCrc32WithDirectBuffer() {
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(body.size());
+        body.copyTo(buffer);
+        buffer.flip();
+        assertTrue(BodyDigestVerifier.verifyCrc32(UnsafeByteOperations.unsafeWrap(buffer), "9EF61F95"));
+    }
+
+    @Test
+    public void testVerifyMd5() throws NoSuchAlgorithmException {
+        assertTrue(BodyDigestVerifier.verifyMd5(body, "3858F62230AC3C915F300C664312C63F"));
+        assertFalse(BodyDigestVerifier.verifyMd5(body, "3858f62230ac3c915f300c664312c63f"));
+        assertFalse(BodyDigestVerifier.verifyMd5(body, "3858F62230AC3C915F300C664312C63E"));
+        assertFalse(BodyDigestVerifier.verifyMd5(body, "3858F62230AC3C915F300C664312C63G"));
+        assertFalse(BodyDigestVerifier.verifyMd5(body, "3858F62230AC3C915F300C664312C63"));
+    }
+
+    @Test
+    public void testVerifySha1() throws NoSuchAlgorithmException {
+        assertTrue(BodyDigestVerifier.verifySha1(body, "8843D7F92416211DE9EBB963FF4CE28125932878"));
+        assertFalse(BodyDigestVerifier.verifySha1(body, "8843D7F92416211DE9EBB963FF4CE28125932879"));
+        assertFalse(BodyDigestVerifier.verifySha1(body, "8843D7F92416211DE9EBB963FF4CE2812593287G"));
+        assertFalse(BodyDigestVerifier.verifySha1(body, "8843d7f92416211de9ebb963ff4ce28125932878"));
+        assertFalse(BodyDigestVerifier.verifySha1(body, "3858F62230AC3C915F300C664312C63F"));
+    }
+}
@@ -21,6 +21,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import com.google.protobuf.ByteString;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
@@ -45,8 +46,8 @@ public class GeneralMessageImplTest extends TestBase {
         Map<String, String> properties = new HashMap<>();
         properties.put("propertyA", "valueA");
 
-        final MessageImpl message = new MessageImpl(topic, body, tag, keys, messageGroup, deliveryTimestamp,
-            properties);
+        final MessageImpl message = new MessageImpl(topic, ByteString.copyFrom(body), tag, keys, messageGroup,
+            deliveryTimestamp, properties);
         final GeneralMessageImpl generalMessage = new GeneralMessageImpl(message);
         assertFalse(generalMessage.getMessageId().isPresent());
         assertEquals(topic, generalMessage.getTopic());
@@ -87,9 +88,9 @@ public class GeneralMessageImplTest extends TestBase {
         boolean corrupted = false;
         long transportDeliveryTimestamp = System.currentTimeMillis();
 
-        final MessageViewImpl messageView = new MessageViewImpl(messageId, topic, body, tag, messageGroup,
-            deliveryTimestamp, keys, properties, bornHost, bornTimestamp, deliveryAttempt, mq, receiptHandle,
-            offset, corrupted, transportDeliveryTimestamp);
+        final MessageViewImpl messageView = new MessageViewImpl(messageId, topic, ByteString.copyFrom(body), tag,
+            messageGroup, deliveryTimestamp, keys, properties, bornHost, bornTimestamp, deliveryAttempt, mq,
+            receiptHandle, offset, corrupted, transportDeliveryTimestamp);
         final GeneralMessageImpl generalMessage = new GeneralMessageImpl(messageView);
         assertTrue(generalMessage.getMessageId().isPresent());
         assertEquals(messageId, generalMessage.getMessageId().get());
@@ -19,6 +19,9 @@ package org.apache.rocketmq.client.java.message;
 
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import org.apache.rocketmq.client.apis.message.MessageId;
 import org.junit.Assert;
 import org.junit.Test;
@@ -42,6 +45,41 @@ public class MessageIdCodecTest {
         Assert.assertEquals(messageIdCount, messageIds.size());
     }
 
+    @Test
+    public void testNextMessageIdCanBeDecoded() {
+        final MessageId messageId = codec.nextMessageId();
+        final String messageIdString = messageId.toString();
+        Assert.assertEquals(MessageIdCodec.MESSAGE_ID_VERSION_V1, messageId.getVersion());
+        Assert.assertTrue(messageIdString.matches("01[0-9A-F]{32}"));
+        Assert.assertEquals(messageId, codec.decode(messageIdString));
+        Assert.assertEquals(messageId.hashCode(), codec.decode(messageIdString).hashCode());
+    }
+
+    @Test
+    public void testNextMessageIdSharesProcessFixedPart() {
+        final String messageId0 = codec.nextMessageId().toString();
+        final String messageId1 = codec.nextMessageId().toString();
+        Assert.assertEquals(messageId0.substring(0, 18), messageId1.substring(0, 18));
+    }
+
+    @Test
+    public void testNextMessageIdConcurrently() throws InterruptedException {
+        final Set<String> messageIds = ConcurrentHashMap.newKeySet();
+        int threadCount = 8;
+        int messageIdCountPerThread = 4096;
+        final CountDownLatch latch = new CountDownLatch(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            new Thread(() -> {
+                for (int j = 0; j < messageIdCountPerThread; j++) {
+                    messageIds.add(codec.nextMessageId().toString());
+                }
+                latch.countDown();
+            }).start();
+        }
+        Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+        Assert.assertEquals(threadCount * messageIdCountPerThread, messageIds.size());
+    }
+
     @Test
     public void testDecode() {
         String messageIdString = "0156F7E71C361B21BC024CCDBE00000000";
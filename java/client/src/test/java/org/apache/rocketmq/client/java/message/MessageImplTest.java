@@ -22,6 +22,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import org.apache.rocketmq.client.apis.ClientServiceProvider;
@@ -104,6 +105,34 @@ public class MessageImplTest extends TestBase {
         Assert.assertEquals('f', currentBody[0]);
     }
 
+    @Test
+    public void testWrapBodyWithBytes() {
+        byte[] body = sampleBody.clone();
+        final Message message = provider.newMessageBuilder().setTopic(sampleTopic).wrapBody(body).build();
+        assertEquals(ByteBuffer.wrap(sampleBody), message.getBody());
+        assertTrue(message.getBody().isReadOnly());
+    }
+
+    @Test
+    public void testWrapBodyWithDirectBuffer() {
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(sampleBody.length + 2);
+        buffer.put((byte) 'x').put(sampleBody).put((byte) 'y');
+        buffer.position(1);
+        buffer.limit(1 + sampleBody.length);
+        final Message message = provider.newMessageBuilder().setTopic(sampleTopic).wrapBody(buffer).build();
+        // Position and limit of the original buffer keep unchanged.
+        assertEquals(1, buffer.position());
+        assertEquals(1 + sampleBody.length, buffer.limit());
+        assertEquals(ByteBuffer.wrap(sampleBody), message.getBody());
+    }
+
+    @Test
+    public void testWrapBodyWithHeapBuffer() {
+        final ByteBuffer buffer = ByteBuffer.wrap(sampleBody.clone());
+        final Message message = provider.newMessageBuilder().setTopic(sampleTopic).wrapBody(buffer).build();
+        assertEquals(ByteBuffer.wrap(sampleBody), message.getBody());
+    }
+
     @Test
     public void testMessagePropertiesGetterImmutability() {
         byte[] body = sampleBody.clone();
@@ -19,6 +19,7 @@ package org.apache.rocketmq.client.java.message;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import apache.rocketmq.v2.Digest;
@@ -29,6 +30,8 @@ import apache.rocketmq.v2.Resource;
 import apache.rocketmq.v2.SystemProperties;
 import com.google.protobuf.ByteString;
 import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
 import org.apache.rocketmq.client.java.tool.TestBase;
 import org.junit.Test;
 
@@ -116,6 +119,25 @@ public class MessageViewImplTest extends TestBase {
         assertTrue(messageView.isCorrupted());
     }
 
+    @Test
+    public void testFromProtobufWithWrongMd5WithoutVerification() {
+        final Digest digest = Digest.newBuilder().setType(DigestType.MD5).setChecksum(
+            "3858F62230AC3C915F300C664312C63E").build();
+        SystemProperties systemProperties = SystemProperties.newBuilder().setMessageType(MessageType.NORMAL)
+            .setMessageId(MessageIdCodec.getInstance().nextMessageId().toString())
+            .setBornHost(FAKE_HOST_0)
+            .setBodyDigest(digest)
+            .build();
+        Resource resource = Resource.newBuilder().setName(FAKE_TOPIC_0).build();
+        final ByteString body = ByteString.copyFrom("foobar", StandardCharsets.UTF_8);
+        final Message message = Message.newBuilder().setSystemProperties(systemProperties)
+            .setTopic(resource).setBody(body).build();
+        assertFalse(MessageViewImpl.fromProtobuf(message, fakeMessageQueueImpl(FAKE_TOPIC_0), null, false)
+            .isCorrupted());
+        assertTrue(MessageViewImpl.fromProtobuf(message, fakeMessageQueueImpl(FAKE_TOPIC_0), null, true)
+            .isCorrupted());
+    }
+
     @Test
     public void testFromProtobufWithSha1() {
         final Digest digest = Digest.newBuilder().setType(DigestType.SHA1).setChecksum(
@@ -157,4 +179,26 @@ public class MessageViewImplTest extends TestBase {
         assertEquals(topic, messageView.getTopic());
         assertTrue(messageView.isCorrupted());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testFromProtobufSharesBody() {
+        final Digest digest = Digest.newBuilder().setType(DigestType.CRC32).setChecksum("9EF61F95").build();
+        SystemProperties systemProperties = SystemProperties.newBuilder().setMessageType(MessageType.NORMAL)
+            .setMessageId(MessageIdCodec.getInstance().nextMessageId().toString())
+            .setBornHost(FAKE_HOST_0)
+            .setBodyDigest(digest)
+            .build();
+        Resource resource = Resource.newBuilder().setName(FAKE_TOPIC_0).build();
+        final ByteString body = ByteString.copyFrom("foobar", StandardCharsets.UTF_8);
+        Map<String, String> properties = new HashMap<>();
+        properties.put("propertyA", "valueA");
+        final Message message = Message.newBuilder().setSystemProperties(systemProperties)
+            .setTopic(resource).setBody(body).putAllUserProperties(properties).build();
+        MessageViewImpl messageView = MessageViewImpl.fromProtobuf(message);
+        assertSame(message.getBody(), messageView.body);
+        assertTrue(messageView.getBody().isReadOnly());
+        assertEquals(properties, messageView.getProperties());
+        assertEquals(message.getSerializedSize(), messageView.getRetainedSize());
+        assertFalse(messageView.isCorrupted());
+    }
+}
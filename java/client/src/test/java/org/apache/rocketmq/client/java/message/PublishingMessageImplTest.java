@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.message;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import org.apache.rocketmq.client.apis.message.Message;
+import org.apache.rocketmq.client.java.impl.producer.PublishingSettings;
+import org.apache.rocketmq.client.java.message.protocol.Encoding;
+import org.apache.rocketmq.client.java.route.MessageQueueImpl;
+import org.apache.rocketmq.client.java.tool.TestBase;
+import org.junit.Test;
+
+public class PublishingMessageImplTest extends TestBase {
+    private PublishingSettings fakeCompressionSettings(int thresholdBytes) {
+        return new PublishingSettings(FAKE_CLIENT_ID, fakeEndpoints(), fakeExponentialBackoffRetryPolicy(),
+            Duration.ofSeconds(1), new HashSet<>(), thresholdBytes, 5);
+    }
+
+    private Message fakeMessageWithBody(byte[] body) {
+        return new MessageBuilderImpl().setTopic(FAKE_TOPIC_0).setBody(body).build();
+    }
+
+    @Test
+    public void testCompressionDisabledByDefault() throws IOException {
+        final byte[] body = new byte[1024];
+        final PublishingMessageImpl message = new PublishingMessageImpl(fakeMessageWithBody(body),
+            fakeProducerSettings(), false);
+        assertEquals(Encoding.IDENTITY, message.getBodyEncoding());
+        assertFalse(message.getCompressionCostTime().isPresent());
+        assertEquals(body.length, message.getEncodedBodySize());
+    }
+
+    @Test
+    public void testCompressionAboveThreshold() throws IOException {
+        final byte[] body = new byte[1024];
+        Arrays.fill(body, (byte) 'a');
+        final PublishingMessageImpl message = new PublishingMessageImpl(fakeMessageWithBody(body),
+            fakeCompressionSettings(512), false);
+        assertEquals(Encoding.GZIP, message.getBodyEncoding());
+        assertTrue(message.getCompressionCostTime().isPresent());
+        assertTrue(message.getEncodedBodySize() < body.length);
+        // The body exposed to users keeps uncompressed.
+        assertEquals(ByteBuffer.wrap(body), message.getBody());
+
+        final MessageQueueImpl mq = fakeMessageQueueImpl(FAKE_TOPIC_0);
+        final apache.rocketmq.v2.Message pbMessage = message.toProtobuf(mq);
+        assertEquals(apache.rocketmq.v2.Encoding.GZIP, pbMessage.getSystemProperties().getBodyEncoding());
+        final MessageViewImpl messageView = MessageViewImpl.fromProtobuf(pbMessage);
+        assertEquals(ByteBuffer.wrap(body), messageView.getBody());
+    }
+
+    @Test
+    public void testCompressionBelowThreshold() throws IOException {
+        final byte[] body = new byte[256];
+        final PublishingMessageImpl message = new PublishingMessageImpl(fakeMessageWithBody(body),
+            fakeCompressionSettings(512), false);
+        assertEquals(Encoding.IDENTITY, message.getBodyEncoding());
+        assertFalse(message.getCompressionCostTime().isPresent());
+    }
+
+    @Test(expected = IOException.class)
+    public void testRawBodySizeExceedsLimitWithCompression() throws IOException {
+        final PublishingSettings settings = fakeCompressionSettings(512);
+        // The body is highly compressible, but the limit applies to the raw body.
+        final byte[] body = new byte[settings.getMaxBodySizeBytes() + 1];
+        new PublishingMessageImpl(fakeMessageWithBody(body), settings, false);
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.message.protocol;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.protobuf.ByteString;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.zip.Deflater;
+import org.apache.rocketmq.client.java.misc.Utilities;
+import org.apache.rocketmq.client.java.tool.TestBase;
+import org.junit.Test;
+
+public class BodyCodecsTest extends TestBase {
+    private final byte[] body = "foobar foobar foobar foobar".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    public void testGet() {
+        assertFalse(BodyCodecs.get(Encoding.IDENTITY).isPresent());
+        final Optional<BodyCodec> codec = BodyCodecs.get(Encoding.GZIP);
+        assertTrue(codec.isPresent());
+        assertEquals(Encoding.GZIP, codec.get().getEncoding());
+        assertTrue(BodyCodecs.fromProtobuf(apache.rocketmq.v2.Encoding.GZIP).isPresent());
+    }
+
+    @Test
+    public void testGzipEncodeAndDecode() throws IOException {
+        final BodyCodec codec = new GzipBodyCodec();
+        final ByteString encoded = codec.encode(ByteString.copyFrom(body), Deflater.BEST_COMPRESSION);
+        assertEquals(ByteString.copyFrom(body), codec.decode(encoded));
+    }
+
+    @Test
+    public void testGzipCompatibleWithUtilities() throws IOException {
+        final BodyCodec codec = new GzipBodyCodec();
+        final ByteString encoded = codec.encode(ByteString.copyFrom(body), 5);
+        assertArrayEquals(body, Utilities.uncompressBytesGzip(encoded.toByteArray()));
+        final byte[] compressed = Utilities.compressBytesGzip(body, 5);
+        assertEquals(ByteString.copyFrom(body), codec.decode(ByteString.copyFrom(compressed)));
+    }
+}
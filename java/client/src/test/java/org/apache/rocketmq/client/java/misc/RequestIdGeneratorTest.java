@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.misc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.Test;
+
+public class RequestIdGeneratorTest {
+
+    @Test
+    public void testNext() {
+        final RequestIdGenerator generator = new RequestIdGenerator();
+        final Set<String> requestIds = new HashSet<>();
+        final UUID first = UUID.fromString(generator.next());
+        for (int i = 0; i < 1024; i++) {
+            final String requestId = generator.next();
+            assertTrue(requestIds.add(requestId));
+            final UUID uuid = UUID.fromString(requestId);
+            assertEquals(first.getMostSignificantBits(), uuid.getMostSignificantBits());
+            assertEquals(first.getLeastSignificantBits() + i + 1, uuid.getLeastSignificantBits());
+        }
+    }
+
+    @Test
+    public void testRandomPrefix() {
+        final UUID uuid0 = UUID.fromString(new RequestIdGenerator().next());
+        final UUID uuid1 = UUID.fromString(new RequestIdGenerator().next());
+        assertNotEquals(uuid0, uuid1);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.misc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class ScopedExecutorServiceTest {
+
+    @Test
+    public void testShutdownKeepsSharedExecutor() throws InterruptedException, ExecutionException {
+        final ExecutorService shared = Executors.newFixedThreadPool(2);
+        try {
+            final ScopedExecutorService first = new ScopedExecutorService(shared);
+            final ScopedExecutorService second = new ScopedExecutorService(shared);
+            assertEquals(1, (int) first.submit(() -> 1).get());
+            first.shutdown();
+            assertTrue(first.awaitTermination(1, TimeUnit.SECONDS));
+            assertTrue(first.isTerminated());
+            assertFalse(shared.isShutdown());
+            assertEquals(2, (int) second.submit(() -> 2).get());
+            try {
+                first.execute(() -> {
+                });
+                fail();
+            } catch (RejectedExecutionException ignore) {
+                // Expected.
+            }
+        } finally {
+            shared.shutdown();
+        }
+    }
+
+    @Test
+    public void testReleaseZlibAfterTask() throws InterruptedException, ExecutionException {
+        final ExecutorService shared = Executors.newSingleThreadExecutor();
+        try {
+            final ScopedExecutorService executor = new ScopedExecutorService(shared);
+            assertTrue(executor.submit(() -> {
+                ThreadLocalZlib.deflate(new byte[16], 5);
+                return ThreadLocalZlib.isRetained();
+            }).get());
+            // The shared thread does not hold the zlib resources after the task submitted through the view.
+            assertFalse(shared.submit(ThreadLocalZlib::isRetained).get());
+        } finally {
+            shared.shutdown();
+        }
+    }
+
+    @Test
+    public void testAwaitTerminationWaitsForSubmittedTasks() throws InterruptedException {
+        final ExecutorService shared = Executors.newSingleThreadExecutor();
+        try {
+            final ScopedExecutorService executor = new ScopedExecutorService(shared);
+            final CountDownLatch latch = new CountDownLatch(1);
+            executor.execute(() -> {
+                try {
+                    latch.await();
+                } catch (InterruptedException ignore) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            executor.shutdown();
+            assertTrue(executor.isShutdown());
+            assertFalse(executor.awaitTermination(50, TimeUnit.MILLISECONDS));
+            assertFalse(executor.isTerminated());
+            latch.countDown();
+            assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+        } finally {
+            shared.shutdown();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.misc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class ScopedScheduledExecutorServiceTest {
+
+    @Test
+    public void testShutdownCancelsScheduledTasks() throws InterruptedException {
+        final ScheduledExecutorService shared = Executors.newScheduledThreadPool(1);
+        try {
+            final ScopedScheduledExecutorService scheduler = new ScopedScheduledExecutorService(shared);
+            final AtomicInteger periodicTimes = new AtomicInteger(0);
+            final AtomicInteger delayedTimes = new AtomicInteger(0);
+            final CountDownLatch latch = new CountDownLatch(1);
+            scheduler.scheduleWithFixedDelay(() -> {
+                periodicTimes.incrementAndGet();
+                latch.countDown();
+            }, 0, 10, TimeUnit.MILLISECONDS);
+            scheduler.schedule(delayedTimes::incrementAndGet, 1, TimeUnit.MINUTES);
+            assertTrue(latch.await(1, TimeUnit.SECONDS));
+            scheduler.shutdown();
+            assertTrue(scheduler.awaitTermination(1, TimeUnit.SECONDS));
+            final int times = periodicTimes.get();
+            Thread.sleep(50);
+            assertEquals(times, periodicTimes.get());
+            assertEquals(0, delayedTimes.get());
+            assertFalse(shared.isShutdown());
+            try {
+                scheduler.schedule(() -> {
+                }, 1, TimeUnit.MILLISECONDS);
+                fail();
+            } catch (RejectedExecutionException ignore) {
+                // Expected.
+            }
+        } finally {
+            shared.shutdown();
+        }
+    }
+
+    @Test
+    public void testCancelledFutureIsNotRetained() {
+        final ScheduledExecutorService shared = Executors.newScheduledThreadPool(1);
+        try {
+            final ScopedScheduledExecutorService scheduler = new ScopedScheduledExecutorService(shared);
+            for (int i = 0; i < 16; i++) {
+                final ScheduledFuture<?> future = scheduler.schedule(() -> {
+                }, 1, TimeUnit.MINUTES);
+                assertTrue(future.cancel(false));
+                assertTrue(future.isCancelled());
+            }
+            final ScheduledFuture<?> periodicFuture = scheduler.scheduleWithFixedDelay(() -> {
+            }, 1, 1, TimeUnit.MINUTES);
+            assertEquals(1, scheduler.getScheduledFutureCount());
+            periodicFuture.cancel(false);
+            assertEquals(0, scheduler.getScheduledFutureCount());
+        } finally {
+            shared.shutdown();
+        }
+    }
+
+    @Test
+    public void testFinishedFutureIsNotRetained() throws Exception {
+        final ScheduledExecutorService shared = Executors.newScheduledThreadPool(1);
+        try {
+            final ScopedScheduledExecutorService scheduler = new ScopedScheduledExecutorService(shared);
+            assertEquals(1, (int) scheduler.schedule(() -> 1, 1, TimeUnit.MILLISECONDS).get());
+            final ScheduledFuture<?> periodicFuture = scheduler.scheduleAtFixedRate(() -> {
+                throw new IllegalStateException();
+            }, 10, 1, TimeUnit.MILLISECONDS);
+            try {
+                periodicFuture.get(1, TimeUnit.SECONDS);
+                fail();
+            } catch (ExecutionException ignore) {
+                // Expected.
+            }
+            assertEquals(0, scheduler.getScheduledFutureCount());
+        } finally {
+            shared.shutdown();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.misc;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.protobuf.ByteString;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+import org.junit.Test;
+
+public class ThreadLocalZlibTest {
+    private final Random random = new Random(0);
+
+    private byte[] fakeBytes(int size) {
+        final byte[] bytes = new byte[size];
+        // Half of the bytes are random, which makes the data compressible but not too much.
+        random.nextBytes(bytes);
+        Arrays.fill(bytes, 0, size / 2, (byte) 'a');
+        return bytes;
+    }
+
+    @Test
+    public void testDeflateAndInflate() throws IOException {
+        final byte[] bytes = fakeBytes(4096);
+        for (int level = Deflater.DEFAULT_COMPRESSION; level <= Deflater.BEST_COMPRESSION; level++) {
+            final byte[] compressed = ThreadLocalZlib.deflate(bytes, level);
+            assertArrayEquals(bytes, ThreadLocalZlib.inflate(compressed));
+        }
+    }
+
+    @Test
+    public void testDeflateAndInflateByteString() throws IOException {
+        final ByteString body = ByteString.copyFrom(fakeBytes(4096));
+        final ByteString compressed = ThreadLocalZlib.deflate(body, 5);
+        assertEquals(body, ThreadLocalZlib.inflate(compressed));
+    }
+
+    @Test
+    public void testEmptyData() throws IOException {
+        final byte[] compressed = ThreadLocalZlib.deflate(new byte[0], 5);
+        assertEquals(0, ThreadLocalZlib.inflate(compressed).length);
+    }
+
+    @Test
+    public void testHighlyCompressibleData() throws IOException {
+        // The inflated data is far beyond the size hint and the max retained buffer size.
+        final byte[] bytes = new byte[4 * ThreadLocalZlib.MAX_RETAINED_BUFFER_SIZE];
+        final byte[] compressed = ThreadLocalZlib.deflate(bytes, Deflater.BEST_COMPRESSION);
+        assertArrayEquals(bytes, ThreadLocalZlib.inflate(compressed));
+        // Buffers of the thread are still usable after being trimmed.
+        final byte[] small = fakeBytes(128);
+        assertArrayEquals(small, ThreadLocalZlib.inflate(ThreadLocalZlib.deflate(small, 5)));
+    }
+
+    @Test
+    public void testCompatibleWithStreams() throws IOException {
+        final byte[] bytes = fakeBytes(8192);
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (DeflaterOutputStream deflaterOutputStream = new DeflaterOutputStream(outputStream)) {
+            deflaterOutputStream.write(bytes);
+        }
+        assertArrayEquals(bytes, ThreadLocalZlib.inflate(outputStream.toByteArray()));
+
+        final byte[] compressed = ThreadLocalZlib.deflate(bytes, 5);
+        final ByteArrayOutputStream inflated = new ByteArrayOutputStream();
+        try (InflaterInputStream inflaterInputStream =
+                 new InflaterInputStream(new ByteArrayInputStream(compressed))) {
+            final byte[] buffer = new byte[1024];
+            int length;
+            while ((length = inflaterInputStream.read(buffer)) > 0) {
+                inflated.write(buffer, 0, length);
+            }
+        }
+        assertArrayEquals(bytes, inflated.toByteArray());
+    }
+
+    @Test
+    public void testRelease() throws IOException {
+        final byte[] bytes = fakeBytes(4096);
+        assertArrayEquals(bytes, ThreadLocalZlib.inflate(ThreadLocalZlib.deflate(bytes, 5)));
+        assertTrue(ThreadLocalZlib.isRetained());
+        ThreadLocalZlib.release();
+        assertFalse(ThreadLocalZlib.isRetained());
+        ThreadLocalZlib.release();
+        // Ended inflater and deflaters are never reused.
+        assertArrayEquals(bytes, ThreadLocalZlib.inflate(ThreadLocalZlib.deflate(bytes, 5)));
+    }
+
+    @Test(expected = IOException.class)
+    public void testInflateTruncatedData() throws IOException {
+        final byte[] compressed = ThreadLocalZlib.deflate(fakeBytes(4096), 5);
+        ThreadLocalZlib.inflate(Arrays.copyOf(compressed, compressed.length / 2));
+    }
+
+    @Test(expected = IOException.class)
+    public void testInflateMalformedData() throws IOException {
+        ThreadLocalZlib.inflate(new byte[] {1, 2, 3, 4});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDeflateWithIllegalLevel() {
+        ThreadLocalZlib.deflate(new byte[1], 10);
+    }
+}
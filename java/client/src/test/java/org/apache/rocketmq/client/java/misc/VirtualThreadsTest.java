@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.misc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeFalse;
+import static org.junit.Assume.assumeTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class VirtualThreadsTest {
+
+    @Test
+    public void testLimitConcurrency() throws InterruptedException, ExecutionException {
+        final int maxConcurrency = 2;
+        final ExecutorService executor = VirtualThreads.limitConcurrency(Executors.newCachedThreadPool(),
+            maxConcurrency);
+        final AtomicInteger concurrency = new AtomicInteger(0);
+        final AtomicInteger maxObservedConcurrency = new AtomicInteger(0);
+        final List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            futures.add(executor.submit(() -> {
+                final int current = concurrency.incrementAndGet();
+                maxObservedConcurrency.accumulateAndGet(current, Math::max);
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException ignore) {
+                    Thread.currentThread().interrupt();
+                }
+                concurrency.decrementAndGet();
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        assertTrue(maxObservedConcurrency.get() <= maxConcurrency);
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testNewVirtualThreadPerTaskExecutorWithoutSupport() {
+        assumeFalse(VirtualThreads.isSupported());
+        VirtualThreads.newVirtualThreadPerTaskExecutor("TestConsumption-", 1);
+    }
+
+    @Test
+    public void testNewVirtualThreadPerTaskExecutor() throws InterruptedException {
+        assumeTrue(VirtualThreads.isSupported());
+        final ExecutorService executor = VirtualThreads.newVirtualThreadPerTaskExecutor("TestConsumption-", 4);
+        final int taskCount = 64;
+        final CountDownLatch latch = new CountDownLatch(taskCount);
+        final AtomicInteger namedThreadCount = new AtomicInteger(0);
+        for (int i = 0; i < taskCount; i++) {
+            executor.execute(() -> {
+                if (Thread.currentThread().getName().startsWith("TestConsumption-")) {
+                    namedThreadCount.incrementAndGet();
+                }
+                latch.countDown();
+            });
+        }
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+        assertEquals(taskCount, namedThreadCount.get());
+        executor.shutdown();
+    }
+}
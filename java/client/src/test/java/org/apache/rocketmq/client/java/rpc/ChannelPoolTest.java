@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.rpc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import apache.rocketmq.v2.MessagingServiceGrpc;
+import apache.rocketmq.v2.QueryRouteRequest;
+import apache.rocketmq.v2.QueryRouteResponse;
+import io.grpc.CallOptions;
+import io.grpc.ClientCall;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.Status;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+public class ChannelPoolTest {
+
+    @SuppressWarnings("unchecked")
+    private static ManagedChannel mockChannel(ClientCall<QueryRouteRequest, QueryRouteResponse> call) {
+        final ManagedChannel channel = mock(ManagedChannel.class);
+        when(channel.newCall(any(), any())).thenReturn((ClientCall) call);
+        return channel;
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSelectLeastOutstandingRpcs() {
+        final ClientCall<QueryRouteRequest, QueryRouteResponse> call0 = mock(ClientCall.class);
+        final ClientCall<QueryRouteRequest, QueryRouteResponse> call1 = mock(ClientCall.class);
+        final ChannelPool channelPool = new ChannelPool(Arrays.asList(mockChannel(call0), mockChannel(call1)));
+        assertEquals(2, channelPool.size());
+
+        final ClientCall<QueryRouteRequest, QueryRouteResponse> call = channelPool.getChannel(0)
+            .newCall(MessagingServiceGrpc.getQueryRouteMethod(), CallOptions.DEFAULT);
+        call.start(mock(ClientCall.Listener.class), new Metadata());
+        assertEquals(1, channelPool.getOutstandingRpcs(0));
+        assertEquals(0, channelPool.getOutstandingRpcs(1));
+        for (int i = 0; i < 4; i++) {
+            assertEquals(1, channelPool.select());
+        }
+
+        final ArgumentCaptor<ClientCall.Listener<QueryRouteResponse>> captor =
+            ArgumentCaptor.forClass(ClientCall.Listener.class);
+        verify(call0).start(captor.capture(), any(Metadata.class));
+        captor.getValue().onClose(Status.OK, new Metadata());
+        assertEquals(0, channelPool.getOutstandingRpcs(0));
+
+        final Set<Integer> selected = new HashSet<>();
+        for (int i = 0; i < 4; i++) {
+            selected.add(channelPool.select());
+        }
+        assertTrue(selected.contains(0));
+        assertTrue(selected.contains(1));
+    }
+}
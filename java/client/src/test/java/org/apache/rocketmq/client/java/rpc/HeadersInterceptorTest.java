@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.rpc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import apache.rocketmq.v2.MessagingServiceGrpc;
+import apache.rocketmq.v2.QueryRouteRequest;
+import apache.rocketmq.v2.QueryRouteResponse;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.Metadata;
+import org.junit.Test;
+
+public class HeadersInterceptorTest {
+    private static final Metadata.Key<String> REQUEST_ID_KEY =
+        Metadata.Key.of(Signature.REQUEST_ID_KEY, Metadata.ASCII_STRING_MARSHALLER);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testInterceptCallWithoutHeaders() {
+        final Channel channel = mock(Channel.class);
+        final ClientCall<QueryRouteRequest, QueryRouteResponse> call = mock(ClientCall.class);
+        when(channel.newCall(any(), any())).thenReturn((ClientCall) call);
+        final ClientCall<QueryRouteRequest, QueryRouteResponse> intercepted = HeadersInterceptor.getInstance()
+            .interceptCall(MessagingServiceGrpc.getQueryRouteMethod(), CallOptions.DEFAULT, channel);
+        assertSame(call, intercepted);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testInterceptCallWithHeaders() {
+        final Channel channel = mock(Channel.class);
+        final ClientCall<QueryRouteRequest, QueryRouteResponse> call = mock(ClientCall.class);
+        when(channel.newCall(any(), any())).thenReturn((ClientCall) call);
+        final Metadata extraHeaders = new Metadata();
+        extraHeaders.put(REQUEST_ID_KEY, "requestId");
+        final CallOptions callOptions = CallOptions.DEFAULT.withOption(HeadersInterceptor.HEADERS_KEY, extraHeaders);
+        final ClientCall<QueryRouteRequest, QueryRouteResponse> intercepted = HeadersInterceptor.getInstance()
+            .interceptCall(MessagingServiceGrpc.getQueryRouteMethod(), callOptions, channel);
+        final Metadata headers = new Metadata();
+        final ClientCall.Listener<QueryRouteResponse> listener = mock(ClientCall.Listener.class);
+        intercepted.start(listener, headers);
+        verify(call).start(listener, headers);
+        assertEquals("requestId", headers.get(REQUEST_ID_KEY));
+    }
+}
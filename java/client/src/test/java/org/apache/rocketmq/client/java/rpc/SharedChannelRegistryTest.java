@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.rpc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+import io.grpc.ManagedChannel;
+import javax.net.ssl.SSLException;
+import org.apache.rocketmq.client.java.route.Endpoints;
+import org.apache.rocketmq.client.java.tool.TestBase;
+import org.junit.Test;
+
+public class SharedChannelRegistryTest extends TestBase {
+
+    @Test
+    public void testAcquireAndRelease() throws SSLException, InterruptedException {
+        final SharedChannelRegistry registry = new SharedChannelRegistry();
+        final Endpoints endpoints = fakeEndpoints();
+        final ChannelPool channel0 = registry.acquire(endpoints, false, 1);
+        final ChannelPool channel1 = registry.acquire(endpoints, false, 1);
+        assertSame(channel0, channel1);
+        assertEquals(2, registry.getRefCount(endpoints, false, 1));
+        registry.release(endpoints, false, 1, channel0);
+        assertEquals(1, registry.getRefCount(endpoints, false, 1));
+        assertFalse(channel0.isShutdown());
+        registry.release(endpoints, false, 1, channel1);
+        assertEquals(0, registry.getRefCount(endpoints, false, 1));
+        assertTrue(channel0.isShutdown());
+        final ChannelPool channel2 = registry.acquire(endpoints, false, 1);
+        assertNotSame(channel0, channel2);
+        registry.release(endpoints, false, 1, channel2);
+    }
+
+    @Test
+    public void testChannelsKeyedBySslEnabled() throws SSLException, InterruptedException {
+        final SharedChannelRegistry registry = new SharedChannelRegistry();
+        final Endpoints endpoints = fakeEndpoints();
+        final ChannelPool plaintextChannel = registry.acquire(endpoints, false, 1);
+        final ChannelPool sslChannel = registry.acquire(endpoints, true, 1);
+        assertNotSame(plaintextChannel, sslChannel);
+        registry.release(endpoints, false, 1, plaintextChannel);
+        assertTrue(plaintextChannel.isShutdown());
+        assertFalse(sslChannel.isShutdown());
+        registry.release(endpoints, true, 1, sslChannel);
+        assertTrue(sslChannel.isShutdown());
+    }
+
+    @Test
+    public void testChannelsKeyedByPoolSize() throws SSLException, InterruptedException {
+        final SharedChannelRegistry registry = new SharedChannelRegistry();
+        final Endpoints endpoints = fakeEndpoints();
+        final ChannelPool channelPool0 = registry.acquire(endpoints, false, 1);
+        final ChannelPool channelPool1 = registry.acquire(endpoints, false, 4);
+        assertNotSame(channelPool0, channelPool1);
+        assertEquals(1, channelPool0.size());
+        assertEquals(4, channelPool1.size());
+        registry.release(endpoints, false, 1, channelPool0);
+        registry.release(endpoints, false, 4, channelPool1);
+        assertTrue(channelPool1.isShutdown());
+    }
+
+    @Test
+    public void testRpcClientReleasesChannelOnce() throws SSLException, InterruptedException {
+        final SharedChannelRegistry registry = new SharedChannelRegistry();
+        final Endpoints endpoints = fakeEndpoints();
+        final RpcClientImpl rpcClient0 = new RpcClientImpl(registry, endpoints, false, 1);
+        final RpcClientImpl rpcClient1 = new RpcClientImpl(registry, endpoints, false, 1);
+        assertEquals(2, registry.getRefCount(endpoints, false, 1));
+        rpcClient0.shutdown();
+        rpcClient0.shutdown();
+        assertEquals(1, registry.getRefCount(endpoints, false, 1));
+        rpcClient1.shutdown();
+        assertEquals(0, registry.getRefCount(endpoints, false, 1));
+    }
+
+    @Test
+    public void testAcquireShutsDownBuiltChannelsOnFailure() throws SSLException {
+        final SharedChannelRegistry registry = spy(new SharedChannelRegistry());
+        final Endpoints endpoints = fakeEndpoints();
+        final ManagedChannel channel = mock(ManagedChannel.class);
+        final SSLException exception = new SSLException("failed to build ssl context");
+        doReturn(channel).doThrow(exception).when(registry).buildChannel(any(Endpoints.class), anyBoolean());
+        try {
+            registry.acquire(endpoints, true, 2);
+            fail();
+        } catch (SSLException e) {
+            assertSame(exception, e);
+        }
+        verify(channel).shutdownNow();
+        assertEquals(0, registry.getRefCount(endpoints, true, 2));
+    }
+}
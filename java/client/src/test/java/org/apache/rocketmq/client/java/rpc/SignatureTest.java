@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.rocketmq.client.java.rpc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import io.grpc.Metadata;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import org.apache.rocketmq.client.apis.ClientConfiguration;
+import org.apache.rocketmq.client.apis.SessionCredentials;
+import org.apache.rocketmq.client.apis.StaticSessionCredentialsProvider;
+import org.apache.rocketmq.client.java.misc.ClientId;
+import org.junit.Test;
+
+public class SignatureTest {
+    private static final String ACCESS_KEY = "accessKey";
+    private static final String ACCESS_SECRET = "accessSecret";
+
+    private static Metadata.Key<String> key(String name) {
+        return Metadata.Key.of(name, Metadata.ASCII_STRING_MARSHALLER);
+    }
+
+    @Test
+    public void testDateTimeConsistentWithSimpleDateFormat() {
+        String expected;
+        String dateTime;
+        // Retry in case of crossing the boundary of second.
+        do {
+            expected = new SimpleDateFormat(Signature.DATE_TIME_FORMAT).format(new Date());
+            dateTime = Signature.dateTime();
+        } while (!expected.equals(new SimpleDateFormat(Signature.DATE_TIME_FORMAT).format(new Date())));
+        assertEquals(expected, dateTime);
+    }
+
+    @Test
+    public void testAuthorizationCached() throws NoSuchAlgorithmException, InvalidKeyException {
+        final SessionCredentials credentials = new SessionCredentials(ACCESS_KEY, ACCESS_SECRET);
+        final String dateTime = "20240101T000000Z";
+        final String authorization = Signature.authorization(credentials, dateTime);
+        assertEquals(Signature.ALGORITHM + " " + Signature.CREDENTIAL + "=" + ACCESS_KEY + ", "
+            + Signature.SIGNED_HEADERS + "=" + Signature.DATE_TIME_KEY + ", " + Signature.SIGNATURE + "="
+            + TLSHelper.sign(ACCESS_SECRET, dateTime), authorization);
+        assertSame(authorization, Signature.authorization(credentials, dateTime));
+        final String otherDateTime = "20240101T000001Z";
+        final String otherAuthorization = Signature.authorization(credentials, otherDateTime);
+        assertTrue(otherAuthorization.endsWith(TLSHelper.sign(ACCESS_SECRET, otherDateTime)));
+    }
+
+    @Test
+    public void testAuthorizationRecomputedForOtherCredentials() throws NoSuchAlgorithmException,
+        InvalidKeyException {
+        final String dateTime = "20240101T000000Z";
+        final String authorization = Signature.authorization(new SessionCredentials(ACCESS_KEY, ACCESS_SECRET),
+            dateTime);
+        final String otherSecret = "otherAccessSecret";
+        final SessionCredentials otherCredentials = new SessionCredentials(ACCESS_KEY, otherSecret);
+        final String otherAuthorization = Signature.authorization(otherCredentials, dateTime);
+        assertNotEquals(authorization, otherAuthorization);
+        assertTrue(otherAuthorization.endsWith(TLSHelper.sign(otherSecret, dateTime)));
+        assertSame(otherAuthorization, Signature.authorization(otherCredentials, dateTime));
+        // Credentials are compared by identity rather than by the secret.
+        final String rotatedAuthorization = Signature.authorization(new SessionCredentials(ACCESS_KEY,
+            otherSecret), dateTime);
+        assertEquals(otherAuthorization, rotatedAuthorization);
+        assertNotSame(otherAuthorization, rotatedAuthorization);
+    }
+
+    @Test
+    public void testSign() throws NoSuchAlgorithmException, InvalidKeyException {
+        final ClientConfiguration clientConfiguration = ClientConfiguration.newBuilder()
+            .setEndpoints("127.0.0.1:8080")
+            .setCredentialProvider(new StaticSessionCredentialsProvider(ACCESS_KEY, ACCESS_SECRET, "token"))
+            .build();
+        final ClientId clientId = new ClientId();
+        final Metadata metadata = Signature.sign(clientConfiguration, clientId);
+        assertEquals("JAVA", metadata.get(key(Signature.LANGUAGE_KEY)));
+        assertNotNull(metadata.get(key(Signature.PROTOCOL_VERSION)));
+        assertNotNull(metadata.get(key(Signature.CLIENT_VERSION_KEY)));
+        assertEquals(clientId.toString(), metadata.get(key(Signature.CLIENT_ID_KEY)));
+        assertNotNull(metadata.get(key(Signature.REQUEST_ID_KEY)));
+        assertEquals("token", metadata.get(key(Signature.SESSION_TOKEN_KEY)));
+        final String dateTime = metadata.get(key(Signature.DATE_TIME_KEY));
+        assertNotNull(dateTime);
+        final String authorization = metadata.get(key(Signature.AUTHORIZATION_KEY));
+        assertNotNull(authorization);
+        assertTrue(authorization.endsWith(TLSHelper.sign(ACCESS_SECRET, dateTime)));
+
+        final Metadata another = Signature.sign(clientConfiguration, clientId);
+        assertNotEquals(metadata.get(key(Signature.REQUEST_ID_KEY)), another.get(key(Signature.REQUEST_ID_KEY)));
+    }
+
+    @Test
+    public void testSignWithoutCredentials() throws NoSuchAlgorithmException, InvalidKeyException {
+        final ClientConfiguration clientConfiguration = ClientConfiguration.newBuilder()
+            .setEndpoints("127.0.0.1:8080").build();
+        final Metadata metadata = Signature.sign(clientConfiguration, new ClientId());
+        assertNotNull(metadata.get(key(Signature.DATE_TIME_KEY)));
+        assertNull(metadata.get(key(Signature.AUTHORIZATION_KEY)));
+        assertNull(metadata.get(key(Signature.SESSION_TOKEN_KEY)));
+    }
+}
@@ -179,7 +179,7 @@ public class TestBase {
 
     protected MessageViewImpl fakeMessageViewImpl(MessageQueueImpl mq, int bodySize, boolean corrupted) {
         MessageId messageId = MessageIdCodec.getInstance().nextMessageId();
-        final byte[] body = RandomUtils.nextBytes(bodySize);
+        final ByteString body = ByteString.copyFrom(RandomUtils.nextBytes(bodySize));
         Map<String, String> properties = new HashMap<>();
         List<String> keys = new ArrayList<>();
         return new MessageViewImpl(messageId, FAKE_TOPIC_0, body, null, null, null,